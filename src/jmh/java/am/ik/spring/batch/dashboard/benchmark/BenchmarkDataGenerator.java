@@ -0,0 +1,219 @@
+package am.ik.spring.batch.dashboard.benchmark;
+
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Fills the Spring Batch schema with synthetic metadata using {@code generate_series}.
+ * Executions are spread over the last two years, every 50th execution failed and the
+ * three most recent ones are still running. The loaded volume is recorded so that
+ * repeated trials against the same database skip the (slow) reload.
+ * <p>
+ * Loading truncates the Spring Batch tables, so it refuses to touch a job repository that
+ * has executions but was not seeded by this class before, unless
+ * {@code -Dbenchmark.allow-truncate=true} is set.
+ */
+public class BenchmarkDataGenerator {
+
+	private static final Logger log = LoggerFactory.getLogger(BenchmarkDataGenerator.class);
+
+	private static final long CHUNK_SIZE = 1_000_000;
+
+	private final DataSource dataSource;
+
+	private final JdbcClient jdbcClient;
+
+	public BenchmarkDataGenerator(DataSource dataSource) {
+		this.dataSource = dataSource;
+		this.jdbcClient = JdbcClient.create(dataSource);
+	}
+
+	public void generate(BenchmarkVolume volume) {
+		checkDedicated();
+		new ResourceDatabasePopulator(new ClassPathResource("benchmark/schema-postgresql.sql"))
+			.execute(this.dataSource);
+		Optional<BenchmarkVolume> loaded = this.jdbcClient.sql("""
+				SELECT
+				    JOBS,
+				    INSTANCES,
+				    EXECUTIONS,
+				    STEPS_PER_EXECUTION,
+				    PARAMS_PER_EXECUTION
+				FROM
+				    BENCHMARK_VOLUME
+				""").query(BenchmarkVolume.class).optional();
+		if (loaded.filter(volume::equals).isPresent()) {
+			log.info("Reusing loaded benchmark data {}", volume);
+			return;
+		}
+		log.info("Loading benchmark data {}", volume);
+		this.jdbcClient.sql("""
+				TRUNCATE
+				    BENCHMARK_VOLUME,
+				    BATCH_STEP_EXECUTION_CONTEXT,
+				    BATCH_STEP_EXECUTION,
+				    BATCH_JOB_EXECUTION_CONTEXT,
+				    BATCH_JOB_EXECUTION_PARAMS,
+				    BATCH_JOB_EXECUTION,
+				    BATCH_JOB_INSTANCE
+				""").update();
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_JOB_INSTANCE (JOB_INSTANCE_ID, VERSION, JOB_NAME, JOB_KEY)
+				SELECT
+				    i,
+				    0,
+				    'job-' || (i % :jobs),
+				    md5(i::VARCHAR)
+				FROM
+				    generate_series(1, :instances) i
+				""").param("jobs", volume.jobs()).param("instances", volume.instances()).update();
+		for (long from = 1; from <= volume.executions(); from += CHUNK_SIZE) {
+			long to = Math.min(from + CHUNK_SIZE - 1, volume.executions());
+			generateExecutions(volume, from, to);
+			log.info("Loaded {}/{} job executions", to, volume.executions());
+		}
+		this.jdbcClient.sql("""
+				INSERT INTO BENCHMARK_VOLUME (JOBS, INSTANCES, EXECUTIONS, STEPS_PER_EXECUTION, PARAMS_PER_EXECUTION)
+				VALUES (:jobs, :instances, :executions, :stepsPerExecution, :paramsPerExecution)
+				""").paramSource(volume).update();
+		this.jdbcClient.sql("ANALYZE").update();
+	}
+
+	private void checkDedicated() {
+		if (Boolean.getBoolean("benchmark.allow-truncate")) {
+			return;
+		}
+		boolean dedicated = this.jdbcClient.sql("""
+				SELECT
+				    to_regclass('BENCHMARK_VOLUME') IS NOT NULL
+				    OR to_regclass('BATCH_JOB_EXECUTION') IS NULL
+				""").query(Boolean.class).single();
+		if (dedicated) {
+			return;
+		}
+		boolean hasExecutions = this.jdbcClient.sql("SELECT EXISTS (SELECT 1 FROM BATCH_JOB_EXECUTION)")
+			.query(Boolean.class)
+			.single();
+		if (hasExecutions) {
+			throw new IllegalStateException(
+					"The benchmark database contains a job repository that was not loaded by the benchmarks; "
+							+ "use a dedicated database or set -Dbenchmark.allow-truncate=true to truncate it");
+		}
+	}
+
+	private void generateExecutions(BenchmarkVolume volume, long from, long to) {
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_JOB_EXECUTION (JOB_EXECUTION_ID, VERSION, JOB_INSTANCE_ID, CREATE_TIME, START_TIME,
+				    END_TIME, STATUS, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED)
+				SELECT
+				    e,
+				    2,
+				    (e - 1) % :instances + 1,
+				    START_TIME,
+				    START_TIME,
+				    CASE
+				        WHEN STATUS = 'STARTED' THEN NULL
+				        ELSE START_TIME + make_interval(secs => DURATION)
+				    END,
+				    STATUS,
+				    CASE WHEN STATUS = 'STARTED' THEN 'UNKNOWN' ELSE STATUS END,
+				    CASE
+				        WHEN STATUS = 'FAILED' THEN 'java.lang.IllegalStateException: Failed to process item ' || e
+				        ELSE ''
+				    END,
+				    START_TIME + make_interval(secs => DURATION)
+				FROM
+				    (
+				        SELECT
+				            e,
+				            date_trunc('minute', LOCALTIMESTAMP)
+				                - make_interval(secs => 63072000.0 * (:executions - e) / :executions) AS START_TIME,
+				            30 + (e * 7919) % 3600 AS DURATION,
+				            CASE
+				                WHEN e > :executions - 3 THEN 'STARTED'
+				                WHEN e % 50 = 0 THEN 'FAILED'
+				                WHEN e % 199 = 0 THEN 'STOPPED'
+				                ELSE 'COMPLETED'
+				            END AS STATUS
+				        FROM
+				            generate_series(:from, :to) e
+				    ) x
+				""")
+			.param("instances", volume.instances())
+			.param("executions", volume.executions())
+			.param("from", from)
+			.param("to", to)
+			.update();
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_JOB_EXECUTION_PARAMS (JOB_EXECUTION_ID, PARAMETER_NAME, PARAMETER_TYPE,
+				    PARAMETER_VALUE, IDENTIFYING)
+				SELECT
+				    e,
+				    'param' || p,
+				    'java.lang.String',
+				    'value-' || e,
+				    'Y'
+				FROM
+				    generate_series(:from, :to) e,
+				    generate_series(1, :paramsPerExecution) p
+				""")
+			.param("from", from)
+			.param("to", to)
+			.param("paramsPerExecution", volume.paramsPerExecution())
+			.update();
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_STEP_EXECUTION (STEP_EXECUTION_ID, VERSION, STEP_NAME, JOB_EXECUTION_ID, CREATE_TIME,
+				    START_TIME, END_TIME, STATUS, COMMIT_COUNT, READ_COUNT, FILTER_COUNT, WRITE_COUNT, READ_SKIP_COUNT,
+				    WRITE_SKIP_COUNT, PROCESS_SKIP_COUNT, ROLLBACK_COUNT, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED)
+				SELECT
+				    (je.JOB_EXECUTION_ID - 1) * :stepsPerExecution + s,
+				    3,
+				    'step' || s,
+				    je.JOB_EXECUTION_ID,
+				    je.START_TIME,
+				    je.START_TIME + (je.LAST_UPDATED - je.START_TIME) * (s - 1) / :stepsPerExecution,
+				    CASE
+				        WHEN je.END_TIME IS NULL THEN NULL
+				        ELSE je.START_TIME + (je.LAST_UPDATED - je.START_TIME) * s / :stepsPerExecution
+				    END,
+				    je.STATUS,
+				    10,
+				    1000 + je.JOB_EXECUTION_ID % 500,
+				    je.JOB_EXECUTION_ID % 10,
+				    1000 + je.JOB_EXECUTION_ID % 500 - je.JOB_EXECUTION_ID % 10,
+				    0,
+				    0,
+				    0,
+				    CASE WHEN je.STATUS = 'FAILED' THEN 1 ELSE 0 END,
+				    je.EXIT_CODE,
+				    je.EXIT_MESSAGE,
+				    je.START_TIME + (je.LAST_UPDATED - je.START_TIME) * s / :stepsPerExecution
+				FROM
+				    BATCH_JOB_EXECUTION je,
+				    generate_series(1, :stepsPerExecution) s
+				WHERE
+				    je.JOB_EXECUTION_ID BETWEEN :from AND :to
+				""")
+			.param("from", from)
+			.param("to", to)
+			.param("stepsPerExecution", volume.stepsPerExecution())
+			.update();
+	}
+
+	/**
+	 * Loads an external database, e.g.
+	 * {@code -Dbenchmark.jdbc-url=jdbc:postgresql://localhost:5432/benchmark 1000000}.
+	 */
+	public static void main(String[] args) {
+		long executions = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+		try (BenchmarkDatabase database = BenchmarkDatabase.start()) {
+			new BenchmarkDataGenerator(database.dataSource()).generate(BenchmarkVolume.of(executions));
+		}
+	}
+
+}
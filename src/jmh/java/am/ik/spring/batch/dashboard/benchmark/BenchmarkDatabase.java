@@ -0,0 +1,83 @@
+package am.ik.spring.batch.dashboard.benchmark;
+
+import am.ik.spring.batch.dashboard.jdbc.DdlExecutor;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.lang.Nullable;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Postgres used by the benchmarks. Points at {@code -Dbenchmark.jdbc-url} when set, which
+ * is recommended for 1M executions and above because the data survives between runs.
+ * Otherwise a throwaway Testcontainers instance is started.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+	private final HikariDataSource dataSource;
+
+	@Nullable
+	private final PostgreSQLContainer<?> container;
+
+	private BenchmarkDatabase(HikariDataSource dataSource, @Nullable PostgreSQLContainer<?> container) {
+		this.dataSource = dataSource;
+		this.container = container;
+	}
+
+	public static BenchmarkDatabase start() {
+		String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+		if (jdbcUrl != null) {
+			return new BenchmarkDatabase(dataSource(jdbcUrl, System.getProperty("benchmark.username", "myuser"),
+					System.getProperty("benchmark.password", "secret")), null);
+		}
+		PostgreSQLContainer<?> container = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+		container.start();
+		return new BenchmarkDatabase(dataSource(container.getJdbcUrl(), container.getUsername(),
+				container.getPassword()), container);
+	}
+
+	private static HikariDataSource dataSource(String jdbcUrl, String username, String password) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(jdbcUrl);
+		dataSource.setUsername(username);
+		dataSource.setPassword(password);
+		dataSource.setMaximumPoolSize(8);
+		dataSource.setPoolName("benchmark");
+		return dataSource;
+	}
+
+	public DataSource dataSource() {
+		return this.dataSource;
+	}
+
+	public DdlExecutor ddlExecutor() {
+		return new DdlExecutor(new JdbcConnectionDetails() {
+
+			@Override
+			public String getUsername() {
+				return BenchmarkDatabase.this.dataSource.getUsername();
+			}
+
+			@Override
+			public String getPassword() {
+				return BenchmarkDatabase.this.dataSource.getPassword();
+			}
+
+			@Override
+			public String getJdbcUrl() {
+				return BenchmarkDatabase.this.dataSource.getJdbcUrl();
+			}
+
+		});
+	}
+
+	@Override
+	public void close() {
+		this.dataSource.close();
+		if (this.container != null) {
+			this.container.stop();
+		}
+	}
+
+}
@@ -0,0 +1,20 @@
+package am.ik.spring.batch.dashboard.benchmark;
+
+/**
+ * Amount of metadata generated by {@link BenchmarkDataGenerator}. Everything but the
+ * number of executions can be overridden with {@code -Dbenchmark.<name>} system
+ * properties.
+ */
+public record BenchmarkVolume(int jobs, long instances, long executions, int stepsPerExecution,
+		int paramsPerExecution) {
+
+	public static BenchmarkVolume of(long executions) {
+		int jobs = Integer.getInteger("benchmark.jobs", 20);
+		int executionsPerInstance = Integer.getInteger("benchmark.executions-per-instance", 2);
+		int stepsPerExecution = Integer.getInteger("benchmark.steps-per-execution", 3);
+		int paramsPerExecution = Integer.getInteger("benchmark.params-per-execution", 2);
+		return new BenchmarkVolume(jobs, Math.max(1, executions / executionsPerInstance), executions,
+				stepsPerExecution, paramsPerExecution);
+	}
+
+}
@@ -0,0 +1,35 @@
+package am.ik.spring.batch.dashboard.benchmark;
+
+import am.ik.spring.batch.dashboard.job.ExecutionTimeline;
+import am.ik.spring.batch.dashboard.job.TimelineParamsBuilder;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionTimelineLoaderBenchmark {
+
+	@Benchmark
+	public ExecutionTimeline loadDay(MapperState state) {
+		return state.executionTimelineLoader.load(TimelineParamsBuilder.timelineParams().from(null).to(null).build(),
+				LocalDateTime.now());
+	}
+
+	@Benchmark
+	public ExecutionTimeline loadWeek(MapperState state) {
+		LocalDateTime now = LocalDateTime.now();
+		return state.executionTimelineLoader
+			.load(TimelineParamsBuilder.timelineParams().from(now.minusDays(7)).to(now).build(), now);
+	}
+
+}
@@ -0,0 +1,161 @@
+package am.ik.spring.batch.dashboard.benchmark;
+
+import am.ik.spring.batch.dashboard.job.ExitMessageMatch;
+import am.ik.spring.batch.dashboard.job.JobExecution;
+import am.ik.spring.batch.dashboard.job.JobExecutionDetail;
+import am.ik.spring.batch.dashboard.job.JobExecutionsParams;
+import am.ik.spring.batch.dashboard.job.JobExecutionsParamsBuilder;
+import am.ik.spring.batch.dashboard.job.JobParameter;
+import am.ik.spring.batch.dashboard.job.JobStatus;
+import am.ik.spring.batch.dashboard.job.PageResponse;
+import am.ik.spring.batch.dashboard.job.StepExecutionSummary;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.lang.Nullable;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobExecutionMapperBenchmark {
+
+	@Benchmark
+	public PageResponse<JobExecution> findJobExecutionsFirstPage(MapperState state) {
+		return state.jobExecutionMapper.findJobExecutions(params(null, null, 0, null, false));
+	}
+
+	@Benchmark
+	public PageResponse<JobExecution> findJobExecutionsDeepPage(MapperState state) {
+		return state.jobExecutionMapper.findJobExecutions(params(null, null, state.deepPage, null, false));
+	}
+
+	@Benchmark
+	public PageResponse<JobExecution> findJobExecutionsDeepPageWithCursor(MapperState state) {
+		return state.jobExecutionMapper
+			.findJobExecutions(params(null, null, state.deepPage, state.middleCursor, false));
+	}
+
+	@Benchmark
+	public PageResponse<JobExecution> findJobExecutionsFiltered(MapperState state) {
+		return state.jobExecutionMapper.findJobExecutions(params(state.jobName, JobStatus.FAILED, 0, null, false));
+	}
+
+	@Benchmark
+	public PageResponse<JobExecution> findJobExecutionsExactCount(MapperState state) {
+		return state.jobExecutionMapper.findJobExecutions(params(null, null, 0, null, true));
+	}
+
+	@Benchmark
+	public List<ExitMessageMatch> searchExitMessages(MapperState state) {
+		return state.jobExecutionMapper.searchExitMessages("IllegalStateException", null, null, 20, 1000);
+	}
+
+	@Benchmark
+	public Optional<JobExecutionDetail> getJobExecutionDetail(MapperState state) {
+		return state.jobExecutionMapper.getJobExecutionDetail(state.nextJobExecutionId());
+	}
+
+	@Benchmark
+	public List<JobExecutionDetail> getJobExecutionDetailsOfTen(MapperState state) {
+		List<Long> jobExecutionIds = new ArrayList<>(10);
+		for (int i = 0; i < 10; i++) {
+			jobExecutionIds.add(state.nextJobExecutionId());
+		}
+		return state.jobExecutionMapper.getJobExecutionDetails(jobExecutionIds);
+	}
+
+	@Benchmark
+	public void getJobExecutionDetailTenTimes(MapperState state, Blackhole blackhole) {
+		for (int i = 0; i < 10; i++) {
+			blackhole.consume(state.jobExecutionMapper.getJobExecutionDetail(state.nextJobExecutionId()));
+		}
+	}
+
+	/**
+	 * The three sequential queries {@code getJobExecutionDetail} ran before it was merged
+	 * into a single statement, kept as a baseline.
+	 */
+	@Benchmark
+	public void getJobExecutionDetailThreeQueries(MapperState state, Blackhole blackhole) {
+		long jobExecutionId = state.nextJobExecutionId();
+		blackhole.consume(state.jdbcClient.sql("""
+				SELECT
+				    je.JOB_EXECUTION_ID,
+				    je.JOB_INSTANCE_ID,
+				    ji.JOB_NAME,
+				    je.CREATE_TIME,
+				    je.START_TIME,
+				    je.END_TIME,
+				    je.STATUS,
+				    je.EXIT_CODE,
+				    je.EXIT_MESSAGE,
+				    je.LAST_UPDATED
+				FROM
+				    BATCH_JOB_EXECUTION je
+				    JOIN
+				        BATCH_JOB_INSTANCE ji
+				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				WHERE
+				    je.JOB_EXECUTION_ID = :jobExecutionId
+				""").param("jobExecutionId", jobExecutionId).query().listOfRows());
+		blackhole.consume(state.jdbcClient.sql("""
+				SELECT
+				    jp.PARAMETER_NAME AS NAME,
+				    jp.PARAMETER_TYPE AS TYPE,
+				    jp.PARAMETER_VALUE AS VALUE,
+				    jp.IDENTIFYING
+				FROM
+				    BATCH_JOB_EXECUTION_PARAMS jp
+				WHERE
+				    jp.JOB_EXECUTION_ID = :jobExecutionId
+				ORDER BY
+				    jp.PARAMETER_NAME ASC
+				""").param("jobExecutionId", jobExecutionId).query(JobParameter.class).list());
+		blackhole.consume(state.jdbcClient.sql("""
+				SELECT
+				    se.STEP_EXECUTION_ID,
+				    se.STEP_NAME,
+				    se.STATUS,
+				    se.READ_COUNT,
+				    se.WRITE_COUNT,
+				    se.FILTER_COUNT,
+				    se.START_TIME,
+				    se.END_TIME
+				FROM
+				    BATCH_STEP_EXECUTION se
+				WHERE
+				    se.JOB_EXECUTION_ID = :jobExecutionId
+				ORDER BY
+				    se.START_TIME DESC
+				""").param("jobExecutionId", jobExecutionId).query(StepExecutionSummary.class).list());
+	}
+
+	private static JobExecutionsParams params(@Nullable String jobName, @Nullable JobStatus status, int page,
+			@Nullable String cursor, boolean exactCount) {
+		return JobExecutionsParamsBuilder.jobExecutionsParams()
+			.jobName(jobName)
+			.status(status)
+			.startDateFrom(null)
+			.startDateTo(null)
+			.exitMessage(null)
+			.source(null)
+			.page(page)
+			.size(20)
+			.sort(null)
+			.cursor(cursor)
+			.exactCount(exactCount)
+			.build();
+	}
+
+}
@@ -0,0 +1,105 @@
+package am.ik.spring.batch.dashboard.benchmark;
+
+import am.ik.spring.batch.dashboard.job.JobInstance;
+import am.ik.spring.batch.dashboard.job.JobInstanceDetail;
+import am.ik.spring.batch.dashboard.job.JobInstancesParams;
+import am.ik.spring.batch.dashboard.job.JobInstancesParamsBuilder;
+import am.ik.spring.batch.dashboard.job.PageResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.lang.Nullable;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobInstanceMapperBenchmark {
+
+	@Benchmark
+	public PageResponse<JobInstance> findJobInstancesFirstPage(MapperState state) {
+		return state.jobInstanceMapper.findJobInstances(params(null, 0));
+	}
+
+	/**
+	 * A page in the middle of the job instances, where the latest execution of each
+	 * instance is far from the newest executions.
+	 */
+	@Benchmark
+	public PageResponse<JobInstance> findJobInstancesDeepPage(MapperState state) {
+		return state.jobInstanceMapper.findJobInstances(params(null, state.deepJobInstancePage));
+	}
+
+	@Benchmark
+	public PageResponse<JobInstance> findJobInstancesByJobName(MapperState state) {
+		return state.jobInstanceMapper.findJobInstances(params(state.jobName, 0));
+	}
+
+	/**
+	 * The {@code MAX(JOB_EXECUTION_ID) ... GROUP BY JOB_INSTANCE_ID} join
+	 * {@code findJobInstances} used before the LATERAL lookup, kept as a baseline.
+	 */
+	@Benchmark
+	public List<Map<String, Object>> findJobInstancesGroupByLatest(MapperState state) {
+		return state.jdbcClient.sql("""
+				SELECT
+				    ji.JOB_INSTANCE_ID,
+				    ji.JOB_NAME,
+				    ji.JOB_KEY,
+				    ji.VERSION,
+				    je.JOB_EXECUTION_ID,
+				    je.START_TIME,
+				    je.END_TIME,
+				    je.STATUS
+				FROM
+				    BATCH_JOB_INSTANCE ji
+				    LEFT JOIN
+				        (
+				            SELECT
+				                je1.*
+				            FROM
+				                BATCH_JOB_EXECUTION je1
+				                JOIN
+				                    (
+				                        SELECT
+				                            JOB_INSTANCE_ID,
+				                            MAX(JOB_EXECUTION_ID) as MAX_EXECUTION_ID
+				                        FROM
+				                            BATCH_JOB_EXECUTION
+				                        GROUP BY
+				                            JOB_INSTANCE_ID
+				                    ) je2
+				                ON  je1.JOB_EXECUTION_ID = je2.MAX_EXECUTION_ID
+				        ) je
+				    ON  ji.JOB_INSTANCE_ID = je.JOB_INSTANCE_ID
+				ORDER BY
+				    ji.JOB_INSTANCE_ID DESC
+				LIMIT 20 OFFSET 0
+				""").query().listOfRows();
+	}
+
+	@Benchmark
+	public Optional<JobInstanceDetail> getJobInstanceDetail(MapperState state) {
+		return state.jobInstanceMapper.getJobInstanceDetail(state.nextJobInstanceId());
+	}
+
+	private static JobInstancesParams params(@Nullable String jobName, int page) {
+		return JobInstancesParamsBuilder.jobInstancesParams()
+			.jobName(jobName)
+			.page(page)
+			.size(20)
+			.sort(null)
+			.exactCount(false)
+			.build();
+	}
+
+}
@@ -0,0 +1,51 @@
+package am.ik.spring.batch.dashboard.benchmark;
+
+import am.ik.spring.batch.dashboard.job.DurationOutliers;
+import am.ik.spring.batch.dashboard.job.JobExecutionStats;
+import am.ik.spring.batch.dashboard.job.JobSpecificStatistics;
+import am.ik.spring.batch.dashboard.job.JobStatistics;
+import am.ik.spring.batch.dashboard.job.StepDurationStatistics;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class JobStatisticsMapperBenchmark {
+
+	@Benchmark
+	public JobStatistics getJobStatistics(MapperState state) {
+		return state.jobStatisticsMapper.getJobStatistics(7);
+	}
+
+	@Benchmark
+	public Optional<JobSpecificStatistics> getJobStatisticsByJobName(MapperState state) {
+		return state.jobStatisticsMapper.getJobStatisticsByJobName(state.jobName);
+	}
+
+	@Benchmark
+	public List<JobExecutionStats> getJobExecutionStats(MapperState state) {
+		return state.jobStatisticsMapper.getJobExecutionStats(30);
+	}
+
+	@Benchmark
+	public List<StepDurationStatistics> getStepDurationStatistics(MapperState state) {
+		return state.jobStatisticsMapper.getStepDurationStatistics(state.jobName, 30);
+	}
+
+	@Benchmark
+	public Optional<DurationOutliers> getDurationOutliers(MapperState state) {
+		return state.jobStatisticsMapper.getDurationOutliers(state.jobName, 30, 100);
+	}
+
+}
@@ -0,0 +1,157 @@
+package am.ik.spring.batch.dashboard.benchmark;
+
+import am.ik.spring.batch.dashboard.archive.ArchiveProperties;
+import am.ik.spring.batch.dashboard.index.IndexCatalog;
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.jdbc.QueryObservationProperties;
+import am.ik.spring.batch.dashboard.jdbc.QueryObserver;
+import am.ik.spring.batch.dashboard.jdbc.RowCountEstimator;
+import am.ik.spring.batch.dashboard.jdbc.ReplicaProperties;
+import am.ik.spring.batch.dashboard.jdbc.RowCountProperties;
+import am.ik.spring.batch.dashboard.job.ExecutionTimelineLoader;
+import am.ik.spring.batch.dashboard.job.ExitMessageSearchIndex;
+import am.ik.spring.batch.dashboard.job.JobExecutionCursor;
+import am.ik.spring.batch.dashboard.job.JobExecutionMapper;
+import am.ik.spring.batch.dashboard.job.JobInstanceMapper;
+import am.ik.spring.batch.dashboard.job.JobStatisticsMapper;
+import am.ik.spring.batch.dashboard.job.StepExecutionMapper;
+import am.ik.spring.batch.dashboard.job.TimelineProperties;
+import am.ik.spring.batch.dashboard.rollup.RollupProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Seeds the repository once per trial and wires the mappers the same way the
+ * application context does. Lookups cycle through a fixed, pseudo-random sample of ids
+ * so that consecutive invocations do not hit the same buffer pages.
+ */
+@State(Scope.Benchmark)
+public class MapperState {
+
+	private static final int SAMPLE_SIZE = 1024;
+
+	@Param({ "10000", "1000000", "10000000" })
+	public long executions;
+
+	public BenchmarkVolume volume;
+
+	public JdbcClient jdbcClient;
+
+	public JobExecutionMapper jobExecutionMapper;
+
+	public JobInstanceMapper jobInstanceMapper;
+
+	public JobStatisticsMapper jobStatisticsMapper;
+
+	public StepExecutionMapper stepExecutionMapper;
+
+	public ExecutionTimelineLoader executionTimelineLoader;
+
+	public String jobName;
+
+	public int deepPage;
+
+	public int deepJobInstancePage;
+
+	public String middleCursor;
+
+	private BenchmarkDatabase database;
+
+	private long[] jobExecutionIds;
+
+	private long[] jobInstanceIds;
+
+	private long[] stepExecutionIds;
+
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.database = BenchmarkDatabase.start();
+		this.volume = BenchmarkVolume.of(this.executions);
+		new BenchmarkDataGenerator(this.database.dataSource()).generate(this.volume);
+
+		this.jdbcClient = JdbcClient.create(this.database.dataSource());
+		new ExitMessageSearchIndex(this.jdbcClient, this.database.ddlExecutor()).create();
+		// required by the latest execution lookup of the job instance list, like in
+		// IndexAdvisor
+		this.database.ddlExecutor().execute("""
+				CREATE INDEX IF NOT EXISTS DASHBOARD_JOB_EXECUTION_JOB_INSTANCE_IDX
+				    ON BATCH_JOB_EXECUTION (JOB_INSTANCE_ID, JOB_EXECUTION_ID)
+				""");
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		RowCountEstimator rowCountEstimator = new RowCountEstimator(this.jdbcClient, objectMapper,
+				Clock.systemDefaultZone(), new RowCountProperties(Duration.ofMinutes(1), 1000));
+		// without a replica every query goes to the benchmark database, observed as in the
+		// application but without tracing
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		QueryObserver queryObserver = new QueryObserver(ObservationRegistry.NOOP, meterRegistry,
+				new QueryObservationProperties(Duration.ofSeconds(1), false));
+		JdbcClientRouter jdbcClientRouter = new JdbcClientRouter(this.database.dataSource(), null,
+				new ReplicaProperties(false, List.of(), null, Duration.ofSeconds(5)), queryObserver, meterRegistry);
+		ArchiveProperties archiveProperties = new ArchiveProperties(false, Duration.ofDays(90), Duration.ofHours(1),
+				100);
+		this.jobExecutionMapper = new JobExecutionMapper(jdbcClientRouter, rowCountEstimator,
+				objectMapper, archiveProperties, null);
+		this.jobInstanceMapper = new JobInstanceMapper(jdbcClientRouter, rowCountEstimator,
+				new IndexCatalog(this.jdbcClient, Clock.systemDefaultZone()));
+		this.jobStatisticsMapper = new JobStatisticsMapper(jdbcClientRouter, objectMapper,
+				new RollupProperties(false, Duration.ofSeconds(30), 1000, Duration.ofMinutes(1)), null);
+		this.stepExecutionMapper = new StepExecutionMapper(jdbcClientRouter, archiveProperties);
+		this.executionTimelineLoader = new ExecutionTimelineLoader(jdbcClientRouter, new TimelineProperties(Duration.ofDays(7), Duration.ofDays(1), 1_000_000, 1000));
+
+		SplittableRandom random = new SplittableRandom(42);
+		this.jobExecutionIds = random.longs(SAMPLE_SIZE, 1, this.volume.executions() + 1).toArray();
+		this.jobInstanceIds = random.longs(SAMPLE_SIZE, 1, this.volume.instances() + 1).toArray();
+		this.stepExecutionIds = random
+			.longs(SAMPLE_SIZE, 1, this.volume.executions() * this.volume.stepsPerExecution() + 1)
+			.toArray();
+		this.jobName = "job-1";
+		this.deepPage = (int) (this.volume.executions() / 2 / 20);
+		this.deepJobInstancePage = (int) (this.volume.instances() / 2 / 20);
+		long middle = this.volume.executions() / 2;
+		LocalDateTime startTime = this.jdbcClient
+			.sql("SELECT START_TIME FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID = :jobExecutionId")
+			.param("jobExecutionId", middle)
+			.query(LocalDateTime.class)
+			.single();
+		this.middleCursor = new JobExecutionCursor(startTime, middle).encode();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.database.close();
+	}
+
+	public long nextJobExecutionId() {
+		return this.jobExecutionIds[nextIndex()];
+	}
+
+	public long nextJobInstanceId() {
+		return this.jobInstanceIds[nextIndex()];
+	}
+
+	public long nextStepExecutionId() {
+		return this.stepExecutionIds[nextIndex()];
+	}
+
+	private int nextIndex() {
+		this.next = (this.next + 1) % SAMPLE_SIZE;
+		return this.next;
+	}
+
+}
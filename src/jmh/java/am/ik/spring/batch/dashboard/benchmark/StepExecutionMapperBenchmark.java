@@ -0,0 +1,52 @@
+package am.ik.spring.batch.dashboard.benchmark;
+
+import am.ik.spring.batch.dashboard.job.StepExecutionDetail;
+import am.ik.spring.batch.dashboard.job.StepThroughput;
+import am.ik.spring.batch.dashboard.job.StepThroughputParamsBuilder;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepExecutionMapperBenchmark {
+
+	@Benchmark
+	public Optional<StepExecutionDetail> getStepExecutionDetail(MapperState state) {
+		return state.stepExecutionMapper.getStepExecutionDetail(state.nextStepExecutionId());
+	}
+
+	@Benchmark
+	public StepThroughput getStepThroughputHourly(MapperState state) {
+		return state.stepExecutionMapper.getStepThroughput(StepThroughputParamsBuilder.stepThroughputParams()
+			.jobName(null)
+			.stepName("step1")
+			.interval("hour")
+			.from(null)
+			.to(null)
+			.build(), LocalDateTime.now());
+	}
+
+	@Benchmark
+	public StepThroughput getStepThroughputDaily(MapperState state) {
+		LocalDateTime now = LocalDateTime.now();
+		return state.stepExecutionMapper.getStepThroughput(StepThroughputParamsBuilder.stepThroughputParams()
+			.jobName(state.jobName)
+			.stepName(null)
+			.interval("day")
+			.from(now.minusDays(90))
+			.to(now)
+			.build(), now);
+	}
+
+}
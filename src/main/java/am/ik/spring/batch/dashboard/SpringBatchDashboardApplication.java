@@ -2,8 +2,10 @@ package am.ik.spring.batch.dashboard;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class SpringBatchDashboardApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,24 @@
+package am.ik.spring.batch.dashboard.archive;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled moves completed job instances whose executions are older than
+ * {@code maxAge} into the monthly partitioned {@code DASHBOARD_ARCHIVE_*} tables.
+ * Requires DDL privileges on the metadata database. This gives up Spring Batch's
+ * duplicate launch protection for archived instances: launching a job again with the same
+ * identifying parameters creates a new instance and runs the work again instead of
+ * failing with {@code JobInstanceAlreadyCompleteException}. Only enable it for jobs that
+ * are not relaunched with the parameters of an old run, or that tolerate running again.
+ * @param maxAge age, by {@code CREATE_TIME}, after which the executions of a completed
+ * job instance are archived
+ * @param interval delay between two archiver runs
+ * @param chunkSize maximum number of job instances moved per transaction, together with
+ * their executions, parameters, steps and contexts
+ */
+@ConfigurationProperties(prefix = "dashboard.archive")
+public record ArchiveProperties(@DefaultValue("false") boolean enabled, @DefaultValue("90d") Duration maxAge,
+		@DefaultValue("1h") Duration interval, @DefaultValue("100") int chunkSize) {
+}
@@ -0,0 +1,239 @@
+package am.ik.spring.batch.dashboard.archive;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves job instances whose executions are all finished and older than
+ * {@link ArchiveProperties#maxAge()} from the Spring Batch tables into the
+ * {@code DASHBOARD_ARCHIVE_*} tables, together with their executions, parameters, step
+ * executions and contexts. Each chunk is moved in its own transaction with
+ * {@code DELETE ... RETURNING}, so an execution is never visible in both places.
+ * <p>
+ * Only instances that Spring Batch would not restart, those with a {@code COMPLETED} or
+ * {@code ABANDONED} execution, are moved. {@code SimpleJobRepository} refuses to create
+ * an execution for an instance whose executions are gone, and a failed instance without
+ * its instance row would be started over instead of restarted.
+ * <p>
+ * Moving the instance row is not free either: Spring Batch no longer finds the completed
+ * instance, so launching the job again with the same identifying parameters creates a new
+ * instance and repeats the work instead of failing with
+ * {@code JobInstanceAlreadyCompleteException}, see {@link ArchiveProperties#enabled()}.
+ */
+@Component
+@ConditionalOnProperty(name = "dashboard.archive.enabled", havingValue = "true")
+public class ExecutionArchiver implements InitializingBean {
+
+	private static final Logger log = LoggerFactory.getLogger(ExecutionArchiver.class);
+
+	private static final List<String> ARCHIVE_TABLES = List.of("DASHBOARD_ARCHIVE_JOB_EXECUTION",
+			"DASHBOARD_ARCHIVE_JOB_EXECUTION_PARAMS", "DASHBOARD_ARCHIVE_JOB_EXECUTION_CONTEXT",
+			"DASHBOARD_ARCHIVE_STEP_EXECUTION", "DASHBOARD_ARCHIVE_STEP_EXECUTION_CONTEXT");
+
+	private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_P'yyyyMM");
+
+	private final JdbcClient jdbcClient;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final DataSource dataSource;
+
+	private final Clock clock;
+
+	private final ArchiveProperties properties;
+
+	public ExecutionArchiver(JdbcClient jdbcClient, TransactionTemplate transactionTemplate, DataSource dataSource,
+			Clock clock, ArchiveProperties properties) {
+		this.jdbcClient = jdbcClient;
+		this.transactionTemplate = transactionTemplate;
+		this.dataSource = dataSource;
+		this.clock = clock;
+		this.properties = properties;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		new ResourceDatabasePopulator(new ClassPathResource("dashboard/archive-schema.sql")).execute(this.dataSource);
+	}
+
+	@Scheduled(fixedDelayString = "${dashboard.archive.interval:1h}")
+	public void archive() {
+		LocalDateTime cutoff = LocalDateTime.now(this.clock).minus(this.properties.maxAge());
+		long archived = 0;
+		int moved;
+		do {
+			moved = Objects.requireNonNull(this.transactionTemplate.execute(status -> archiveChunk(cutoff)));
+			archived += moved;
+		}
+		while (moved >= this.properties.chunkSize());
+		if (archived > 0) {
+			log.info("Archived {} job instances whose executions were created before {}", archived, cutoff);
+		}
+	}
+
+	/**
+	 * @return the number of job instances moved
+	 */
+	int archiveChunk(LocalDateTime cutoff) {
+		// one archiver at a time, so that partitions are not created concurrently
+		boolean locked = this.jdbcClient.sql("SELECT pg_try_advisory_xact_lock(hashtext('dashboard_archive'))")
+			.query(Boolean.class)
+			.single();
+		if (!locked) {
+			return 0;
+		}
+		// the row lock conflicts with the foreign key check of a new job execution, so an
+		// instance cannot be relaunched while it is moved
+		List<Long> jobInstanceIds = this.jdbcClient.sql("""
+				SELECT
+				    ji.JOB_INSTANCE_ID
+				FROM
+				    BATCH_JOB_INSTANCE ji
+				WHERE
+				    EXISTS (
+				        SELECT
+				            1
+				        FROM
+				            BATCH_JOB_EXECUTION je
+				        WHERE
+				            je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				        AND je.STATUS IN ('COMPLETED', 'ABANDONED')
+				    )
+				AND NOT EXISTS (
+				        SELECT
+				            1
+				        FROM
+				            BATCH_JOB_EXECUTION je
+				        WHERE
+				            je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				        AND (je.CREATE_TIME >= :cutoff OR je.END_TIME IS NULL)
+				    )
+				ORDER BY
+				    ji.JOB_INSTANCE_ID
+				LIMIT :chunkSize
+				FOR UPDATE OF ji SKIP LOCKED
+				""").param("cutoff", cutoff).param("chunkSize", this.properties.chunkSize()).query(Long.class).list();
+		if (jobInstanceIds.isEmpty()) {
+			return 0;
+		}
+		SqlArrayValue instanceIds = new SqlArrayValue("bigint", jobInstanceIds.toArray());
+		List<Candidate> candidates = this.jdbcClient.sql("""
+				SELECT
+				    je.JOB_EXECUTION_ID,
+				    je.CREATE_TIME
+				FROM
+				    BATCH_JOB_EXECUTION je
+				WHERE
+				    je.JOB_INSTANCE_ID = ANY(:jobInstanceIds)
+				""").param("jobInstanceIds", instanceIds).query(Candidate.class).list();
+		candidates.stream().map(candidate -> YearMonth.from(candidate.createTime())).distinct().forEach(month -> {
+			for (String table : ARCHIVE_TABLES) {
+				this.jdbcClient.sql("""
+						CREATE TABLE IF NOT EXISTS %s PARTITION OF %s
+						FOR VALUES FROM ('%s') TO ('%s')
+						""".formatted(table + PARTITION_SUFFIX.format(month), table, month.atDay(1),
+						month.plusMonths(1).atDay(1)))
+					.update();
+			}
+		});
+		SqlArrayValue jobExecutionIds = new SqlArrayValue("bigint",
+				candidates.stream().map(Candidate::jobExecutionId).toArray());
+		// children first, as they reference their parents
+		this.jdbcClient.sql("""
+				WITH moved AS (
+				    DELETE FROM BATCH_STEP_EXECUTION_CONTEXT c
+				    USING
+				        BATCH_STEP_EXECUTION se,
+				        BATCH_JOB_EXECUTION je
+				    WHERE
+				        c.STEP_EXECUTION_ID = se.STEP_EXECUTION_ID
+				    AND se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				    AND je.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				    RETURNING c.*, je.CREATE_TIME
+				)
+				INSERT INTO DASHBOARD_ARCHIVE_STEP_EXECUTION_CONTEXT
+				SELECT * FROM moved
+				""").param("jobExecutionIds", jobExecutionIds).update();
+		this.jdbcClient.sql("""
+				WITH moved AS (
+				    DELETE FROM BATCH_STEP_EXECUTION se
+				    USING
+				        BATCH_JOB_EXECUTION je
+				    WHERE
+				        se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				    AND je.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				    RETURNING se.*, je.CREATE_TIME
+				)
+				INSERT INTO DASHBOARD_ARCHIVE_STEP_EXECUTION
+				SELECT * FROM moved
+				""").param("jobExecutionIds", jobExecutionIds).update();
+		this.jdbcClient.sql("""
+				WITH moved AS (
+				    DELETE FROM BATCH_JOB_EXECUTION_CONTEXT c
+				    USING
+				        BATCH_JOB_EXECUTION je
+				    WHERE
+				        c.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				    AND je.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				    RETURNING c.*, je.CREATE_TIME
+				)
+				INSERT INTO DASHBOARD_ARCHIVE_JOB_EXECUTION_CONTEXT
+				SELECT * FROM moved
+				""").param("jobExecutionIds", jobExecutionIds).update();
+		this.jdbcClient.sql("""
+				WITH moved AS (
+				    DELETE FROM BATCH_JOB_EXECUTION_PARAMS jp
+				    USING
+				        BATCH_JOB_EXECUTION je
+				    WHERE
+				        jp.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				    AND je.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				    RETURNING jp.*, je.CREATE_TIME
+				)
+				INSERT INTO DASHBOARD_ARCHIVE_JOB_EXECUTION_PARAMS
+				SELECT * FROM moved
+				""").param("jobExecutionIds", jobExecutionIds).update();
+		int movedExecutions = this.jdbcClient.sql("""
+				WITH moved AS (
+				    DELETE FROM BATCH_JOB_EXECUTION je
+				    WHERE
+				        je.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				    RETURNING je.*
+				)
+				INSERT INTO DASHBOARD_ARCHIVE_JOB_EXECUTION
+				SELECT * FROM moved
+				""").param("jobExecutionIds", jobExecutionIds).update();
+		int moved = this.jdbcClient.sql("""
+				WITH moved AS (
+				    DELETE FROM BATCH_JOB_INSTANCE ji
+				    WHERE
+				        ji.JOB_INSTANCE_ID = ANY(:jobInstanceIds)
+				    RETURNING ji.*
+				)
+				INSERT INTO DASHBOARD_ARCHIVE_JOB_INSTANCE
+				SELECT * FROM moved
+				""").param("jobInstanceIds", instanceIds).update();
+		log.debug("Archived {} job instances with {} job executions", moved, movedExecutions);
+		return moved;
+	}
+
+	record Candidate(long jobExecutionId, LocalDateTime createTime) {
+	}
+
+}
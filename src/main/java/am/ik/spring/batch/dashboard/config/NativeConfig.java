@@ -1,10 +1,16 @@
 package am.ik.spring.batch.dashboard.config;
 
+import am.ik.spring.batch.dashboard.index.IndexAdvice;
 import am.ik.spring.batch.dashboard.job.ApiError;
 import am.ik.spring.batch.dashboard.job.DailyJobStats;
+import am.ik.spring.batch.dashboard.job.DurationOutliers;
+import am.ik.spring.batch.dashboard.job.ExecutionTimeline;
+import am.ik.spring.batch.dashboard.job.ExitMessageMatch;
+import am.ik.spring.batch.dashboard.job.FailureCluster;
 import am.ik.spring.batch.dashboard.job.JobExecution;
 import am.ik.spring.batch.dashboard.job.JobExecutionContext;
 import am.ik.spring.batch.dashboard.job.JobExecutionDetail;
+import am.ik.spring.batch.dashboard.job.JobExecutionEvent;
 import am.ik.spring.batch.dashboard.job.JobExecutionStats;
 import am.ik.spring.batch.dashboard.job.JobExecutionSummary;
 import am.ik.spring.batch.dashboard.job.JobExecutionsParams;
@@ -16,9 +22,18 @@ import am.ik.spring.batch.dashboard.job.JobSpecificStatistics;
 import am.ik.spring.batch.dashboard.job.JobStatistics;
 import am.ik.spring.batch.dashboard.job.JobStatisticsMapper;
 import am.ik.spring.batch.dashboard.job.PageResponse;
+import am.ik.spring.batch.dashboard.job.ResourceVersionMapper;
+import am.ik.spring.batch.dashboard.job.StatisticsSummary;
+import am.ik.spring.batch.dashboard.job.StepDurationStatistics;
 import am.ik.spring.batch.dashboard.job.StepExecutionContext;
 import am.ik.spring.batch.dashboard.job.StepExecutionDetail;
+import am.ik.spring.batch.dashboard.job.StepExecutionEvent;
+import am.ik.spring.batch.dashboard.job.StepExecutionMapper;
 import am.ik.spring.batch.dashboard.job.StepExecutionSummary;
+import am.ik.spring.batch.dashboard.job.StepThroughput;
+import am.ik.spring.batch.dashboard.job.StepThroughputParams;
+import am.ik.spring.batch.dashboard.job.TimelineParams;
+import am.ik.spring.batch.dashboard.zombie.SuspectExecution;
 import java.util.List;
 import org.springframework.aot.hint.MemberCategory;
 import org.springframework.aot.hint.ReflectionHints;
@@ -36,12 +51,17 @@ public class NativeConfig {
 		@Override
 		public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
 			ReflectionHints reflection = hints.reflection();
-			List.of(ApiError.class, DailyJobStats.class, JobExecution.class, JobExecutionContext.class,
-					JobExecutionDetail.class, JobExecutionsParams.class, JobExecutionStats.class,
-					JobExecutionSummary.class, JobInstance.class, JobInstanceDetail.class, JobInstancesParams.class,
-					JobParameter.class, JobSpecificStatistics.class, JobStatistics.class, PageResponse.class,
-					StepExecutionContext.class, StepExecutionDetail.class, StepExecutionSummary.class,
-					JobStatisticsMapper.StatusCount.class)
+			List.of(ApiError.class, DailyJobStats.class, DurationOutliers.class, DurationOutliers.Execution.class,
+					ExecutionTimeline.class, ExitMessageMatch.class, FailureCluster.class, IndexAdvice.class,
+					JobExecution.class, JobExecutionContext.class, JobExecutionDetail.class, JobExecutionEvent.class,
+					JobExecutionsParams.class, JobExecutionStats.class, JobExecutionSummary.class, JobInstance.class,
+					JobInstanceDetail.class, JobInstancesParams.class, JobParameter.class, JobSpecificStatistics.class,
+					JobStatistics.class, PageResponse.class, StatisticsSummary.class, StepDurationStatistics.class,
+					StepExecutionContext.class, StepExecutionDetail.class, StepExecutionEvent.class,
+					StepExecutionSummary.class, StepThroughput.class, StepThroughputParams.class,
+					SuspectExecution.class, TimelineParams.class, JobStatisticsMapper.StatusCount.class,
+					StepExecutionMapper.ThroughputRow.class, ResourceVersionMapper.JobInstanceVersion.class,
+					ResourceVersionMapper.JobExecutionVersion.class, ResourceVersionMapper.StepExecutionVersion.class)
 				.forEach(clazz -> reflection.registerType(clazz, MemberCategory.INVOKE_PUBLIC_METHODS,
 						MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
 		}
@@ -0,0 +1,29 @@
+package am.ik.spring.batch.dashboard.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "dashboard.replica.enabled", havingValue = "true")
+public class ReplicaConfig {
+
+	// not a default candidate, so the auto-configured primary DataSource, JdbcClient and
+	// transaction manager stay in place
+	@Bean(defaultCandidate = false)
+	@Qualifier("replica")
+	@ConfigurationProperties(prefix = "dashboard.replica.datasource")
+	public HikariDataSource replicaDataSource(MeterRegistry meterRegistry) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+		return dataSource;
+	}
+
+}
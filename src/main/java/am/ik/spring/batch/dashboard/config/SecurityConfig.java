@@ -1,5 +1,6 @@
 package am.ik.spring.batch.dashboard.config;
 
+import am.ik.spring.batch.dashboard.index.IndexAdvisorEndpoint;
 import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,7 +22,10 @@ public class SecurityConfig {
 	@Bean
 	@Order(2)
 	public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) throws Exception {
-		http.authorizeHttpRequests((authorize) -> authorize.requestMatchers(EndpointRequest.toAnyEndpoint())
+		// the index report reveals the schema, so unlike health and metrics it requires a
+		// signed-in user
+		http.authorizeHttpRequests((authorize) -> authorize
+			.requestMatchers(EndpointRequest.toAnyEndpoint().excluding(IndexAdvisorEndpoint.class))
 			.permitAll()
 			.requestMatchers("/login", "/error")
 			.permitAll()
@@ -0,0 +1,27 @@
+package am.ik.spring.batch.dashboard.index;
+
+import java.util.List;
+import org.springframework.lang.Nullable;
+
+/**
+ * @param name name of the index the advisor would create
+ * @param coveredBy existing index whose leading columns are {@link #columns()}
+ */
+public record IndexAdvice(String name, String table, List<String> columns, String reason, Status status,
+		@Nullable String coveredBy) {
+
+	public enum Status {
+
+		PRESENT,
+
+		MISSING,
+
+		/**
+		 * Left behind by a failed {@code CREATE INDEX CONCURRENTLY}, or still being
+		 * built.
+		 */
+		INVALID
+
+	}
+
+}
@@ -0,0 +1,129 @@
+package am.ik.spring.batch.dashboard.index;
+
+import am.ik.spring.batch.dashboard.index.IndexAdvice.Status;
+import am.ik.spring.batch.dashboard.index.IndexCatalog.ExistingIndex;
+import am.ik.spring.batch.dashboard.jdbc.DdlExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks whether the Spring Batch tables have the indexes the dashboard filters, sorts
+ * and joins rely on. The stock schema only indexes primary keys and
+ * {@code (JOB_NAME, JOB_KEY)}, so without them most dashboard queries scan the whole
+ * execution table. An index is considered present when any valid index starts with the
+ * advised columns, whatever its name.
+ */
+@Component
+@ConditionalOnProperty(name = "dashboard.index-advisor.enabled", havingValue = "true")
+public class IndexAdvisor {
+
+	private static final Logger log = LoggerFactory.getLogger(IndexAdvisor.class);
+
+	static final List<Index> INDEXES = List
+		.of(new Index("DASHBOARD_JOB_EXECUTION_START_TIME_IDX", "BATCH_JOB_EXECUTION",
+				List.of("START_TIME", "JOB_EXECUTION_ID"), "job execution list order, start date filter and timeline"),
+				new Index("DASHBOARD_JOB_EXECUTION_STATUS_IDX", "BATCH_JOB_EXECUTION", List.of("STATUS", "START_TIME"),
+						"status filter, statistics and zombie detection"),
+				new Index("DASHBOARD_JOB_EXECUTION_JOB_INSTANCE_IDX", "BATCH_JOB_EXECUTION",
+						List.of("JOB_INSTANCE_ID", "JOB_EXECUTION_ID"), "executions of a job instance"),
+				new Index("DASHBOARD_JOB_EXECUTION_LAST_UPDATED_IDX", "BATCH_JOB_EXECUTION",
+						List.of("LAST_UPDATED", "JOB_EXECUTION_ID"), "change events and rollup watermark"),
+				new Index("DASHBOARD_JOB_INSTANCE_JOB_NAME_IDX", "BATCH_JOB_INSTANCE", List.of("JOB_NAME"),
+						"job name filter"),
+				new Index("DASHBOARD_JOB_EXECUTION_PARAMS_JOB_EXECUTION_IDX", "BATCH_JOB_EXECUTION_PARAMS",
+						List.of("JOB_EXECUTION_ID"), "parameters of a job execution"),
+				new Index("DASHBOARD_STEP_EXECUTION_JOB_EXECUTION_IDX", "BATCH_STEP_EXECUTION",
+						List.of("JOB_EXECUTION_ID"), "steps of a job execution and step change events"),
+				new Index("DASHBOARD_STEP_EXECUTION_STEP_NAME_IDX", "BATCH_STEP_EXECUTION",
+						List.of("STEP_NAME", "START_TIME"), "step throughput and duration statistics"),
+				new Index("DASHBOARD_STEP_EXECUTION_LAST_UPDATED_IDX", "BATCH_STEP_EXECUTION", List.of("LAST_UPDATED"),
+						"zombie detection"));
+
+	private final IndexCatalog indexCatalog;
+
+	private final DdlExecutor ddlExecutor;
+
+	private final IndexAdvisorProperties properties;
+
+	public IndexAdvisor(IndexCatalog indexCatalog, DdlExecutor ddlExecutor, IndexAdvisorProperties properties) {
+		this.indexCatalog = indexCatalog;
+		this.ddlExecutor = ddlExecutor;
+		this.properties = properties;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		List<IndexAdvice> advices = advise();
+		List<IndexAdvice> missing = advices.stream().filter(advice -> advice.status() != Status.PRESENT).toList();
+		if (missing.isEmpty()) {
+			log.info("All {} indexes used by the dashboard are present", advices.size());
+			return;
+		}
+		if (!this.properties.create()) {
+			missing.forEach(advice -> log.warn("Missing index for {}: {}", advice.reason(), definition(advice)));
+			return;
+		}
+		// building indexes on large tables takes a while, so startup does not wait for it
+		Thread.ofVirtual().name("index-advisor").start(() -> create(missing));
+	}
+
+	public List<IndexAdvice> advise() {
+		List<ExistingIndex> existing = this.indexCatalog.refresh();
+		List<IndexAdvice> advices = new ArrayList<>(INDEXES.size());
+		for (Index index : INDEXES) {
+			advices.add(advise(index, existing));
+		}
+		return advices;
+	}
+
+	private static IndexAdvice advise(Index index, List<ExistingIndex> existing) {
+		Status status = Status.MISSING;
+		String coveredBy = null;
+		for (ExistingIndex candidate : existing) {
+			if (candidate.valid() && candidate.covers(index.table(), index.columns())) {
+				status = Status.PRESENT;
+				coveredBy = candidate.name();
+				break;
+			}
+			if (!candidate.valid() && candidate.name().equalsIgnoreCase(index.name())) {
+				status = Status.INVALID;
+				coveredBy = candidate.name();
+			}
+		}
+		return new IndexAdvice(index.name(), index.table(), index.columns(), index.reason(), status, coveredBy);
+	}
+
+	private void create(List<IndexAdvice> advices) {
+		for (IndexAdvice advice : advices) {
+			try {
+				if (advice.status() == Status.INVALID) {
+					// an invalid index is unused by queries but maintained on writes
+					this.ddlExecutor.execute("DROP INDEX CONCURRENTLY IF EXISTS " + advice.name());
+				}
+				log.info("Creating index {}", definition(advice));
+				long start = System.nanoTime();
+				this.ddlExecutor.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + definition(advice));
+				log.info("Created index {} in {} ms", advice.name(), (System.nanoTime() - start) / 1_000_000);
+			}
+			catch (RuntimeException e) {
+				log.warn("Failed to create index {}", advice.name(), e);
+			}
+		}
+		// the queries that depend on the new indexes do not wait for the next refresh
+		this.indexCatalog.refresh();
+	}
+
+	static String definition(IndexAdvice advice) {
+		return "%s ON %s (%s)".formatted(advice.name(), advice.table(), String.join(", ", advice.columns()));
+	}
+
+	record Index(String name, String table, List<String> columns, String reason) {
+	}
+
+}
@@ -0,0 +1,29 @@
+package am.ik.spring.batch.dashboard.index;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lists the indexes advised by the {@link IndexAdvisor} with their current state. Index
+ * creation is not exposed here, as actuator endpoints do not require authentication.
+ */
+@Component
+@Endpoint(id = "indexes")
+@ConditionalOnProperty(name = "dashboard.index-advisor.enabled", havingValue = "true")
+public class IndexAdvisorEndpoint {
+
+	private final IndexAdvisor indexAdvisor;
+
+	public IndexAdvisorEndpoint(IndexAdvisor indexAdvisor) {
+		this.indexAdvisor = indexAdvisor;
+	}
+
+	@ReadOperation
+	public List<IndexAdvice> indexes() {
+		return this.indexAdvisor.advise();
+	}
+
+}
@@ -0,0 +1,14 @@
+package am.ik.spring.batch.dashboard.index;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled checks on startup whether the indexes used by the dashboard queries
+ * exist, and exposes the result on the {@code indexes} actuator endpoint
+ * @param create creates the missing indexes with {@code CREATE INDEX CONCURRENTLY}.
+ * Requires DDL privileges on the metadata database.
+ */
+@ConfigurationProperties(prefix = "dashboard.index-advisor")
+public record IndexAdvisorProperties(@DefaultValue("false") boolean enabled, @DefaultValue("false") boolean create) {
+}
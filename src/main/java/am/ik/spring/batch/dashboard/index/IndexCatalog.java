@@ -0,0 +1,145 @@
+package am.ik.spring.batch.dashboard.index;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes of the Spring Batch tables, for queries that are only cheap when an index is in
+ * place. The catalog is read again at most once a minute, so that an index built in the
+ * background is picked up without a restart.
+ */
+@Component
+public class IndexCatalog {
+
+	private static final Logger log = LoggerFactory.getLogger(IndexCatalog.class);
+
+	private static final Duration MAX_AGE = Duration.ofMinutes(1);
+
+	private final JdbcClient jdbcClient;
+
+	private final Clock clock;
+
+	@Nullable
+	private volatile Loaded loaded;
+
+	public IndexCatalog(JdbcClient jdbcClient, Clock clock) {
+		this.jdbcClient = jdbcClient;
+		this.clock = clock;
+	}
+
+	/**
+	 * Whether a valid index on {@code table} starts with {@code columns}, whatever its
+	 * name. {@code false} if the catalog cannot be read.
+	 */
+	public boolean covers(String table, List<String> columns) {
+		return indexes().stream().anyMatch(index -> index.valid() && index.covers(table, columns));
+	}
+
+	/**
+	 * Logs a warning if {@link #covers(String, List)} is {@code false}.
+	 * @param usedBy what becomes a sequential scan without the index
+	 */
+	public void warnIfMissing(String table, List<String> columns, String usedBy) {
+		if (!covers(table, columns)) {
+			log.warn("Missing index on {} ({}) for {}, create it or enable dashboard.index-advisor.create", table,
+					String.join(", ", columns), usedBy);
+		}
+	}
+
+	List<ExistingIndex> indexes() {
+		Loaded loaded = this.loaded;
+		Instant now = this.clock.instant();
+		if (loaded != null && loaded.time().plus(MAX_AGE).isAfter(now)) {
+			return loaded.indexes();
+		}
+		try {
+			return refresh();
+		}
+		catch (RuntimeException e) {
+			log.debug("Failed to read the index catalog", e);
+			// not retried on every call while the catalog cannot be read
+			this.loaded = new Loaded(List.of(), now);
+			return List.of();
+		}
+	}
+
+	/**
+	 * Reads the indexes of the Spring Batch tables from {@code pg_index}.
+	 */
+	List<ExistingIndex> refresh() {
+		List<ExistingIndex> indexes = this.jdbcClient.sql("""
+				SELECT
+				    t.relname::text AS table_name,
+				    i.relname::text AS index_name,
+				    array_agg(a.attname::text ORDER BY k.position) AS columns,
+				    ix.indisvalid AS valid
+				FROM
+				    pg_index ix
+				    JOIN
+				        pg_class t
+				    ON  t.oid = ix.indrelid
+				    JOIN
+				        pg_class i
+				    ON  i.oid = ix.indexrelid
+				    JOIN
+				        pg_namespace n
+				    ON  n.oid = t.relnamespace
+				    CROSS JOIN LATERAL
+				        unnest(ix.indkey) WITH ORDINALITY AS k(attnum, position)
+				    JOIN
+				        pg_attribute a
+				    ON  a.attrelid = t.oid
+				    AND a.attnum = k.attnum
+				WHERE
+				    n.nspname = current_schema()
+				AND t.relname LIKE 'batch\\_%'
+				GROUP BY
+				    t.relname,
+				    i.relname,
+				    ix.indisvalid
+				""")
+			.query((rs, rowNum) -> new ExistingIndex(rs.getString("table_name"), rs.getString("index_name"),
+					columns(rs.getArray("columns")), rs.getBoolean("valid")))
+			.list();
+		this.loaded = new Loaded(indexes, this.clock.instant());
+		return indexes;
+	}
+
+	private static List<String> columns(Array array) throws SQLException {
+		List<String> columns = new ArrayList<>();
+		for (Object column : (Object[]) array.getArray()) {
+			columns.add((String) column);
+		}
+		return columns;
+	}
+
+	record ExistingIndex(String table, String name, List<String> columns, boolean valid) {
+
+		boolean covers(String table, List<String> prefix) {
+			if (!this.table.equalsIgnoreCase(table) || this.columns.size() < prefix.size()) {
+				return false;
+			}
+			for (int i = 0; i < prefix.size(); i++) {
+				if (!this.columns.get(i).equalsIgnoreCase(prefix.get(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	private record Loaded(List<ExistingIndex> indexes, Instant time) {
+	}
+
+}
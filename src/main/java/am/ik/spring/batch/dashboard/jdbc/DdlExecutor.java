@@ -0,0 +1,35 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import java.util.Properties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs long-running DDL such as {@code CREATE INDEX CONCURRENTLY} on a connection of its
+ * own. Pooled connections have a {@code socketTimeout} of a few seconds, which cuts off
+ * an index build on a large table and leaves an {@code INVALID} index behind, and a build
+ * would hold one of the few pooled connections for its whole duration.
+ */
+@Component
+public class DdlExecutor {
+
+	private final JdbcClient jdbcClient;
+
+	public DdlExecutor(JdbcConnectionDetails connectionDetails) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(connectionDetails.getJdbcUrl(),
+				connectionDetails.getUsername(), connectionDetails.getPassword());
+		Properties properties = new Properties();
+		properties.setProperty("socketTimeout", "0");
+		properties.setProperty("ApplicationName", "spring-batch-dashboard-ddl");
+		dataSource.setConnectionProperties(properties);
+		// a new connection per statement, in auto-commit mode as CONCURRENTLY requires
+		this.jdbcClient = JdbcClient.create(dataSource);
+	}
+
+	public void execute(String sql) {
+		this.jdbcClient.sql(sql).update();
+	}
+
+}
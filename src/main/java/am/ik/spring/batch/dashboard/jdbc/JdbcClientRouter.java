@@ -0,0 +1,166 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * Chooses the {@link JdbcClient} for a mapper method. Methods matching
+ * {@link ReplicaProperties#routes()} read from the replica while it is reachable and
+ * within {@link ReplicaProperties#maxLag()}, everything else reads from the primary.
+ */
+@Component
+public class JdbcClientRouter {
+
+	private static final Logger log = LoggerFactory.getLogger(JdbcClientRouter.class);
+
+	private final DataSource primaryDataSource;
+
+	@Nullable
+	private final DataSource replicaDataSource;
+
+	@Nullable
+	private final JdbcClient replica;
+
+	private final ReplicaProperties properties;
+
+	private final QueryObserver queryObserver;
+
+	private final Map<String, Boolean> routed = new ConcurrentHashMap<>();
+
+	private final Map<String, JdbcClient> primaryClients = new ConcurrentHashMap<>();
+
+	private final Map<String, JdbcClient> replicaClients = new ConcurrentHashMap<>();
+
+	private final Map<CursorKey, JdbcClient> primaryCursorClients = new ConcurrentHashMap<>();
+
+	private final Map<CursorKey, JdbcClient> replicaCursorClients = new ConcurrentHashMap<>();
+
+	private final TransactionTemplate primaryReadOnly;
+
+	@Nullable
+	private final TransactionTemplate replicaReadOnly;
+
+	// seconds, NaN while the replica is unreachable or not checked yet
+	private volatile double lag = Double.NaN;
+
+	public JdbcClientRouter(DataSource dataSource, @Qualifier("replica") @Nullable DataSource replicaDataSource,
+			ReplicaProperties properties, QueryObserver queryObserver, MeterRegistry meterRegistry) {
+		this.primaryDataSource = dataSource;
+		this.replicaDataSource = replicaDataSource;
+		this.replica = replicaDataSource == null ? null : JdbcClient.create(replicaDataSource);
+		this.properties = properties;
+		this.queryObserver = queryObserver;
+		this.primaryReadOnly = readOnly(dataSource);
+		this.replicaReadOnly = replicaDataSource == null ? null : readOnly(replicaDataSource);
+		if (this.replica != null) {
+			meterRegistry.gauge("dashboard.replica.lag", this, router -> router.lag);
+		}
+	}
+
+	/**
+	 * @param route {@code Mapper.method} of the query, also used to name its metrics
+	 */
+	public JdbcClient route(String route) {
+		return route(route, route);
+	}
+
+	/**
+	 * Reads from the same database as {@code readsWith}, for queries whose results must
+	 * be consistent with that query, such as version probes.
+	 * @param route {@code Mapper.method} of the query, also used to name its metrics
+	 * @param readsWith route of the query to read consistently with
+	 */
+	public JdbcClient route(String route, String readsWith) {
+		return useReplica(readsWith)
+				? this.replicaClients.computeIfAbsent(route,
+						key -> this.queryObserver.jdbcClient(key, "replica", this.replicaDataSource))
+				: this.primaryClients.computeIfAbsent(route,
+						key -> this.queryObserver.jdbcClient(key, "primary", this.primaryDataSource));
+	}
+
+	/**
+	 * Runs {@code reads} with a client that fetches {@code fetchSize} rows per round
+	 * trip, for queries that stream more rows than fit in memory at once. The PostgreSQL
+	 * driver only honors the fetch size outside of auto-commit mode, otherwise it buffers
+	 * the whole result set, so {@code reads} runs in a read-only transaction on the
+	 * database the route reads from.
+	 * @param route {@code Mapper.method} of the queries, also used to name their metrics
+	 * @param fetchSize number of rows the driver fetches per round trip
+	 * @param reads queries to run with the client
+	 */
+	public void cursor(String route, int fetchSize, Consumer<JdbcClient> reads) {
+		CursorKey key = new CursorKey(route, fetchSize);
+		if (useReplica(route)) {
+			JdbcClient jdbcClient = this.replicaCursorClients.computeIfAbsent(key,
+					k -> this.queryObserver.jdbcClient(k.route(), "replica", this.replicaDataSource, k.fetchSize()));
+			Objects.requireNonNull(this.replicaReadOnly).executeWithoutResult(status -> reads.accept(jdbcClient));
+		}
+		else {
+			JdbcClient jdbcClient = this.primaryCursorClients.computeIfAbsent(key,
+					k -> this.queryObserver.jdbcClient(k.route(), "primary", this.primaryDataSource, k.fetchSize()));
+			this.primaryReadOnly.executeWithoutResult(status -> reads.accept(jdbcClient));
+		}
+	}
+
+	/**
+	 * Whether the queries of {@code route} currently read from the replica.
+	 */
+	public boolean useReplica(String route) {
+		if (this.replicaDataSource == null || !this.routed.computeIfAbsent(route,
+				key -> PatternMatchUtils.simpleMatch(this.properties.routes().toArray(String[]::new), key))) {
+			return false;
+		}
+		double lag = this.lag;
+		return !Double.isNaN(lag)
+				&& (this.properties.maxLag() == null || lag * 1000 <= this.properties.maxLag().toMillis());
+	}
+
+	@Scheduled(fixedDelayString = "${dashboard.replica.lag-check-interval:5s}")
+	public void checkLag() {
+		if (this.replica == null) {
+			return;
+		}
+		try {
+			// the replay timestamp stands still while the primary is idle, so a replica
+			// that has replayed everything it received is not lagging
+			this.lag = this.replica.sql("""
+					SELECT
+					    CASE
+					        WHEN NOT pg_is_in_recovery() THEN 0
+					        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+					        ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())), 0)
+					    END
+					""").query(Double.class).single();
+		}
+		catch (RuntimeException e) {
+			if (!Double.isNaN(this.lag)) {
+				log.warn("Replica is unreachable, reading from the primary until it is back", e);
+			}
+			this.lag = Double.NaN;
+		}
+	}
+
+	private static TransactionTemplate readOnly(DataSource dataSource) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+		transactionTemplate.setReadOnly(true);
+		return transactionTemplate;
+	}
+
+	private record CursorKey(String route, int fetchSize) {
+	}
+
+}
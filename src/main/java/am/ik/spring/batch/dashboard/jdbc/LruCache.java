@@ -0,0 +1,47 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal size-bounded cache that evicts the least recently used entry.
+ */
+public class LruCache<K, V> {
+
+	private final Map<K, V> map;
+
+	public LruCache(int maxSize) {
+		this.map = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	public synchronized V get(K key) {
+		return this.map.get(key);
+	}
+
+	public synchronized void put(K key, V value) {
+		this.map.put(key, value);
+	}
+
+	public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		return this.map.computeIfAbsent(key, mappingFunction);
+	}
+
+	public synchronized void remove(K key) {
+		this.map.remove(key);
+	}
+
+	public synchronized void clear() {
+		this.map.clear();
+	}
+
+	public synchronized int size() {
+		return this.map.size();
+	}
+
+}
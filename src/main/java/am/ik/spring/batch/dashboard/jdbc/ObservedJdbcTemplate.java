@@ -0,0 +1,154 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import am.ik.spring.batch.dashboard.jdbc.QueryObserver.Target;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link JdbcTemplate} bound to one mapper query. {@code JdbcClient} funnels every query
+ * and update into
+ * {@link #query(PreparedStatementCreator, PreparedStatementSetter, ResultSetExtractor)}
+ * and {@link #update(PreparedStatementCreator)}, which are observed through the
+ * {@link QueryObserver}. {@code stream()} results are not observed. Statements honor the
+ * {@link QueryDeadline} of the calling thread.
+ */
+class ObservedJdbcTemplate extends JdbcTemplate {
+
+	private final Target target;
+
+	private final QueryObserver observer;
+
+	ObservedJdbcTemplate(DataSource dataSource, Target target, QueryObserver observer) {
+		super(dataSource);
+		this.target = target;
+		this.observer = observer;
+	}
+
+	@Override
+	public <T> T query(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss, ResultSetExtractor<T> rse) {
+		return this.observer.observe(this.target, sql(psc), params(psc), () -> super.query(psc, pss, rse),
+				ObservedJdbcTemplate::rows, () -> explain(psc));
+	}
+
+	@Override
+	public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+		// the default extractor returns nothing to count
+		query(psc, null, rs -> {
+			int rows = 0;
+			while (rs.next()) {
+				rch.processRow(rs);
+				rows++;
+			}
+			return new CountedRows(rows);
+		});
+	}
+
+	@Override
+	public int update(PreparedStatementCreator psc) {
+		return this.observer.observe(this.target, sql(psc), params(psc), () -> super.update(psc), Integer::intValue,
+				() -> explain(psc));
+	}
+
+	@Override
+	protected void applyStatementSettings(Statement stmt) throws SQLException {
+		super.applyStatementSettings(stmt);
+		Integer remainingSeconds = QueryDeadline.remainingSeconds();
+		if (remainingSeconds != null && (stmt.getQueryTimeout() == 0 || stmt.getQueryTimeout() > remainingSeconds)) {
+			stmt.setQueryTimeout(remainingSeconds);
+		}
+	}
+
+	private List<String> explain(PreparedStatementCreator psc) {
+		if (psc instanceof NamedStatement statement) {
+			return this.target.explainTemplate()
+				.queryForList("EXPLAIN " + statement.sql(), statement.params(), String.class);
+		}
+		return List.of();
+	}
+
+	static int rows(@Nullable Object result) {
+		if (result instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		if (result instanceof CountedRows count) {
+			return count.rows();
+		}
+		return result == null ? 0 : 1;
+	}
+
+	private static String sql(PreparedStatementCreator psc) {
+		if (psc instanceof NamedStatement statement) {
+			return statement.sql();
+		}
+		String sql = (psc instanceof SqlProvider provider) ? provider.getSql() : null;
+		return (sql != null) ? sql : "";
+	}
+
+	@Nullable
+	private static SqlParameterSource params(PreparedStatementCreator psc) {
+		return (psc instanceof NamedStatement statement) ? statement.params() : null;
+	}
+
+	private record CountedRows(int rows) {
+	}
+
+	/**
+	 * Keeps the named SQL and its parameters for logging and {@code EXPLAIN}, as the
+	 * statement creator only knows the expanded SQL.
+	 */
+	private record NamedStatement(String sql, SqlParameterSource params,
+			PreparedStatementCreator delegate) implements PreparedStatementCreator, SqlProvider, ParameterDisposer {
+
+		@Override
+		public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+			return this.delegate.createPreparedStatement(con);
+		}
+
+		@Override
+		@Nullable
+		public String getSql() {
+			return (this.delegate instanceof SqlProvider provider) ? provider.getSql() : this.sql;
+		}
+
+		@Override
+		public void cleanupParameters() {
+			if (this.delegate instanceof ParameterDisposer disposer) {
+				disposer.cleanupParameters();
+			}
+		}
+
+	}
+
+	static class NamedParameters extends NamedParameterJdbcTemplate {
+
+		NamedParameters(ObservedJdbcTemplate jdbcTemplate) {
+			super(jdbcTemplate);
+		}
+
+		@Override
+		protected PreparedStatementCreator getPreparedStatementCreator(String sql, SqlParameterSource paramSource,
+				@Nullable Consumer<PreparedStatementCreatorFactory> customizer) {
+			return new NamedStatement(sql, paramSource,
+					super.getPreparedStatementCreator(sql, paramSource, customizer));
+		}
+
+	}
+
+}
@@ -0,0 +1,54 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.Nullable;
+
+/**
+ * Collects the predicates of a {@code WHERE} clause together with their bind parameters
+ * and skips the ones whose value was not supplied. Unlike
+ * {@code (:value IS NULL OR column = :value)}, the rendered SQL only contains predicates
+ * the planner can match against an index, and every filter combination has its own SQL
+ * text and therefore its own prepared statement and plan.
+ */
+public class Predicates {
+
+	private final List<String> predicates = new ArrayList<>();
+
+	private final Map<String, Object> params = new LinkedHashMap<>();
+
+	public Predicates add(String predicate, String name, @Nullable Object value) {
+		if (value != null) {
+			this.predicates.add(predicate);
+			this.params.put(name, value);
+		}
+		return this;
+	}
+
+	public Predicates add(String predicate, Map<String, ?> params) {
+		this.predicates.add(predicate);
+		this.params.putAll(params);
+		return this;
+	}
+
+	public Predicates copy() {
+		Predicates copy = new Predicates();
+		copy.predicates.addAll(this.predicates);
+		copy.params.putAll(this.params);
+		return copy;
+	}
+
+	public String toWhereClause() {
+		if (this.predicates.isEmpty()) {
+			return "";
+		}
+		return "WHERE\n    " + String.join("\nAND ", this.predicates);
+	}
+
+	public Map<String, Object> params() {
+		return this.params;
+	}
+
+}
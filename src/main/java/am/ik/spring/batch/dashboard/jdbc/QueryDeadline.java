@@ -0,0 +1,61 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.lang.Nullable;
+
+/**
+ * Deadline of the queries run by the current thread. Routed queries started before it get
+ * the remaining time as their {@code queryTimeout}, so that the database cancels them
+ * when it passes instead of letting them run to completion for nobody.
+ */
+public final class QueryDeadline {
+
+	private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+	private QueryDeadline() {
+	}
+
+	/**
+	 * Runs {@code action} with a deadline of {@code deadline} in
+	 * {@link System#nanoTime()}.
+	 */
+	public static <T> T call(long deadline, Supplier<T> action) {
+		Long previous = DEADLINE.get();
+		DEADLINE.set(deadline);
+		try {
+			return action.get();
+		}
+		finally {
+			if (previous == null) {
+				DEADLINE.remove();
+			}
+			else {
+				DEADLINE.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Whether the current thread runs with a deadline.
+	 */
+	public static boolean active() {
+		return DEADLINE.get() != null;
+	}
+
+	/**
+	 * @return remaining seconds, rounded up and at least 1 as {@code 0} means no timeout,
+	 * or {@code null} without a deadline
+	 */
+	@Nullable
+	static Integer remainingSeconds() {
+		Long deadline = DEADLINE.get();
+		if (deadline == null) {
+			return null;
+		}
+		long remaining = deadline - System.nanoTime();
+		return (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+				(remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+	}
+
+}
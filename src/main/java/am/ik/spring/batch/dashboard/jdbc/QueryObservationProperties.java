@@ -0,0 +1,15 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param slowThreshold mapper queries taking longer are logged with their bind parameters
+ * @param explain also logs the {@code EXPLAIN} plan of slow queries. The plan is taken
+ * after the query finished, without {@code ANALYZE}, so the query does not run twice.
+ */
+@ConfigurationProperties(prefix = "dashboard.query-observation")
+public record QueryObservationProperties(@DefaultValue("1s") Duration slowThreshold,
+		@DefaultValue("false") boolean explain) {
+}
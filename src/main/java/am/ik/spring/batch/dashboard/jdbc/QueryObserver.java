@@ -0,0 +1,139 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes the queries of every mapper method. Each query is recorded as a
+ * {@code dashboard.query} observation, i.e. a timer and a span named after the method,
+ * and its result size as the {@code dashboard.query.rows} distribution. Queries slower
+ * than {@link QueryObservationProperties#slowThreshold()} are logged with their bind
+ * parameters.
+ */
+@Component
+public class QueryObserver {
+
+	private static final Logger log = LoggerFactory.getLogger(QueryObserver.class);
+
+	private final ObservationRegistry observationRegistry;
+
+	private final MeterRegistry meterRegistry;
+
+	private final QueryObservationProperties properties;
+
+	public QueryObserver(ObservationRegistry observationRegistry, MeterRegistry meterRegistry,
+			QueryObservationProperties properties) {
+		this.observationRegistry = observationRegistry;
+		this.meterRegistry = meterRegistry;
+		this.properties = properties;
+	}
+
+	/**
+	 * @param query {@code Mapper.method} the client is used for
+	 * @param dataSourceName {@code primary} or {@code replica}
+	 */
+	public JdbcClient jdbcClient(String query, String dataSourceName, DataSource dataSource) {
+		return jdbcClient(query, dataSourceName, dataSource, -1);
+	}
+
+	/**
+	 * @param query {@code Mapper.method} the client is used for
+	 * @param dataSourceName {@code primary} or {@code replica}
+	 * @param fetchSize number of rows the driver fetches per round trip, {@code -1} for
+	 * the driver default
+	 */
+	public JdbcClient jdbcClient(String query, String dataSourceName, DataSource dataSource, int fetchSize) {
+		ObservedJdbcTemplate jdbcTemplate = new ObservedJdbcTemplate(dataSource,
+				Target.of(query, dataSourceName, dataSource, this.meterRegistry), this);
+		jdbcTemplate.setFetchSize(fetchSize);
+		return JdbcClient.create(new ObservedJdbcTemplate.NamedParameters(jdbcTemplate));
+	}
+
+	<T> T observe(Target target, String sql, @Nullable SqlParameterSource params, Supplier<T> query,
+			ToIntFunction<T> rows, Explain explain) {
+		long start = System.nanoTime();
+		Observation observation = Observation.createNotStarted("dashboard.query", this.observationRegistry)
+			.contextualName(target.query())
+			.lowCardinalityKeyValue("query", target.query())
+			.lowCardinalityKeyValue("datasource", target.dataSourceName())
+			.highCardinalityKeyValue("db.statement", sql);
+		ObservedResult<T> result = observation.observe(() -> {
+			T value = query.get();
+			int count = rows.applyAsInt(value);
+			observation.highCardinalityKeyValue("db.rows", Integer.toString(count));
+			target.rows().record(count);
+			return new ObservedResult<>(value, count);
+		});
+		long elapsed = System.nanoTime() - start;
+		if (elapsed > this.properties.slowThreshold().toNanos()) {
+			logSlowQuery(target, sql, params, elapsed, result.rows(), explain);
+		}
+		return result.value();
+	}
+
+	private void logSlowQuery(Target target, String sql, @Nullable SqlParameterSource params, long elapsed, int rows,
+			Explain explain) {
+		String plan = "";
+		if (this.properties.explain()) {
+			try {
+				plan = "\n" + String.join("\n", explain.plan());
+			}
+			catch (RuntimeException e) {
+				log.debug("Failed to explain slow query {}", target.query(), e);
+			}
+		}
+		log.warn("Slow query {} on {} took {} ms and returned {} rows, parameters {}\n{}{}", target.query(),
+				target.dataSourceName(), elapsed / 1_000_000, rows, parameters(params), sql.strip(), plan);
+	}
+
+	private static Map<String, Object> parameters(@Nullable SqlParameterSource params) {
+		Map<String, Object> parameters = new LinkedHashMap<>();
+		if (params != null && params.getParameterNames() != null) {
+			for (String name : params.getParameterNames()) {
+				parameters.put(name, params.getValue(name));
+			}
+		}
+		return parameters;
+	}
+
+	record Target(String query, String dataSourceName, NamedParameterJdbcTemplate explainTemplate,
+			DistributionSummary rows) {
+
+		static Target of(String query, String dataSourceName, DataSource dataSource, MeterRegistry meterRegistry) {
+			return new Target(query, dataSourceName, new NamedParameterJdbcTemplate(dataSource),
+					DistributionSummary.builder("dashboard.query.rows")
+						.description("Number of rows returned or updated by a mapper query")
+						.baseUnit("rows")
+						.tag("query", query)
+						.tag("datasource", dataSourceName)
+						.register(meterRegistry));
+		}
+
+	}
+
+	@FunctionalInterface
+	interface Explain {
+
+		List<String> plan();
+
+	}
+
+	private record ObservedResult<T>(T value, int rows) {
+	}
+
+}
@@ -0,0 +1,26 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+/**
+ * The replica connection itself is configured with {@code dashboard.replica.datasource.*}
+ * (Hikari properties such as {@code jdbc-url}, {@code username} and
+ * {@code maximum-pool-size}).
+ *
+ * @param enabled routes the {@code routes} to a read-only replica
+ * @param routes {@code Mapper.method} patterns that are routed to the replica, {@code *}
+ * matches any part
+ * @param maxLag queries go to the primary while the replica lags behind by more than this
+ * or the lag is unknown. Unbounded if not set.
+ * @param lagCheckInterval how often the replication lag is checked
+ */
+@ConfigurationProperties(prefix = "dashboard.replica")
+public record ReplicaProperties(@DefaultValue("false") boolean enabled, @DefaultValue( {
+		"JobExecutionMapper.findJobExecutions", "JobInstanceMapper.findJobInstances", "JobStatisticsMapper.*",
+		"StepExecutionMapper.getStepThroughput" }) List<String> routes, @Nullable Duration maxLag,
+		@DefaultValue("5s") Duration lagCheckInterval){
+}
@@ -0,0 +1,4 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+public record RowCount(long count, boolean exact) {
+}
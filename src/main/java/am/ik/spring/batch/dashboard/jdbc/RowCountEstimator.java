@@ -0,0 +1,81 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the rows of a {@code FROM ... WHERE ...} clause. An exact {@code COUNT(*)} only
+ * runs on request, otherwise a recently cached exact count or the planner's row estimate
+ * is returned.
+ */
+@Component
+public class RowCountEstimator {
+
+	private final JdbcClient jdbcClient;
+
+	private final ObjectMapper objectMapper;
+
+	private final Clock clock;
+
+	private final RowCountProperties properties;
+
+	private final LruCache<String, CachedCount> cache;
+
+	public RowCountEstimator(JdbcClient jdbcClient, ObjectMapper objectMapper, Clock clock,
+			RowCountProperties properties) {
+		this.jdbcClient = jdbcClient;
+		this.objectMapper = objectMapper;
+		this.clock = clock;
+		this.properties = properties;
+		this.cache = new LruCache<>(properties.cacheSize());
+	}
+
+	public RowCount count(String fromClause, Map<String, ?> params, boolean exact) {
+		String key = cacheKey(fromClause, params);
+		Instant now = this.clock.instant();
+		if (exact) {
+			long count = this.jdbcClient.sql("SELECT COUNT(*) " + fromClause).params(params).query(Long.class).single();
+			this.cache.put(key, new CachedCount(count, now.plus(this.properties.cacheTtl())));
+			return new RowCount(count, true);
+		}
+		CachedCount cached = this.cache.get(key);
+		if (cached != null && cached.expiresAt().isAfter(now)) {
+			return new RowCount(cached.count(), false);
+		}
+		return new RowCount(estimate(fromClause, params), false);
+	}
+
+	long estimate(String fromClause, Map<String, ?> params) {
+		String plan = this.jdbcClient.sql("EXPLAIN (FORMAT JSON) SELECT 1 " + fromClause)
+			.params(params)
+			.query(String.class)
+			.single();
+		try {
+			JsonNode root = this.objectMapper.readTree(plan);
+			return root.path(0).path("Plan").path("Plan Rows").asLong();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static String cacheKey(String fromClause, Map<String, ?> params) {
+		Map<String, Object> values = new TreeMap<>();
+		params.forEach((name, value) -> values.put(name,
+				value instanceof SqlParameterValue parameterValue ? parameterValue.getValue() : value));
+		return fromClause + values;
+	}
+
+	record CachedCount(long count, Instant expiresAt) {
+	}
+
+}
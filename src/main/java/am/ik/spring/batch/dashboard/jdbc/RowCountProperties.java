@@ -0,0 +1,13 @@
+package am.ik.spring.batch.dashboard.jdbc;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param cacheTtl how long an exact count is reused for subsequent estimated requests
+ * @param cacheSize maximum number of cached counts
+ */
+@ConfigurationProperties(prefix = "dashboard.row-count")
+public record RowCountProperties(@DefaultValue("1m") Duration cacheTtl, @DefaultValue("1000") int cacheSize) {
+}
@@ -0,0 +1,11 @@
+package am.ik.spring.batch.dashboard.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maxIds maximum number of job executions loaded by one bulk detail request
+ */
+@ConfigurationProperties(prefix = "dashboard.bulk-detail")
+public record BulkDetailProperties(@DefaultValue("100") int maxIds) {
+}
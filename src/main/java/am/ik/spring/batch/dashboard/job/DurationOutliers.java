@@ -0,0 +1,17 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Finished executions of a job that took longer than the job's p99 duration, longest
+ * first.
+ */
+public record DurationOutliers(String jobName, double durationP99, // in seconds
+		List<Execution> executions) {
+
+	public record Execution(long jobExecutionId, LocalDateTime startTime, LocalDateTime endTime, JobStatus status,
+			String exitCode, double durationSeconds) {
+	}
+
+}
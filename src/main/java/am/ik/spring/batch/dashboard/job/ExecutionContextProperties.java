@@ -0,0 +1,31 @@
+package am.ik.spring.batch.dashboard.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+/**
+ * @param maxLength upper bound, in characters, of the serialized context returned by the
+ * context endpoints. Only this prefix is read from the database.
+ */
+@ConfigurationProperties(prefix = "dashboard.execution-context")
+public record ExecutionContextProperties(@DefaultValue("1048576") int maxLength) {
+
+	/**
+	 * Resolves the number of serialized context characters to read for a request.
+	 * {@code 0} means the serialized context is not read at all.
+	 */
+	public int length(boolean serialized, @Nullable Integer requestedLength) {
+		if (!serialized) {
+			return 0;
+		}
+		if (requestedLength == null) {
+			return this.maxLength;
+		}
+		if (requestedLength < 1) {
+			throw new InvalidRequestException("maxLength must be positive: " + requestedLength);
+		}
+		return Math.min(requestedLength, this.maxLength);
+	}
+
+}
@@ -0,0 +1,70 @@
+package am.ik.spring.batch.dashboard.job;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.lang.Nullable;
+
+/**
+ * Reads the columns shared by {@code BATCH_JOB_EXECUTION_CONTEXT} and
+ * {@code BATCH_STEP_EXECUTION_CONTEXT}. Queries fetch at most {@code length + 1}
+ * characters of {@code SERIALIZED_CONTEXT} and its {@code OCTET_LENGTH}, so a huge
+ * context never reaches the heap in full.
+ */
+final class ExecutionContexts {
+
+	private static final JsonFactory jsonFactory = new JsonFactory();
+
+	private ExecutionContexts() {
+	}
+
+	static Content read(ResultSet rs, int length) throws SQLException {
+		String shortContext = rs.getString("SHORT_CONTEXT");
+		String serializedContext = rs.getString("SERIALIZED_CONTEXT");
+		boolean truncated = serializedContext != null && serializedContext.length() > length;
+		if (truncated) {
+			serializedContext = serializedContext.substring(0, length);
+		}
+		return new Content(shortContext, serializedContext, rs.getLong("SERIALIZED_CONTEXT_SIZE"), truncated,
+				topLevelKeys(serializedContext != null ? serializedContext : shortContext));
+	}
+
+	/**
+	 * Collects the top-level keys of a JSON object without building a tree, skipping over
+	 * nested values. Parsing stops quietly at the end of a truncated document. Contexts
+	 * stored by the default (Base64) serializer have no readable keys.
+	 */
+	static List<String> topLevelKeys(@Nullable String json) {
+		List<String> keys = new ArrayList<>();
+		if (json == null) {
+			return keys;
+		}
+		try (JsonParser parser = jsonFactory.createParser(json)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return keys;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String key = parser.currentName();
+				if (!key.equals("@class")) {
+					keys.add(key);
+				}
+				parser.nextToken();
+				parser.skipChildren();
+			}
+		}
+		catch (IOException e) {
+			// truncated or not JSON at all
+		}
+		return keys;
+	}
+
+	record Content(String shortContext, @Nullable String serializedContext, long serializedContextSize,
+			boolean serializedContextTruncated, List<String> keys) {
+	}
+
+}
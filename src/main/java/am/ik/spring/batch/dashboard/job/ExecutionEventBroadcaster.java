@@ -0,0 +1,275 @@
+package am.ik.spring.batch.dashboard.job;
+
+import am.ik.spring.batch.dashboard.index.IndexCatalog;
+import am.ik.spring.batch.dashboard.jdbc.LruCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes changed job and step executions to Server-Sent Event subscribers. A single
+ * poller per node follows the {@code LAST_UPDATED} high-water mark of both tables, so the
+ * database load depends on the change rate and not on the number of open clients. Nothing
+ * is queried while there are no subscribers, and step executions only those of the job
+ * executions that clients follow. Polling job executions scans the whole table without an
+ * index on {@code LAST_UPDATED}, and polling step executions without one on
+ * {@code JOB_EXECUTION_ID}, which {@link IndexCatalog#warnIfMissing} points out when the
+ * first client subscribes. Each subscriber gets a keep-alive comment when nothing was
+ * sent to it for {@link ExecutionEventProperties#heartbeat()}.
+ */
+@Component
+public class ExecutionEventBroadcaster {
+
+	private static final Logger log = LoggerFactory.getLogger(ExecutionEventBroadcaster.class);
+
+	private final JdbcClient jdbcClient;
+
+	private final Clock clock;
+
+	private final ExecutionEventProperties properties;
+
+	private final IndexCatalog indexCatalog;
+
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	// rows re-read within the overlap window are delivered only once per version
+	private final LruCache<String, Boolean> delivered = new LruCache<>(10_000);
+
+	@Nullable
+	private LocalDateTime jobExecutionWatermark;
+
+	@Nullable
+	private LocalDateTime stepExecutionWatermark;
+
+	private boolean jobExecutionIndexChecked;
+
+	private boolean stepExecutionIndexChecked;
+
+	public ExecutionEventBroadcaster(JdbcClient jdbcClient, Clock clock, ExecutionEventProperties properties,
+			IndexCatalog indexCatalog, MeterRegistry meterRegistry) {
+		this.jdbcClient = jdbcClient;
+		this.clock = clock;
+		this.properties = properties;
+		this.indexCatalog = indexCatalog;
+		meterRegistry.gauge("dashboard.events.subscribers", this.subscriptions, List::size);
+	}
+
+	/**
+	 * @param jobExecutionId limits the stream to one job execution and its steps. Without
+	 * it only job execution changes are sent.
+	 */
+	public SseEmitter subscribe(@Nullable Long jobExecutionId) {
+		SseEmitter emitter = new SseEmitter(this.properties.timeout().toMillis());
+		Subscription subscription = new Subscription(emitter, jobExecutionId, this.clock.instant());
+		emitter.onCompletion(() -> this.subscriptions.remove(subscription));
+		emitter.onError(e -> this.subscriptions.remove(subscription));
+		emitter.onTimeout(emitter::complete);
+		this.subscriptions.add(subscription);
+		return emitter;
+	}
+
+	@Scheduled(fixedDelayString = "${dashboard.events.poll-interval:2s}")
+	public void poll() {
+		if (this.subscriptions.isEmpty()) {
+			// the next subscriber starts from the state at the time it connects
+			this.jobExecutionWatermark = null;
+			this.stepExecutionWatermark = null;
+			return;
+		}
+		if (this.jobExecutionWatermark == null) {
+			if (!this.jobExecutionIndexChecked) {
+				this.indexCatalog.warnIfMissing("BATCH_JOB_EXECUTION", List.of("LAST_UPDATED"),
+						"job execution change events");
+				this.jobExecutionIndexChecked = true;
+			}
+			this.jobExecutionWatermark = latestUpdate(
+					this.jdbcClient.sql("SELECT MAX(je.LAST_UPDATED) FROM BATCH_JOB_EXECUTION je"));
+		}
+		else {
+			for (JobExecutionEvent event : changedJobExecutions(
+					this.jobExecutionWatermark.minus(this.properties.overlap()))) {
+				if (event.lastUpdated().isAfter(this.jobExecutionWatermark)) {
+					this.jobExecutionWatermark = event.lastUpdated();
+				}
+				if (firstDelivery("job:" + event.jobExecutionId() + ":" + event.version())) {
+					send("job-execution", event, event.jobExecutionId(), true);
+				}
+			}
+		}
+		// step changes are only sent to clients following a job execution
+		Object[] followedIds = this.subscriptions.stream()
+			.map(Subscription::jobExecutionId)
+			.filter(Objects::nonNull)
+			.distinct()
+			.toArray();
+		SqlArrayValue followed = new SqlArrayValue("bigint", followedIds);
+		if (followedIds.length == 0) {
+			this.stepExecutionWatermark = null;
+		}
+		else if (this.stepExecutionWatermark == null) {
+			if (!this.stepExecutionIndexChecked) {
+				this.indexCatalog.warnIfMissing("BATCH_STEP_EXECUTION", List.of("JOB_EXECUTION_ID"),
+						"step execution change events");
+				this.stepExecutionIndexChecked = true;
+			}
+			this.stepExecutionWatermark = latestUpdate(this.jdbcClient.sql("""
+					SELECT
+					    MAX(se.LAST_UPDATED)
+					FROM
+					    BATCH_STEP_EXECUTION se
+					WHERE
+					    se.JOB_EXECUTION_ID = ANY(:followed)
+					""").param("followed", followed));
+		}
+		else {
+			for (StepExecutionEvent event : changedStepExecutions(
+					this.stepExecutionWatermark.minus(this.properties.overlap()), followed)) {
+				if (event.lastUpdated().isAfter(this.stepExecutionWatermark)) {
+					this.stepExecutionWatermark = event.lastUpdated();
+				}
+				if (firstDelivery("step:" + event.stepExecutionId() + ":" + event.version())) {
+					send("step-execution", event, event.jobExecutionId(), false);
+				}
+			}
+		}
+		Instant silentSince = this.clock.instant().minus(this.properties.heartbeat());
+		for (Subscription subscription : this.subscriptions) {
+			if (subscription.lastSent().isBefore(silentSince)) {
+				send(subscription, SseEmitter.event().comment("keep-alive"));
+			}
+		}
+	}
+
+	private LocalDateTime latestUpdate(JdbcClient.StatementSpec query) {
+		return Objects.requireNonNullElse(query.query(LocalDateTime.class).optional().orElse(null),
+				LocalDateTime.now(this.clock));
+	}
+
+	private List<JobExecutionEvent> changedJobExecutions(LocalDateTime since) {
+		return this.jdbcClient.sql("""
+				SELECT
+				    je.JOB_EXECUTION_ID,
+				    je.VERSION,
+				    je.JOB_INSTANCE_ID,
+				    ji.JOB_NAME,
+				    je.CREATE_TIME,
+				    je.START_TIME,
+				    je.END_TIME,
+				    je.STATUS,
+				    je.EXIT_CODE,
+				    je.EXIT_MESSAGE,
+				    je.LAST_UPDATED
+				FROM
+				    BATCH_JOB_EXECUTION je
+				    JOIN
+				        BATCH_JOB_INSTANCE ji
+				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				WHERE
+				    je.LAST_UPDATED >= :since
+				ORDER BY
+				    je.LAST_UPDATED ASC
+				""").param("since", since).query(JobExecutionEvent.class).list();
+	}
+
+	private List<StepExecutionEvent> changedStepExecutions(LocalDateTime since, SqlArrayValue followed) {
+		return this.jdbcClient.sql("""
+				SELECT
+				    se.STEP_EXECUTION_ID,
+				    se.VERSION,
+				    se.JOB_EXECUTION_ID,
+				    se.STEP_NAME,
+				    se.STATUS,
+				    se.READ_COUNT,
+				    se.WRITE_COUNT,
+				    se.FILTER_COUNT,
+				    se.START_TIME,
+				    se.END_TIME,
+				    se.LAST_UPDATED
+				FROM
+				    BATCH_STEP_EXECUTION se
+				WHERE
+				    se.JOB_EXECUTION_ID = ANY(:followed)
+				AND se.LAST_UPDATED >= :since
+				ORDER BY
+				    se.LAST_UPDATED ASC
+				""").param("followed", followed).param("since", since).query(StepExecutionEvent.class).list();
+	}
+
+	private boolean firstDelivery(String key) {
+		if (this.delivered.get(key) != null) {
+			return false;
+		}
+		this.delivered.put(key, Boolean.TRUE);
+		return true;
+	}
+
+	private void send(String name, Object event, long jobExecutionId, boolean jobExecution) {
+		for (Subscription subscription : this.subscriptions) {
+			if (subscription.jobExecutionId() == null ? jobExecution
+					: subscription.jobExecutionId() == jobExecutionId) {
+				send(subscription, SseEmitter.event().name(name).data(event, MediaType.APPLICATION_JSON));
+			}
+		}
+	}
+
+	private void send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+		try {
+			subscription.emitter().send(event);
+			subscription.lastSent(this.clock.instant());
+		}
+		catch (IOException | IllegalStateException e) {
+			log.debug("Dropping disconnected event subscriber", e);
+			this.subscriptions.remove(subscription);
+			subscription.emitter().completeWithError(e);
+		}
+	}
+
+	private static final class Subscription {
+
+		private final SseEmitter emitter;
+
+		@Nullable
+		private final Long jobExecutionId;
+
+		private volatile Instant lastSent;
+
+		Subscription(SseEmitter emitter, @Nullable Long jobExecutionId, Instant lastSent) {
+			this.emitter = emitter;
+			this.jobExecutionId = jobExecutionId;
+			this.lastSent = lastSent;
+		}
+
+		SseEmitter emitter() {
+			return this.emitter;
+		}
+
+		@Nullable
+		Long jobExecutionId() {
+			return this.jobExecutionId;
+		}
+
+		Instant lastSent() {
+			return this.lastSent;
+		}
+
+		void lastSent(Instant lastSent) {
+			this.lastSent = lastSent;
+		}
+
+	}
+
+}
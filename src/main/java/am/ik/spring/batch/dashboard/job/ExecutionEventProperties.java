@@ -0,0 +1,19 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param pollInterval delay between two change polls while at least one client is
+ * subscribed
+ * @param overlap how far each poll reaches back behind the last seen
+ * {@code LAST_UPDATED}, to pick up rows committed after a newer row was already seen
+ * @param heartbeat time after which a connection that was sent nothing gets a keep-alive
+ * comment
+ * @param timeout lifetime of a single event stream before the client reconnects
+ */
+@ConfigurationProperties(prefix = "dashboard.events")
+public record ExecutionEventProperties(@DefaultValue("2s") Duration pollInterval, @DefaultValue("5s") Duration overlap,
+		@DefaultValue("15s") Duration heartbeat, @DefaultValue("30m") Duration timeout) {
+}
@@ -0,0 +1,66 @@
+package am.ik.spring.batch.dashboard.job;
+
+/**
+ * Where job executions are read from. {@link #ARCHIVE} and {@link #BOTH} require
+ * {@code dashboard.archive.enabled}.
+ */
+public enum ExecutionSource {
+
+	/**
+	 * The Spring Batch tables.
+	 */
+	LIVE,
+
+	/**
+	 * The {@code DASHBOARD_ARCHIVE_*} tables executions are moved to by the
+	 * {@code ExecutionArchiver}.
+	 */
+	ARCHIVE,
+
+	/**
+	 * Both, for job execution lists only.
+	 */
+	BOTH;
+
+	String jobExecutions() {
+		return switch (this) {
+			case LIVE -> "BATCH_JOB_EXECUTION";
+			case ARCHIVE -> "DASHBOARD_ARCHIVE_JOB_EXECUTION";
+			// the archive table has the same columns in the same order
+			case BOTH -> "(SELECT * FROM BATCH_JOB_EXECUTION UNION ALL SELECT * FROM DASHBOARD_ARCHIVE_JOB_EXECUTION)";
+		};
+	}
+
+	String jobInstances() {
+		return switch (this) {
+			case LIVE -> "BATCH_JOB_INSTANCE";
+			case ARCHIVE -> "DASHBOARD_ARCHIVE_JOB_INSTANCE";
+			case BOTH -> "(SELECT * FROM BATCH_JOB_INSTANCE UNION ALL SELECT * FROM DASHBOARD_ARCHIVE_JOB_INSTANCE)";
+		};
+	}
+
+	String jobExecutionParams() {
+		return table("BATCH_JOB_EXECUTION_PARAMS", "DASHBOARD_ARCHIVE_JOB_EXECUTION_PARAMS");
+	}
+
+	String jobExecutionContexts() {
+		return table("BATCH_JOB_EXECUTION_CONTEXT", "DASHBOARD_ARCHIVE_JOB_EXECUTION_CONTEXT");
+	}
+
+	String stepExecutions() {
+		return table("BATCH_STEP_EXECUTION", "DASHBOARD_ARCHIVE_STEP_EXECUTION");
+	}
+
+	String stepExecutionContexts() {
+		return table("BATCH_STEP_EXECUTION_CONTEXT", "DASHBOARD_ARCHIVE_STEP_EXECUTION_CONTEXT");
+	}
+
+	private String table(String live, String archive) {
+		return switch (this) {
+			case LIVE -> live;
+			case ARCHIVE -> archive;
+			case BOTH -> throw new IllegalStateException("Details are read from one source at a time");
+		};
+	}
+
+}
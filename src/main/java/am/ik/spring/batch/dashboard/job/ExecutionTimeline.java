@@ -0,0 +1,21 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.LocalDateTime;
+
+/**
+ * Job and step executions running at some point in {@code [from, to)} in columnar form.
+ * Job execution {@code i} is the {@code i}-th element of every {@code job*} array,
+ * ordered by ID, and likewise for step executions. Times are milliseconds since
+ * {@code from}, negative for executions that started earlier, and executions without an
+ * {@code END_TIME} end at the time of the request. Names and statuses are indexes into
+ * {@code jobNames}, {@code stepNames} and {@code statuses}, and {@code stepJob} is the
+ * index of the job execution a step execution belongs to.
+ *
+ * @param concurrency maximum number of job executions running at the same time in each
+ * minute since {@code from}
+ */
+public record ExecutionTimeline(LocalDateTime from, LocalDateTime to, String[] jobNames, String[] stepNames,
+		String[] statuses, long[] jobExecutionId, int[] jobName, int[] jobStatus, long[] jobStart, long[] jobEnd,
+		long[] stepExecutionId, int[] stepJob, int[] stepName, int[] stepStatus, long[] stepStart, long[] stepEnd,
+		int[] concurrency) {
+}
@@ -0,0 +1,234 @@
+package am.ik.spring.batch.dashboard.job;
+
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.jdbc.Predicates;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the {@link ExecutionTimeline} of a time range. Intervals are streamed from a
+ * server-side cursor straight into primitive arrays, and the concurrency curve is
+ * computed with a single sweep over the sorted start and end times, so a week of
+ * executions takes a few arrays of {@code maxIntervals} elements at most.
+ */
+@Component
+public class ExecutionTimelineLoader {
+
+	private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+	private final JdbcClientRouter jdbcClientRouter;
+
+	private final TimelineProperties properties;
+
+	public ExecutionTimelineLoader(JdbcClientRouter jdbcClientRouter, TimelineProperties properties) {
+		this.jdbcClientRouter = jdbcClientRouter;
+		this.properties = properties;
+	}
+
+	public ExecutionTimeline load(TimelineParams params, LocalDateTime now) {
+		LocalDateTime to = Objects.requireNonNullElse(params.to(), now);
+		LocalDateTime from = Objects.requireNonNullElse(params.from(), to.minusDays(1));
+		if (!from.isBefore(to)) {
+			throw new InvalidRequestException("from must be before to");
+		}
+		if (Duration.between(from, to).compareTo(this.properties.maxWindow()) > 0) {
+			throw new InvalidRequestException(
+					"Time range too wide, narrow it (max: " + this.properties.maxWindow() + ")");
+		}
+		// the START_TIME range comes first so that a START_TIME index drives the scan
+		Predicates predicates = new Predicates()
+			.add("je.START_TIME >= :lookbackFrom", "lookbackFrom", from.minus(this.properties.lookback()))
+			.add("je.START_TIME < :to", "to", to)
+			.add("(je.END_TIME > :from OR je.END_TIME IS NULL)", "from", from);
+		Predicates stepPredicates = predicates.copy()
+			.add("se.START_TIME < :to", Map.of())
+			.add("(se.END_TIME > :from OR se.END_TIME IS NULL)", Map.of());
+		long running = ChronoUnit.MILLIS.between(from, now);
+		int maxIntervals = this.properties.maxIntervals();
+		Dictionary jobNames = new Dictionary();
+		Dictionary stepNames = new Dictionary();
+		Dictionary statuses = new Dictionary();
+		Intervals jobs = new Intervals();
+		Intervals steps = new Intervals();
+		this.jdbcClientRouter.cursor("ExecutionTimelineLoader.load", this.properties.fetchSize(), jdbcClient -> {
+			jdbcClient.sql("""
+					SELECT
+					    je.JOB_EXECUTION_ID,
+					    ji.JOB_NAME,
+					    je.STATUS,
+					    je.START_TIME,
+					    je.END_TIME
+					FROM
+					    BATCH_JOB_EXECUTION je
+					    JOIN
+					        BATCH_JOB_INSTANCE ji
+					    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+					%s
+					ORDER BY
+					    je.JOB_EXECUTION_ID
+					LIMIT :limit
+					""".formatted(predicates.toWhereClause()))
+				.params(predicates.params())
+				.param("limit", maxIntervals + 1)
+				.query(rs -> {
+					jobs.add(rs.getLong("JOB_EXECUTION_ID"), -1, jobNames.indexOf(rs.getString("JOB_NAME")),
+							statuses.indexOf(rs.getString("STATUS")),
+							millis(from, rs.getObject("START_TIME", LocalDateTime.class), running),
+							millis(from, rs.getObject("END_TIME", LocalDateTime.class), running));
+				});
+			checkSize(jobs.size, maxIntervals);
+			jdbcClient.sql("""
+					SELECT
+					    se.STEP_EXECUTION_ID,
+					    se.JOB_EXECUTION_ID,
+					    se.STEP_NAME,
+					    se.STATUS,
+					    se.START_TIME,
+					    se.END_TIME
+					FROM
+					    BATCH_STEP_EXECUTION se
+					    JOIN
+					        BATCH_JOB_EXECUTION je
+					    ON  se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+					%s
+					ORDER BY
+					    se.STEP_EXECUTION_ID
+					LIMIT :limit
+					""".formatted(stepPredicates.toWhereClause()))
+				.params(stepPredicates.params())
+				.param("limit", maxIntervals - jobs.size + 1)
+				.query(rs -> {
+					// the job execution may have started after it was read
+					int job = Arrays.binarySearch(jobs.id, 0, jobs.size, rs.getLong("JOB_EXECUTION_ID"));
+					if (job >= 0) {
+						steps.add(rs.getLong("STEP_EXECUTION_ID"), job, stepNames.indexOf(rs.getString("STEP_NAME")),
+								statuses.indexOf(rs.getString("STATUS")),
+								millis(from, rs.getObject("START_TIME", LocalDateTime.class), running),
+								millis(from, rs.getObject("END_TIME", LocalDateTime.class), running));
+					}
+				});
+			checkSize(jobs.size + steps.size, maxIntervals);
+		});
+		return new ExecutionTimeline(from, to, jobNames.values(), stepNames.values(), statuses.values(),
+				Arrays.copyOf(jobs.id, jobs.size), Arrays.copyOf(jobs.name, jobs.size),
+				Arrays.copyOf(jobs.status, jobs.size), Arrays.copyOf(jobs.start, jobs.size),
+				Arrays.copyOf(jobs.end, jobs.size), Arrays.copyOf(steps.id, steps.size),
+				Arrays.copyOf(steps.parent, steps.size), Arrays.copyOf(steps.name, steps.size),
+				Arrays.copyOf(steps.status, steps.size), Arrays.copyOf(steps.start, steps.size),
+				Arrays.copyOf(steps.end, steps.size),
+				concurrency(jobs.start, jobs.end, jobs.size, ChronoUnit.MILLIS.between(from, to)));
+	}
+
+	private static void checkSize(int size, int maxIntervals) {
+		if (size > maxIntervals) {
+			throw new InvalidRequestException("Too many executions, narrow the time range (max: " + maxIntervals + ")");
+		}
+	}
+
+	private static long millis(LocalDateTime from, @Nullable LocalDateTime time, long running) {
+		return time == null ? running : ChronoUnit.MILLIS.between(from, time);
+	}
+
+	/**
+	 * Maximum number of the intervals that overlap at some point of each minute of
+	 * {@code [0, window)}. Intervals are half-open, so one that ends when another one
+	 * starts does not overlap it, but every interval counts in the minute it starts.
+	 */
+	static int[] concurrency(long[] start, long[] end, int size, long window) {
+		long[] starts = new long[size];
+		long[] ends = new long[size];
+		for (int i = 0; i < size; i++) {
+			starts[i] = Math.clamp(start[i], 0, window - 1);
+			ends[i] = Math.clamp(end[i], starts[i] + 1, window);
+		}
+		Arrays.sort(starts);
+		Arrays.sort(ends);
+		int[] curve = new int[(int) ((window + MINUTE - 1) / MINUTE)];
+		int running = 0;
+		int minute = 0;
+		int i = 0;
+		// the i-th end is after the i-th start, so the ends run out last
+		for (int j = 0; j < size;) {
+			boolean starting = i < size && starts[i] < ends[j];
+			long time = starting ? starts[i++] : ends[j++];
+			int eventMinute = (int) Math.min(time / MINUTE, curve.length - 1);
+			while (minute < eventMinute) {
+				curve[++minute] = running;
+			}
+			if (starting) {
+				running++;
+				curve[minute] = Math.max(curve[minute], running);
+			}
+			else {
+				running--;
+				if (time == minute * MINUTE) {
+					// executions ending as the minute begins do not run in it
+					curve[minute] = running;
+				}
+			}
+		}
+		while (minute < curve.length - 1) {
+			curve[++minute] = running;
+		}
+		return curve;
+	}
+
+	private static final class Intervals {
+
+		private long[] id = new long[1024];
+
+		private int[] parent = new int[1024];
+
+		private int[] name = new int[1024];
+
+		private int[] status = new int[1024];
+
+		private long[] start = new long[1024];
+
+		private long[] end = new long[1024];
+
+		private int size;
+
+		void add(long id, int parent, int name, int status, long start, long end) {
+			if (this.size == this.id.length) {
+				int capacity = this.size * 2;
+				this.id = Arrays.copyOf(this.id, capacity);
+				this.parent = Arrays.copyOf(this.parent, capacity);
+				this.name = Arrays.copyOf(this.name, capacity);
+				this.status = Arrays.copyOf(this.status, capacity);
+				this.start = Arrays.copyOf(this.start, capacity);
+				this.end = Arrays.copyOf(this.end, capacity);
+			}
+			this.id[this.size] = id;
+			this.parent[this.size] = parent;
+			this.name[this.size] = name;
+			this.status[this.size] = status;
+			this.start[this.size] = start;
+			this.end[this.size] = end;
+			this.size++;
+		}
+
+	}
+
+	private static final class Dictionary {
+
+		private final Map<String, Integer> indexes = new LinkedHashMap<>();
+
+		int indexOf(String value) {
+			return this.indexes.computeIfAbsent(value, key -> this.indexes.size());
+		}
+
+		String[] values() {
+			return this.indexes.keySet().toArray(String[]::new);
+		}
+
+	}
+
+}
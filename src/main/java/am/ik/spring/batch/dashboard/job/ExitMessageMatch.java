@@ -0,0 +1,17 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.LocalDateTime;
+import org.jilt.Builder;
+import org.jilt.BuilderStyle;
+import org.springframework.lang.Nullable;
+
+/**
+ * @param rank relevance of the exit message, higher is better
+ * @param snippet part of the exit message as HTML, with the matched words wrapped in
+ * {@code <mark>} and {@code </mark>}
+ */
+@Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
+public record ExitMessageMatch(long jobExecutionId, long jobInstanceId, String jobName,
+		@Nullable LocalDateTime startTime, @Nullable LocalDateTime endTime, JobStatus status, String exitCode,
+		double rank, String snippet) {
+}
@@ -0,0 +1,77 @@
+package am.ik.spring.batch.dashboard.job;
+
+import am.ik.spring.batch.dashboard.jdbc.DdlExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the GIN index the exit message search and the {@code exitMessage} filter are
+ * served from. Only executions with an exit message are indexed, which in practice are
+ * the failed ones.
+ */
+@Component
+@ConditionalOnProperty(name = "dashboard.exit-message-search.create-index", havingValue = "true")
+public class ExitMessageSearchIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(ExitMessageSearchIndex.class);
+
+	private static final String INDEX_NAME = "DASHBOARD_JOB_EXECUTION_EXIT_MESSAGE_IDX";
+
+	private final JdbcClient jdbcClient;
+
+	private final DdlExecutor ddlExecutor;
+
+	public ExitMessageSearchIndex(JdbcClient jdbcClient, DdlExecutor ddlExecutor) {
+		this.jdbcClient = jdbcClient;
+		this.ddlExecutor = ddlExecutor;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		// building the index on a large table takes a while, startup does not wait
+		Thread.ofVirtual().name("exit-message-search-index").start(this::create);
+	}
+
+	public void create() {
+		try {
+			boolean invalid = this.jdbcClient.sql("""
+					SELECT
+					    NOT ix.indisvalid
+					FROM
+					    pg_index ix
+					    JOIN
+					        pg_class i
+					    ON  i.oid = ix.indexrelid
+					    JOIN
+					        pg_namespace n
+					    ON  n.oid = i.relnamespace
+					WHERE
+					    n.nspname = current_schema()
+					AND i.relname = lower(:indexName)
+					""").param("indexName", INDEX_NAME).query(Boolean.class).optional().orElse(false);
+			if (invalid) {
+				// left behind by an interrupted build, which every write still maintains
+				// and IF NOT EXISTS would keep forever
+				log.info("Dropping the invalid exit message search index before building it again");
+				this.ddlExecutor.execute("DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME);
+			}
+			long start = System.nanoTime();
+			// the expression and predicate must match the ones in JobExecutionMapper
+			this.ddlExecutor.execute("""
+					CREATE INDEX CONCURRENTLY IF NOT EXISTS %s
+					ON BATCH_JOB_EXECUTION USING GIN (%s)
+					WHERE EXIT_MESSAGE <> ''
+					""".formatted(INDEX_NAME, JobExecutionMapper.exitMessageDocument("EXIT_MESSAGE")));
+			log.info("Exit message search index is ready after {} ms", (System.nanoTime() - start) / 1_000_000);
+		}
+		catch (RuntimeException e) {
+			log.warn("Failed to create the exit message search index", e);
+		}
+	}
+
+}
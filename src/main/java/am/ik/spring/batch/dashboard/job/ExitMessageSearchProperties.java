@@ -0,0 +1,17 @@
+package am.ik.spring.batch.dashboard.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param createIndex creates the full-text index on
+ * {@code BATCH_JOB_EXECUTION.EXIT_MESSAGE} on startup. Requires DDL privileges on the
+ * metadata database.
+ * @param candidates number of most recent matches that are ranked. Ranking reads the
+ * whole exit message, so it is not applied to every match of a common word.
+ * @param maxLimit maximum number of matches returned by one search
+ */
+@ConfigurationProperties(prefix = "dashboard.exit-message-search")
+public record ExitMessageSearchProperties(@DefaultValue("false") boolean createIndex,
+		@DefaultValue("1000") int candidates, @DefaultValue("100") int maxLimit) {
+}
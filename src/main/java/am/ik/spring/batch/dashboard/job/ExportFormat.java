@@ -0,0 +1,38 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public enum ExportFormat {
+
+	CSV("text/csv", "csv"), NDJSON("application/x-ndjson", "ndjson");
+
+	private final String mediaType;
+
+	private final String extension;
+
+	ExportFormat(String mediaType, String extension) {
+		this.mediaType = mediaType;
+		this.extension = extension;
+	}
+
+	public String mediaType() {
+		return this.mediaType;
+	}
+
+	public String extension() {
+		return this.extension;
+	}
+
+	public static ExportFormat from(String format) {
+		try {
+			return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Unsupported export format: " + format + " (supported: "
+					+ Arrays.stream(values()).map(ExportFormat::extension).collect(Collectors.joining(", ")) + ")");
+		}
+	}
+
+}
@@ -0,0 +1,12 @@
+package am.ik.spring.batch.dashboard.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param fetchSize number of rows the JDBC driver fetches per round trip while streaming
+ * an export
+ */
+@ConfigurationProperties(prefix = "dashboard.export")
+public record ExportProperties(@DefaultValue("1000") int fetchSize) {
+}
@@ -0,0 +1,18 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.jilt.Builder;
+import org.jilt.BuilderStyle;
+
+/**
+ * Failed executions whose exit messages only differ by IDs, timestamps and line numbers.
+ *
+ * @param firstSeen first failure within the requested window
+ * @param lastSeen last failure within the requested window
+ * @param sampleJobExecutionIds most recent failed executions, newest first
+ */
+@Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
+public record FailureCluster(String signature, String exitCode, String normalizedMessage, long failures,
+		List<String> jobNames, LocalDateTime firstSeen, LocalDateTime lastSeen, List<Long> sampleJobExecutionIds) {
+}
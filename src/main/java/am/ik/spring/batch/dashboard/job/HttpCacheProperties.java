@@ -0,0 +1,15 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled adds an {@code ETag} to the read APIs and answers conditional requests
+ * with {@code 304 Not Modified} before the response is loaded
+ * @param immutableMaxAge how long clients may reuse responses that can no longer change,
+ * such as completed executions, without revalidating them
+ */
+@ConfigurationProperties(prefix = "dashboard.http-cache")
+public record HttpCacheProperties(@DefaultValue("true") boolean enabled, @DefaultValue("7d") Duration immutableMaxAge) {
+}
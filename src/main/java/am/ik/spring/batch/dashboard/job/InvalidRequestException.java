@@ -0,0 +1,18 @@
+package am.ik.spring.batch.dashboard.job;
+
+/**
+ * Thrown for request parameters that the read APIs cannot serve, answered with
+ * {@code 400 Bad Request} and the message. Other exceptions, including
+ * {@link IllegalArgumentException}, are bugs and stay server errors.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+
+	public InvalidRequestException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -1,8 +1,16 @@
 package am.ik.spring.batch.dashboard.job;
 
+import java.util.List;
 import org.jilt.Builder;
 import org.jilt.BuilderStyle;
+import org.springframework.lang.Nullable;
 
+/**
+ * @param serializedContext only present on request, cut after the requested length
+ * @param serializedContextSize size of the complete serialized context in bytes
+ * @param keys top-level keys found in the returned (possibly truncated) context
+ */
 @Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
-public record JobExecutionContext(String shortContext, String serializedContext) {
+public record JobExecutionContext(long jobExecutionId, String shortContext, @Nullable String serializedContext,
+		long serializedContextSize, boolean serializedContextTruncated, List<String> keys) {
 }
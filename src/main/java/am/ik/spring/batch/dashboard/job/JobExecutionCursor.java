@@ -0,0 +1,40 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.lang.Nullable;
+
+/**
+ * Opaque continuation token for keyset pagination over job executions. Points at the last
+ * row of the previous page in {@code START_TIME DESC, JOB_EXECUTION_ID DESC} order.
+ */
+public record JobExecutionCursor(@Nullable LocalDateTime startTime, long jobExecutionId) {
+
+	public static JobExecutionCursor of(JobExecution jobExecution) {
+		return new JobExecutionCursor(jobExecution.startTime(), jobExecution.jobExecutionId());
+	}
+
+	public static JobExecutionCursor decode(String cursor) {
+		try {
+			String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = value.lastIndexOf('|');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Missing separator");
+			}
+			String startTime = value.substring(0, separator);
+			return new JobExecutionCursor(startTime.isEmpty() ? null : LocalDateTime.parse(startTime),
+					Long.parseLong(value.substring(separator + 1)));
+		}
+		catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new InvalidRequestException("Invalid cursor: " + cursor, e);
+		}
+	}
+
+	public String encode() {
+		String value = (this.startTime == null ? "" : this.startTime.toString()) + "|" + this.jobExecutionId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,12 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.LocalDateTime;
+import org.jilt.Builder;
+import org.jilt.BuilderStyle;
+import org.springframework.lang.Nullable;
+
+@Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
+public record JobExecutionEvent(long jobExecutionId, long version, long jobInstanceId, String jobName,
+		LocalDateTime createTime, @Nullable LocalDateTime startTime, @Nullable LocalDateTime endTime, JobStatus status,
+		String exitCode, @Nullable String exitMessage, LocalDateTime lastUpdated) {
+}
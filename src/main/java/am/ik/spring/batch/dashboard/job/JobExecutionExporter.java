@@ -0,0 +1,158 @@
+package am.ik.spring.batch.dashboard.job;
+
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.jdbc.Predicates;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams job executions matching {@link JobExecutionsParams} filters to an
+ * {@link OutputStream}. Rows are written as they are read from a server-side cursor, so
+ * memory use does not depend on the number of exported rows.
+ */
+@Component
+public class JobExecutionExporter {
+
+	private static final String[] COLUMNS = { "jobExecutionId", "jobInstanceId", "jobName", "createTime", "startTime",
+			"endTime", "status", "exitCode", "exitMessage" };
+
+	private final JdbcClientRouter jdbcClientRouter;
+
+	private final ObjectMapper objectMapper;
+
+	private final ExportProperties properties;
+
+	public JobExecutionExporter(JdbcClientRouter jdbcClientRouter, ObjectMapper objectMapper,
+			ExportProperties properties) {
+		this.jdbcClientRouter = jdbcClientRouter;
+		this.objectMapper = objectMapper;
+		this.properties = properties;
+	}
+
+	public void export(JobExecutionsParams params, ExportFormat format, OutputStream outputStream) throws IOException {
+		Predicates predicates = JobExecutionMapper.filters(params);
+		String sql = """
+				SELECT
+				    je.JOB_EXECUTION_ID,
+				    je.JOB_INSTANCE_ID,
+				    ji.JOB_NAME,
+				    je.CREATE_TIME,
+				    je.START_TIME,
+				    je.END_TIME,
+				    je.STATUS,
+				    je.EXIT_CODE,
+				    je.EXIT_MESSAGE
+				%s
+				ORDER BY
+				    je.START_TIME DESC,
+				    je.JOB_EXECUTION_ID DESC
+				""".formatted(JobExecutionMapper.fromClause(JobExecutionMapper.source(params), predicates));
+		try {
+			switch (format) {
+				case CSV -> exportCsv(sql, predicates, outputStream);
+				case NDJSON -> exportNdjson(sql, predicates, outputStream);
+			}
+		}
+		catch (UncheckedIOException e) {
+			// typically the client went away; the transaction is already rolled back
+			throw e.getCause();
+		}
+	}
+
+	private void exportCsv(String sql, Predicates predicates, OutputStream outputStream) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		writer.write(String.join(",", COLUMNS));
+		writer.write('\n');
+		query(sql, predicates, rs -> {
+			writer.write(Long.toString(rs.getLong("JOB_EXECUTION_ID")));
+			writer.write(',');
+			writer.write(Long.toString(rs.getLong("JOB_INSTANCE_ID")));
+			writer.write(',');
+			writer.write(csv(rs.getString("JOB_NAME")));
+			writer.write(',');
+			writer.write(csv(timestamp(rs, "CREATE_TIME")));
+			writer.write(',');
+			writer.write(csv(timestamp(rs, "START_TIME")));
+			writer.write(',');
+			writer.write(csv(timestamp(rs, "END_TIME")));
+			writer.write(',');
+			writer.write(csv(rs.getString("STATUS")));
+			writer.write(',');
+			writer.write(csv(rs.getString("EXIT_CODE")));
+			writer.write(',');
+			writer.write(csv(rs.getString("EXIT_MESSAGE")));
+			writer.write('\n');
+		});
+		writer.flush();
+	}
+
+	private void exportNdjson(String sql, Predicates predicates, OutputStream outputStream) throws IOException {
+		JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream);
+		// one object per line instead of the default space between root values
+		generator.setRootValueSeparator(null);
+		query(sql, predicates, rs -> {
+			generator.writeStartObject();
+			generator.writeNumberField("jobExecutionId", rs.getLong("JOB_EXECUTION_ID"));
+			generator.writeNumberField("jobInstanceId", rs.getLong("JOB_INSTANCE_ID"));
+			generator.writeStringField("jobName", rs.getString("JOB_NAME"));
+			generator.writeStringField("createTime", timestamp(rs, "CREATE_TIME"));
+			generator.writeStringField("startTime", timestamp(rs, "START_TIME"));
+			generator.writeStringField("endTime", timestamp(rs, "END_TIME"));
+			generator.writeStringField("status", rs.getString("STATUS"));
+			generator.writeStringField("exitCode", rs.getString("EXIT_CODE"));
+			generator.writeStringField("exitMessage", rs.getString("EXIT_MESSAGE"));
+			generator.writeEndObject();
+			generator.writeRaw('\n');
+		});
+		generator.flush();
+	}
+
+	private void query(String sql, Predicates predicates, RowWriter rowWriter) {
+		this.jdbcClientRouter.cursor("JobExecutionExporter.export", this.properties.fetchSize(),
+				jdbcClient -> jdbcClient.sql(sql).params(predicates.params()).query(rs -> {
+					try {
+						rowWriter.write(rs);
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}));
+	}
+
+	@Nullable
+	private static String timestamp(ResultSet rs, String column) throws SQLException {
+		LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+		return value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+	}
+
+	static String csv(@Nullable String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	@FunctionalInterface
+	private interface RowWriter {
+
+		void write(ResultSet rs) throws SQLException, IOException;
+
+	}
+
+}
@@ -1,26 +1,128 @@
 package am.ik.spring.batch.dashboard.job;
 
-import java.sql.Types;
+import am.ik.spring.batch.dashboard.archive.ArchiveProperties;
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.jdbc.Predicates;
+import am.ik.spring.batch.dashboard.jdbc.RowCount;
+import am.ik.spring.batch.dashboard.jdbc.RowCountEstimator;
+import am.ik.spring.batch.dashboard.snapshot.ExecutionSlice;
+import am.ik.spring.batch.dashboard.snapshot.ExecutionSnapshot;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
+import org.springframework.web.util.HtmlUtils;
 
 @Repository
 public class JobExecutionMapper {
 
-	private final JdbcClient jdbcClient;
+	private static final String EXIT_MESSAGE_QUERY = """
+			websearch_to_tsquery('simple', translate(:exitMessage, '.$/', '   '))""";
 
-	public JobExecutionMapper(JdbcClient jdbcClient) {
-		this.jdbcClient = jdbcClient;
+	// the EXIT_MESSAGE <> '' condition lets the planner use the partial index
+	private static final String EXIT_MESSAGE_MATCHES = "je.EXIT_MESSAGE <> '' AND %s @@ %s"
+		.formatted(exitMessageDocument("je.EXIT_MESSAGE"), EXIT_MESSAGE_QUERY);
+
+	// control characters delimit the matches in headlines, as exit messages may contain
+	// any markup
+	static final char MATCH_START = '\u0002';
+
+	static final char MATCH_STOP = '\u0003';
+
+	private final JdbcClientRouter jdbcClientRouter;
+
+	private final RowCountEstimator rowCountEstimator;
+
+	private final ObjectMapper objectMapper;
+
+	private final ArchiveProperties archiveProperties;
+
+	@Nullable
+	private final ExecutionSnapshot executionSnapshot;
+
+	public JobExecutionMapper(JdbcClientRouter jdbcClientRouter, RowCountEstimator rowCountEstimator,
+			ObjectMapper objectMapper, ArchiveProperties archiveProperties,
+			@Nullable ExecutionSnapshot executionSnapshot) {
+		this.jdbcClientRouter = jdbcClientRouter;
+		this.rowCountEstimator = rowCountEstimator;
+		this.objectMapper = objectMapper;
+		this.archiveProperties = archiveProperties;
+		this.executionSnapshot = executionSnapshot;
 	}
 
 	public PageResponse<JobExecution> findJobExecutions(JobExecutionsParams params) {
 		Integer page = Objects.requireNonNullElse(params.page(), 0);
 		Integer size = Objects.requireNonNullElse(params.size(), 20);
-		List<JobExecution> content = this.jdbcClient.sql("""
+		boolean keyset = params.cursor() != null;
+		JobExecutionCursor cursor = keyset && !params.cursor().isEmpty() ? JobExecutionCursor.decode(params.cursor())
+				: null;
+		// keyset mode reads one extra row to find out whether there is a next page
+		int limit = keyset ? size + 1 : size;
+		int offset = keyset ? 0 : page * size;
+		ExecutionSource source = source(params);
+		Predicates filters = filters(params);
+		ExecutionSlice slice = fromSnapshot(params, cursor, offset, limit);
+		List<JobExecution> rows = slice != null ? slice.content()
+				: queryJobExecutions(source, filters, cursor, offset, limit);
+		List<JobExecution> content = rows.size() > size ? rows.subList(0, size) : rows;
+		String nextCursor = keyset && rows.size() > size ? JobExecutionCursor.of(content.getLast()).encode() : null;
+		RowCount rowCount = slice != null && slice.count() != null ? new RowCount(slice.count(), true)
+				: this.rowCountEstimator.count(fromClause(source, filters), filters.params(),
+						Boolean.TRUE.equals(params.exactCount()));
+		// an estimate must not claim fewer rows than have already been paged through
+		long count = Math.max(rowCount.count(), (long) page * size + content.size());
+		return PageResponseBuilder.<JobExecution>pageResponse()
+			.content(content)
+			.page(page)
+			.size(size)
+			.totalElements(count)
+			.totalElementsExact(rowCount.exact())
+			.totalPages((int) (count / size) + 1)
+			.nextCursor(nextCursor)
+			.build();
+	}
+
+	@Nullable
+	private ExecutionSlice fromSnapshot(JobExecutionsParams params, @Nullable JobExecutionCursor cursor, int offset,
+			int limit) {
+		// full-text matching and the archive are left to the database
+		if (this.executionSnapshot == null || source(params) != ExecutionSource.LIVE
+				|| (params.exitMessage() != null && !params.exitMessage().isBlank())) {
+			return null;
+		}
+		return this.executionSnapshot.findJobExecutions(params.jobName(), params.status(), params.startDateFrom(),
+				params.startDateTo(), cursor, offset, limit);
+	}
+
+	private List<JobExecution> queryJobExecutions(ExecutionSource source, Predicates filters,
+			@Nullable JobExecutionCursor cursor, int offset, int limit) {
+		Predicates predicates = filters.copy();
+		if (cursor != null) {
+			if (cursor.startTime() != null) {
+				// NULL start times sort first in DESC order, they are already behind us
+				predicates.add("(je.START_TIME, je.JOB_EXECUTION_ID) < (:cursorStartTime, :cursorJobExecutionId)",
+						Map.of("cursorStartTime", cursor.startTime(), "cursorJobExecutionId", cursor.jobExecutionId()));
+			}
+			else {
+				predicates.add("(je.START_TIME IS NOT NULL OR je.JOB_EXECUTION_ID < :cursorJobExecutionId)",
+						Map.of("cursorJobExecutionId", cursor.jobExecutionId()));
+			}
+		}
+		String sql = """
 				SELECT
 				    je.JOB_EXECUTION_ID,
 				    je.JOB_INSTANCE_ID,
@@ -31,83 +133,159 @@ public class JobExecutionMapper {
 				    je.STATUS,
 				    je.EXIT_CODE,
 				    je.EXIT_MESSAGE
-				FROM
-				    BATCH_JOB_EXECUTION je
-				    JOIN
-				        BATCH_JOB_INSTANCE ji
-				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
-				WHERE
-				    (
-				        :jobName::VARCHAR IS NULL
-				    OR  ji.JOB_NAME = :jobName
-				    )
-				AND (
-				        :status::VARCHAR IS NULL
-				    OR  je.STATUS = :status
-				    )
-				AND (
-				        :startDateFrom::TIMESTAMP IS NULL
-				    OR  je.START_TIME >= :startDateFrom
-				    )
-				AND (
-				        :startDateTo::TIMESTAMP IS NULL
-				    OR  je.START_TIME <= :startDateTo
-				    )
+				%s
 				ORDER BY
-				    je.START_TIME DESC
-				LIMIT :size OFFSET :page * :size
-				""")
-			.param("jobName", params.jobName())
-			.param("status", params.status(), Types.VARCHAR)
-			.param("startDateFrom", params.startDateFrom())
-			.param("startDateTo", params.startDateTo())
-			.param("page", page)
-			.param("size", size)
+				    je.START_TIME DESC,
+				    je.JOB_EXECUTION_ID DESC
+				LIMIT :limit OFFSET :offset
+				""".formatted(fromClause(source, predicates));
+		return jdbcClient("findJobExecutions").sql(sql)
+			.params(predicates.params())
+			.param("limit", limit)
+			.param("offset", offset)
 			.query(JobExecution.class)
 			.list();
-		long count = this.jdbcClient.sql("""
-				SELECT
-				    COUNT(*)
+	}
+
+	static Predicates filters(JobExecutionsParams params) {
+		return new Predicates().add("ji.JOB_NAME = :jobName", "jobName", params.jobName())
+			.add("je.STATUS = :status", "status", params.status() == null ? null : params.status().name())
+			.add("je.START_TIME >= :startDateFrom", "startDateFrom", params.startDateFrom())
+			.add("je.START_TIME <= :startDateTo", "startDateTo", params.startDateTo())
+			.add(EXIT_MESSAGE_MATCHES, "exitMessage",
+					params.exitMessage() == null || params.exitMessage().isBlank() ? null : params.exitMessage());
+	}
+
+	/**
+	 * Full-text document of an exit message. Dots, dollar signs and slashes are replaced
+	 * with spaces first, so that the simple name of a class or a path segment is a word
+	 * on its own.
+	 */
+	static String exitMessageDocument(String column) {
+		return "to_tsvector('simple', translate(%s, '.$/', '   '))".formatted(column);
+	}
+
+	static ExecutionSource source(JobExecutionsParams params) {
+		return Objects.requireNonNullElse(params.source(), ExecutionSource.LIVE);
+	}
+
+	static String fromClause(ExecutionSource source, Predicates predicates) {
+		return """
 				FROM
-				    BATCH_JOB_EXECUTION je
+				    %s je
 				    JOIN
-				        BATCH_JOB_INSTANCE ji
+				        %s ji
 				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
-				WHERE
-				    (
-				        :jobName::VARCHAR IS NULL
-				    OR  ji.JOB_NAME = :jobName
-				    )
-				AND (
-				        :status::VARCHAR IS NULL
-				    OR  je.STATUS = :status
-				    )
-				AND (
-				        :startDateFrom::TIMESTAMP IS NULL
-				    OR  je.START_TIME >= :startDateFrom
-				    )
-				AND (
-				        :startDateTo::TIMESTAMP IS NULL
-				    OR  je.START_TIME <= :startDateTo
-				    )
-				""")
-			.param("jobName", params.jobName())
-			.param("status", params.status(), Types.VARCHAR)
-			.param("startDateFrom", params.startDateFrom())
-			.param("startDateTo", params.startDateTo())
-			.query(Long.class)
-			.single();
-		return PageResponseBuilder.<JobExecution>pageResponse()
-			.content(content)
-			.page(page)
-			.size(size)
-			.totalElements(count)
-			.totalPages((int) (count / size) + 1)
-			.build();
+				%s
+				""".formatted(source.jobExecutions(), source.jobInstances(), predicates.toWhereClause());
 	}
 
+	/**
+	 * Falls back to the archive for executions that have been archived.
+	 */
 	public Optional<JobExecutionDetail> getJobExecutionDetail(long jobExecutionId) {
-		Optional<JobExecutionDetail> jobExecutionDetail = jdbcClient.sql("""
+		return getJobExecutionDetail(jobExecutionId, ExecutionSource.LIVE).or(() -> this.archiveProperties.enabled()
+				? getJobExecutionDetail(jobExecutionId, ExecutionSource.ARCHIVE) : Optional.empty());
+	}
+
+	private Optional<JobExecutionDetail> getJobExecutionDetail(long jobExecutionId, ExecutionSource source) {
+		// parameters and steps are aggregated into JSON, one round trip per detail
+		return jdbcClient("getJobExecutionDetail")
+			.sql("""
+					SELECT
+					    je.JOB_EXECUTION_ID,
+					    je.JOB_INSTANCE_ID,
+					    ji.JOB_NAME,
+					    je.CREATE_TIME,
+					    je.START_TIME,
+					    je.END_TIME,
+					    je.STATUS,
+					    je.EXIT_CODE,
+					    je.EXIT_MESSAGE,
+					    je.LAST_UPDATED,
+					    (
+					        SELECT
+					            json_agg(json_build_object(
+					                'name', jp.PARAMETER_NAME,
+					                'type', jp.PARAMETER_TYPE,
+					                'value', jp.PARAMETER_VALUE,
+					                'identifying', jp.IDENTIFYING = 'Y'
+					            ) ORDER BY jp.PARAMETER_NAME ASC)
+					        FROM
+					            %s jp
+					        WHERE
+					            jp.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+					    ) AS PARAMETERS,
+					    (
+					        SELECT
+					            json_agg(json_build_object(
+					                'stepExecutionId', se.STEP_EXECUTION_ID,
+					                'stepName', se.STEP_NAME,
+					                'status', se.STATUS,
+					                'readCount', se.READ_COUNT,
+					                'writeCount', se.WRITE_COUNT,
+					                'filterCount', se.FILTER_COUNT,
+					                'startTime', se.START_TIME,
+					                'endTime', se.END_TIME
+					            ) ORDER BY se.START_TIME DESC)
+					        FROM
+					            %s se
+					        WHERE
+					            se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+					    ) AS STEPS
+					FROM
+					    %s je
+					    JOIN
+					        %s ji
+					    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+					WHERE
+					    je.JOB_EXECUTION_ID = :jobExecutionId
+					""".formatted(source.jobExecutionParams(), source.stepExecutions(), source.jobExecutions(),
+					source.jobInstances()))
+			.param("jobExecutionId", jobExecutionId)
+			.query((rs, rowNum) -> JobExecutionDetailBuilder.jobExecutionDetail()
+				.jobExecutionId(rs.getLong("JOB_EXECUTION_ID"))
+				.jobInstanceId(rs.getLong("JOB_INSTANCE_ID"))
+				.jobName(rs.getString("JOB_NAME"))
+				.createTime(rs.getObject("CREATE_TIME", LocalDateTime.class))
+				.startTime(rs.getObject("START_TIME", LocalDateTime.class))
+				.endTime(rs.getObject("END_TIME", LocalDateTime.class))
+				.status(JobStatus.valueOf(rs.getString("STATUS")))
+				.exitCode(rs.getString("EXIT_CODE"))
+				.exitMessage(rs.getString("EXIT_MESSAGE"))
+				.lastUpdated(rs.getObject("LAST_UPDATED", LocalDateTime.class))
+				.parameters(readJsonList(rs.getString("PARAMETERS"), new TypeReference<List<JobParameter>>() {
+				}))
+				.steps(readJsonList(rs.getString("STEPS"), new TypeReference<List<StepExecutionSummary>>() {
+				}))
+				.build())
+			.optional();
+	}
+
+	/**
+	 * Loads several job execution details with one query each for the executions, their
+	 * parameters and their steps, instead of one query per execution. IDs that are not
+	 * found fall back to the archive, unknown IDs are skipped, and the details are
+	 * returned in the order of {@code jobExecutionIds}.
+	 */
+	public List<JobExecutionDetail> getJobExecutionDetails(Collection<Long> jobExecutionIds) {
+		if (jobExecutionIds.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, JobExecutionDetail> details = getJobExecutionDetails(jobExecutionIds, ExecutionSource.LIVE);
+		if (this.archiveProperties.enabled()) {
+			List<Long> archived = jobExecutionIds.stream().filter(id -> !details.containsKey(id)).toList();
+			if (!archived.isEmpty()) {
+				details.putAll(getJobExecutionDetails(archived, ExecutionSource.ARCHIVE));
+			}
+		}
+		return jobExecutionIds.stream().map(details::get).filter(Objects::nonNull).toList();
+	}
+
+	private Map<Long, JobExecutionDetail> getJobExecutionDetails(Collection<Long> jobExecutionIds,
+			ExecutionSource source) {
+		SqlArrayValue ids = new SqlArrayValue("bigint", jobExecutionIds.toArray());
+		Map<Long, JobExecutionDetail> executions = jdbcClient("getJobExecutionDetails").sql("""
 				SELECT
 				    je.JOB_EXECUTION_ID,
 				    je.JOB_INSTANCE_ID,
@@ -120,14 +298,14 @@ public class JobExecutionMapper {
 				    je.EXIT_MESSAGE,
 				    je.LAST_UPDATED
 				FROM
-				    BATCH_JOB_EXECUTION je
+				    %s je
 				    JOIN
-				        BATCH_JOB_INSTANCE ji
+				        %s ji
 				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
 				WHERE
-				    je.JOB_EXECUTION_ID = :jobExecutionId
-				""")
-			.param("jobExecutionId", jobExecutionId)
+				    je.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				""".formatted(source.jobExecutions(), source.jobInstances()))
+			.param("jobExecutionIds", ids)
 			.query((rs, rowNum) -> JobExecutionDetailBuilder.jobExecutionDetail()
 				.jobExecutionId(rs.getLong("JOB_EXECUTION_ID"))
 				.jobInstanceId(rs.getLong("JOB_INSTANCE_ID"))
@@ -142,40 +320,219 @@ public class JobExecutionMapper {
 				.parameters(List.of())
 				.steps(List.of())
 				.build())
-			.optional();
-		return jobExecutionDetail.map(je -> {
-			List<JobParameter> jobParameters = this.jdbcClient.sql("""
-					SELECT
-					    jp.PARAMETER_NAME AS NAME,
-					    jp.PARAMETER_TYPE AS TYPE,
-					    jp.PARAMETER_VALUE AS VALUE,
-					    jp.IDENTIFYING
-					FROM
-					    BATCH_JOB_EXECUTION_PARAMS jp
-					WHERE
-					    jp.JOB_EXECUTION_ID = :jobExecutionId
-					ORDER BY
-					    jp.PARAMETER_NAME ASC
-					""").param("jobExecutionId", jobExecutionId).query(JobParameter.class).list();
-			List<StepExecutionSummary> stepExecutions = this.jdbcClient.sql("""
-					SELECT
-					    se.STEP_EXECUTION_ID,
-					    se.STEP_NAME,
-					    se.STATUS,
-					    se.READ_COUNT,
-					    se.WRITE_COUNT,
-					    se.FILTER_COUNT,
-					    se.START_TIME,
-					    se.END_TIME
-					FROM
-					    BATCH_STEP_EXECUTION se
-					WHERE
-					    se.JOB_EXECUTION_ID = :jobExecutionId
-					ORDER BY
-					    se.START_TIME DESC
-					""").param("jobExecutionId", jobExecutionId).query(StepExecutionSummary.class).list();
-			return JobExecutionDetailBuilder.from(je).parameters(jobParameters).steps(stepExecutions).build();
+			.list()
+			.stream()
+			.collect(Collectors.toMap(JobExecutionDetail::jobExecutionId, Function.identity(), (a, b) -> a,
+					HashMap::new));
+		if (executions.isEmpty()) {
+			return new HashMap<>();
+		}
+		Map<Long, List<JobParameter>> parameters = new HashMap<>();
+		jdbcClient("getJobExecutionDetails").sql("""
+				SELECT
+				    jp.JOB_EXECUTION_ID,
+				    jp.PARAMETER_NAME,
+				    jp.PARAMETER_TYPE,
+				    jp.PARAMETER_VALUE,
+				    jp.IDENTIFYING
+				FROM
+				    %s jp
+				WHERE
+				    jp.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				ORDER BY
+				    jp.PARAMETER_NAME ASC
+				""".formatted(source.jobExecutionParams())).param("jobExecutionIds", ids).query(rs -> {
+			parameters.computeIfAbsent(rs.getLong("JOB_EXECUTION_ID"), id -> new ArrayList<>())
+				.add(JobParameterBuilder.jobParameter()
+					.name(rs.getString("PARAMETER_NAME"))
+					.type(rs.getString("PARAMETER_TYPE"))
+					.value(rs.getString("PARAMETER_VALUE"))
+					.identifying("Y".equals(rs.getString("IDENTIFYING")))
+					.build());
 		});
+		Map<Long, List<StepExecutionSummary>> steps = new HashMap<>();
+		jdbcClient("getJobExecutionDetails").sql("""
+				SELECT
+				    se.JOB_EXECUTION_ID,
+				    se.STEP_EXECUTION_ID,
+				    se.STEP_NAME,
+				    se.STATUS,
+				    se.READ_COUNT,
+				    se.WRITE_COUNT,
+				    se.FILTER_COUNT,
+				    se.START_TIME,
+				    se.END_TIME
+				FROM
+				    %s se
+				WHERE
+				    se.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				ORDER BY
+				    se.START_TIME DESC
+				""".formatted(source.stepExecutions())).param("jobExecutionIds", ids).query(rs -> {
+			steps.computeIfAbsent(rs.getLong("JOB_EXECUTION_ID"), id -> new ArrayList<>())
+				.add(StepExecutionSummaryBuilder.stepExecutionSummary()
+					.stepExecutionId(rs.getLong("STEP_EXECUTION_ID"))
+					.stepName(rs.getString("STEP_NAME"))
+					.status(StepStatus.valueOf(rs.getString("STATUS")))
+					.readCount(rs.getLong("READ_COUNT"))
+					.writeCount(rs.getLong("WRITE_COUNT"))
+					.filterCount(rs.getLong("FILTER_COUNT"))
+					.startTime(rs.getObject("START_TIME", LocalDateTime.class))
+					.endTime(rs.getObject("END_TIME", LocalDateTime.class))
+					.build());
+		});
+		executions.replaceAll((id, execution) -> JobExecutionDetailBuilder.from(execution)
+			.parameters(parameters.getOrDefault(id, List.of()))
+			.steps(steps.getOrDefault(id, List.of()))
+			.build());
+		return executions;
+	}
+
+	/**
+	 * Ranks the most recent {@code candidates} executions whose exit message matches the
+	 * web search style {@code query} and returns the best {@code limit} of them.
+	 */
+	public List<ExitMessageMatch> searchExitMessages(String query, @Nullable String jobName, @Nullable JobStatus status,
+			int limit, int candidates) {
+		Predicates predicates = new Predicates().add(EXIT_MESSAGE_MATCHES, "exitMessage", query)
+			.add("ji.JOB_NAME = :jobName", "jobName", jobName)
+			.add("je.STATUS = :status", "status", status == null ? null : status.name());
+		String sql = """
+				WITH candidates AS (
+				    SELECT
+				        je.JOB_EXECUTION_ID,
+				        je.JOB_INSTANCE_ID,
+				        ji.JOB_NAME,
+				        je.START_TIME,
+				        je.END_TIME,
+				        je.STATUS,
+				        je.EXIT_CODE,
+				        je.EXIT_MESSAGE
+				    %s
+				    ORDER BY
+				        je.JOB_EXECUTION_ID DESC
+				    LIMIT :candidates
+				), ranked AS (
+				    SELECT
+				        c.*,
+				        ts_rank_cd(%s, %s) AS RANK
+				    FROM
+				        candidates c
+				    ORDER BY
+				        RANK DESC,
+				        c.JOB_EXECUTION_ID DESC
+				    LIMIT :limit
+				)
+				SELECT
+				    r.*,
+				    ts_headline('simple', translate(r.EXIT_MESSAGE, '.$/', '   '), %s,
+				        'StartSel="' || chr(2) || '", StopSel="' || chr(3) || '", MinWords=15, MaxWords=35') AS HEADLINE
+				FROM
+				    ranked r
+				ORDER BY
+				    r.RANK DESC,
+				    r.JOB_EXECUTION_ID DESC
+				""".formatted(fromClause(ExecutionSource.LIVE, predicates), exitMessageDocument("c.EXIT_MESSAGE"),
+				EXIT_MESSAGE_QUERY, EXIT_MESSAGE_QUERY);
+		return jdbcClient("searchExitMessages").sql(sql)
+			.params(predicates.params())
+			.param("candidates", candidates)
+			.param("limit", limit)
+			.query((rs, rowNum) -> ExitMessageMatchBuilder.exitMessageMatch()
+				.jobExecutionId(rs.getLong("JOB_EXECUTION_ID"))
+				.jobInstanceId(rs.getLong("JOB_INSTANCE_ID"))
+				.jobName(rs.getString("JOB_NAME"))
+				.startTime(rs.getObject("START_TIME", LocalDateTime.class))
+				.endTime(rs.getObject("END_TIME", LocalDateTime.class))
+				.status(JobStatus.valueOf(rs.getString("STATUS")))
+				.exitCode(rs.getString("EXIT_CODE"))
+				.rank(rs.getDouble("RANK"))
+				.snippet(snippet(rs.getString("EXIT_MESSAGE"), rs.getString("HEADLINE")))
+				.build())
+			.list();
+	}
+
+	/**
+	 * Puts the characters replaced by {@link #exitMessageDocument(String)} back into a
+	 * headline, escapes it as HTML and wraps the matches in {@code <mark>}. The headline
+	 * is a verbatim part of the translated message apart from the match delimiters, and
+	 * the translation keeps every character in place.
+	 */
+	static String snippet(String exitMessage, String headline) {
+		String plain = headline.replace(String.valueOf(MATCH_START), "").replace(String.valueOf(MATCH_STOP), "");
+		int offset = exitMessage.replace('.', ' ').replace('$', ' ').replace('/', ' ').indexOf(plain);
+		String text = offset < 0 ? plain : exitMessage.substring(offset, offset + plain.length());
+		StringBuilder snippet = new StringBuilder(headline.length() + 32);
+		int position = 0;
+		int start = 0;
+		for (int i = 0; i < headline.length(); i++) {
+			char c = headline.charAt(i);
+			if (c == MATCH_START || c == MATCH_STOP) {
+				snippet.append(HtmlUtils.htmlEscape(text.substring(start, position)))
+					.append(c == MATCH_START ? "<mark>" : "</mark>");
+				start = position;
+			}
+			else {
+				position++;
+			}
+		}
+		return snippet.append(HtmlUtils.htmlEscape(text.substring(start))).toString();
+	}
+
+	private <T> List<T> readJsonList(@Nullable String json, TypeReference<List<T>> type) {
+		if (json == null) {
+			return List.of();
+		}
+		try {
+			return this.objectMapper.readValue(json, type);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param length number of {@code SERIALIZED_CONTEXT} characters to return, {@code 0}
+	 * for {@code SHORT_CONTEXT} only
+	 */
+	public Optional<JobExecutionContext> getJobExecutionContext(long jobExecutionId, int length) {
+		return getJobExecutionContext(jobExecutionId, length, ExecutionSource.LIVE)
+			.or(() -> this.archiveProperties.enabled()
+					? getJobExecutionContext(jobExecutionId, length, ExecutionSource.ARCHIVE) : Optional.empty());
+	}
+
+	private Optional<JobExecutionContext> getJobExecutionContext(long jobExecutionId, int length,
+			ExecutionSource source) {
+		return jdbcClient("getJobExecutionContext").sql("""
+				SELECT
+				    c.SHORT_CONTEXT,
+				    CASE
+				        WHEN :length > 0 THEN LEFT(c.SERIALIZED_CONTEXT, :length + 1)
+				    END AS SERIALIZED_CONTEXT,
+				    COALESCE(OCTET_LENGTH(c.SERIALIZED_CONTEXT), 0) AS SERIALIZED_CONTEXT_SIZE
+				FROM
+				    %s c
+				WHERE
+				    c.JOB_EXECUTION_ID = :jobExecutionId
+				""".formatted(source.jobExecutionContexts()))
+			.param("jobExecutionId", jobExecutionId)
+			.param("length", length)
+			.query((rs, rowNum) -> {
+				ExecutionContexts.Content content = ExecutionContexts.read(rs, length);
+				return JobExecutionContextBuilder.jobExecutionContext()
+					.jobExecutionId(jobExecutionId)
+					.shortContext(content.shortContext())
+					.serializedContext(content.serializedContext())
+					.serializedContextSize(content.serializedContextSize())
+					.serializedContextTruncated(content.serializedContextTruncated())
+					.keys(content.keys())
+					.build();
+			})
+			.optional();
+	}
+
+	private JdbcClient jdbcClient(String method) {
+		return this.jdbcClientRouter.route("JobExecutionMapper." + method);
 	}
 
 }
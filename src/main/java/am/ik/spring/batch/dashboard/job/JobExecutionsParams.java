@@ -5,8 +5,19 @@ import org.jilt.Builder;
 import org.jilt.BuilderStyle;
 import org.springframework.lang.Nullable;
 
+/**
+ * @param cursor switches to keyset pagination when present. An empty value requests the
+ * first page, otherwise the value is the {@link PageResponse#nextCursor()} of the
+ * previous page and {@code page} is only echoed back.
+ * @param exitMessage full-text query on the exit message, e.g.
+ * {@code IllegalStateException "connection refused"}
+ * @param source reads archived executions instead of or in addition to live ones,
+ * {@link ExecutionSource#LIVE} by default
+ * @param exactCount runs an exact {@code COUNT(*)} instead of returning an estimate
+ */
 @Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
 public record JobExecutionsParams(@Nullable String jobName, @Nullable JobStatus status,
-		@Nullable LocalDateTime startDateFrom, @Nullable LocalDateTime startDateTo, @Nullable Integer page,
-		@Nullable Integer size, @Nullable String sort) {
+		@Nullable LocalDateTime startDateFrom, @Nullable LocalDateTime startDateTo, @Nullable String exitMessage,
+		@Nullable ExecutionSource source, @Nullable Integer page, @Nullable Integer size, @Nullable String sort,
+		@Nullable String cursor, @Nullable Boolean exactCount) {
 }
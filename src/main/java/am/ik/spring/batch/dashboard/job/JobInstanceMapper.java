@@ -1,25 +1,55 @@
 package am.ik.spring.batch.dashboard.job;
 
+import am.ik.spring.batch.dashboard.index.IndexCatalog;
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.jdbc.Predicates;
+import am.ik.spring.batch.dashboard.jdbc.RowCount;
+import am.ik.spring.batch.dashboard.jdbc.RowCountEstimator;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class JobInstanceMapper {
 
-	private final JdbcClient jdbcClient;
+	private final JdbcClientRouter jdbcClientRouter;
 
-	public JobInstanceMapper(JdbcClient jdbcClient) {
-		this.jdbcClient = jdbcClient;
+	private final RowCountEstimator rowCountEstimator;
+
+	private final IndexCatalog indexCatalog;
+
+	public JobInstanceMapper(JdbcClientRouter jdbcClientRouter, RowCountEstimator rowCountEstimator,
+			IndexCatalog indexCatalog) {
+		this.jdbcClientRouter = jdbcClientRouter;
+		this.rowCountEstimator = rowCountEstimator;
+		this.indexCatalog = indexCatalog;
+	}
+
+	/**
+	 * The latest execution of each job instance on a page is looked up through an index
+	 * on {@code BATCH_JOB_EXECUTION (JOB_INSTANCE_ID, JOB_EXECUTION_ID)}, which the stock
+	 * schema does not have. Without it every page scans all job executions once per job
+	 * instance.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void checkIndexes() {
+		this.indexCatalog.warnIfMissing("BATCH_JOB_EXECUTION", List.of("JOB_INSTANCE_ID", "JOB_EXECUTION_ID"),
+				"latest execution of each job instance");
 	}
 
 	public PageResponse<JobInstance> findJobInstances(JobInstancesParams params) {
 		Integer page = Objects.requireNonNullElse(params.page(), 0);
 		Integer size = Objects.requireNonNullElse(params.size(), 20);
-		List<JobInstance> content = this.jdbcClient.sql("""
+		Predicates predicates = new Predicates().add("ji.JOB_NAME = :jobName", "jobName", params.jobName());
+		String sql = """
 				SELECT
 				    ji.JOB_INSTANCE_ID,
 				    ji.JOB_NAME,
@@ -30,37 +60,41 @@ public class JobInstanceMapper {
 				    je.END_TIME,
 				    je.STATUS
 				FROM
-				    BATCH_JOB_INSTANCE ji
-				    LEFT JOIN
+				    (
+				        SELECT
+				            ji.JOB_INSTANCE_ID,
+				            ji.JOB_NAME,
+				            ji.JOB_KEY,
+				            ji.VERSION
+				        FROM
+				            BATCH_JOB_INSTANCE ji
+				        %s
+				        ORDER BY
+				            ji.JOB_INSTANCE_ID DESC
+				        LIMIT :size OFFSET :page * :size
+				    ) ji
+				    LEFT JOIN LATERAL
 				        (
-				            -- Subquery to get the latest execution for each job instance
+				            -- Latest execution of each job instance on the page only
 				            SELECT
-				                je1.*
+				                je.JOB_EXECUTION_ID,
+				                je.START_TIME,
+				                je.END_TIME,
+				                je.STATUS
 				            FROM
-				                BATCH_JOB_EXECUTION je1
-				                JOIN
-				                    (
-				                        SELECT
-				                            JOB_INSTANCE_ID,
-				                            MAX(JOB_EXECUTION_ID) as MAX_EXECUTION_ID
-				                        FROM
-				                            BATCH_JOB_EXECUTION
-				                        GROUP BY
-				                            JOB_INSTANCE_ID
-				                    ) je2
-				                ON  je1.JOB_EXECUTION_ID = je2.MAX_EXECUTION_ID
+				                BATCH_JOB_EXECUTION je
+				            WHERE
+				                je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				            ORDER BY
+				                je.JOB_EXECUTION_ID DESC
+				            LIMIT 1
 				        ) je
-				    ON  ji.JOB_INSTANCE_ID = je.JOB_INSTANCE_ID
-				WHERE
-				    (
-				        :jobName::VARCHAR IS NULL
-				    OR  ji.JOB_NAME = :jobName
-				    )
+				    ON  TRUE
 				ORDER BY
 				    ji.JOB_INSTANCE_ID DESC
-				LIMIT :size OFFSET :page * :size
-				""")
-			.param("jobName", params.jobName())
+				""".formatted(predicates.toWhereClause());
+		List<JobInstance> content = jdbcClient("findJobInstances").sql(sql)
+			.params(predicates.params())
 			.param("page", page)
 			.param("size", size)
 			.query((rs, rowNum) -> JobInstanceBuilder.jobInstance()
@@ -68,50 +102,57 @@ public class JobInstanceMapper {
 				.jobName(rs.getString("JOB_NAME"))
 				.jobKey(rs.getString("JOB_KEY"))
 				.version(rs.getInt("VERSION"))
-				.latestExecution(JobExecutionSummaryBuilder.jobExecutionSummary()
-					.jobExecutionId(rs.getLong("JOB_EXECUTION_ID"))
-					.startTime(rs.getObject("START_TIME", LocalDateTime.class))
-					.endTime(rs.getObject("END_TIME", LocalDateTime.class))
-					.status(JobStatus.valueOf(rs.getString("STATUS")))
-					.build())
+				.latestExecution(mapLatestExecution(rs))
 				.build())
 			.list();
 
-		long count = this.jdbcClient.sql("""
-				SELECT COUNT(*)
+		RowCount rowCount = this.rowCountEstimator.count("""
 				FROM BATCH_JOB_INSTANCE ji
-				WHERE (:jobName::VARCHAR IS NULL OR ji.JOB_NAME = :jobName)
-				""").param("jobName", params.jobName()).query(Long.class).single();
+				%s
+				""".formatted(predicates.toWhereClause()), predicates.params(),
+				Boolean.TRUE.equals(params.exactCount()));
+		long count = Math.max(rowCount.count(), (long) page * size + content.size());
 
 		return PageResponseBuilder.<JobInstance>pageResponse()
 			.content(content)
 			.page(page)
 			.size(size)
 			.totalElements(count)
+			.totalElementsExact(rowCount.exact())
 			.totalPages((int) (count / size) + 1)
+			.nextCursor(null)
 			.build();
 	}
 
 	public Optional<JobInstanceDetail> getJobInstanceDetail(long jobInstanceId) {
-		return this.jdbcClient.sql("""
+		return jdbcClient("getJobInstanceDetail").sql("""
 				SELECT
 				    ji.JOB_INSTANCE_ID,
 				    ji.JOB_NAME,
 				    ji.JOB_KEY,
 				    ji.VERSION,
 				    je.JOB_EXECUTION_ID,
-				    je.CREATE_TIME,
 				    je.START_TIME,
 				    je.END_TIME,
-				    je.STATUS,
-				    je.EXIT_CODE,
-				    je.EXIT_MESSAGE,
-				    je.LAST_UPDATED
+				    je.STATUS
 				FROM
 				    BATCH_JOB_INSTANCE ji
-				    JOIN
-				        BATCH_JOB_EXECUTION je
-				    ON  ji.JOB_INSTANCE_ID = je.JOB_INSTANCE_ID
+				    LEFT JOIN LATERAL
+				        (
+				            SELECT
+				                je.JOB_EXECUTION_ID,
+				                je.START_TIME,
+				                je.END_TIME,
+				                je.STATUS
+				            FROM
+				                BATCH_JOB_EXECUTION je
+				            WHERE
+				                je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				            ORDER BY
+				                je.JOB_EXECUTION_ID DESC
+				            LIMIT 1
+				        ) je
+				    ON  TRUE
 				WHERE
 				    ji.JOB_INSTANCE_ID = :jobInstanceId
 				""")
@@ -121,17 +162,12 @@ public class JobInstanceMapper {
 				.jobName(rs.getString("JOB_NAME"))
 				.jobKey(rs.getString("JOB_KEY"))
 				.version(rs.getInt("VERSION"))
-				.latestExecution(JobExecutionSummaryBuilder.jobExecutionSummary()
-					.jobExecutionId(rs.getLong("JOB_EXECUTION_ID"))
-					.startTime(rs.getObject("START_TIME", LocalDateTime.class))
-					.endTime(rs.getObject("END_TIME", LocalDateTime.class))
-					.status(JobStatus.valueOf(rs.getString("STATUS")))
-					.build())
+				.latestExecution(mapLatestExecution(rs))
 				.executions(List.of())
 				.build())
 			.optional()
 			.map(jobInstanceDetail -> JobInstanceDetailBuilder.from(jobInstanceDetail)
-				.executions(this.jdbcClient.sql("""
+				.executions(jdbcClient("getJobInstanceDetail").sql("""
 						SELECT
 						    je.JOB_EXECUTION_ID,
 						    je.JOB_INSTANCE_ID,
@@ -155,4 +191,22 @@ public class JobInstanceMapper {
 				.build());
 	}
 
+	@Nullable
+	private static JobExecutionSummary mapLatestExecution(ResultSet rs) throws SQLException {
+		if (rs.getObject("JOB_EXECUTION_ID") == null) {
+			// job instance without any execution
+			return null;
+		}
+		return JobExecutionSummaryBuilder.jobExecutionSummary()
+			.jobExecutionId(rs.getLong("JOB_EXECUTION_ID"))
+			.startTime(rs.getObject("START_TIME", LocalDateTime.class))
+			.endTime(rs.getObject("END_TIME", LocalDateTime.class))
+			.status(JobStatus.valueOf(rs.getString("STATUS")))
+			.build();
+	}
+
+	private JdbcClient jdbcClient(String method) {
+		return this.jdbcClientRouter.route("JobInstanceMapper." + method);
+	}
+
 }
@@ -6,5 +6,5 @@ import org.springframework.lang.Nullable;
 
 @Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
 public record JobInstancesParams(@Nullable String jobName, @Nullable Integer page, @Nullable Integer size,
-		@Nullable String sort) {
+		@Nullable String sort, @Nullable Boolean exactCount) {
 }
\ No newline at end of file
@@ -7,7 +7,8 @@ import org.jilt.BuilderStyle;
 
 @Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
 public record JobSpecificStatistics(String jobName, long totalExecutions, Map<JobStatus, Long> executionsByStatus,
-		double averageDuration, // in seconds
+		// durations in seconds
+		double averageDuration, double durationP50, double durationP90, double durationP99, double maxDuration,
 		LocalDateTime lastExecutionTime, double successRate // percentage
 ) {
-}
\ No newline at end of file
+}
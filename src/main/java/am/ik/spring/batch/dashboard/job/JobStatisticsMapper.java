@@ -1,9 +1,16 @@
 package am.ik.spring.batch.dashboard.job;
 
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.jdbc.Predicates;
+import am.ik.spring.batch.dashboard.rollup.DurationHistogram;
+import am.ik.spring.batch.dashboard.rollup.RollupProperties;
+import am.ik.spring.batch.dashboard.snapshot.ExecutionSnapshot;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -11,22 +18,58 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class JobStatisticsMapper {
 
-	private final JdbcClient jdbcClient;
+	// p50, p90, p99 and max bucket of DASHBOARD_JOB_DURATION_HISTOGRAM for :jobName
+	private static final String DURATION_PERCENTILES_FROM_ROLLUP = """
+			duration_histogram AS (
+			    SELECT
+			        h.BUCKET,
+			        SUM(h.EXECUTION_COUNT) OVER (ORDER BY h.BUCKET) AS cumulative,
+			        SUM(h.EXECUTION_COUNT) OVER () AS total
+			    FROM
+			        DASHBOARD_JOB_DURATION_HISTOGRAM h
+			    WHERE
+			        h.JOB_NAME = :jobName
+			    AND h.EXECUTION_COUNT > 0
+			),
+			duration_percentiles AS (
+			    SELECT
+			        MIN(dh.BUCKET) FILTER (WHERE dh.cumulative >= 0.5 * dh.total) AS p50,
+			        MIN(dh.BUCKET) FILTER (WHERE dh.cumulative >= 0.9 * dh.total) AS p90,
+			        MIN(dh.BUCKET) FILTER (WHERE dh.cumulative >= 0.99 * dh.total) AS p99,
+			        MAX(dh.BUCKET) AS max
+			    FROM
+			        duration_histogram dh
+			)
+			""";
+
+	private final JdbcClientRouter jdbcClientRouter;
 
 	private final ObjectMapper objectMapper;
 
-	public JobStatisticsMapper(JdbcClient jdbcClient, ObjectMapper objectMapper) {
-		this.jdbcClient = jdbcClient;
+	private final RollupProperties rollupProperties;
+
+	@Nullable
+	private final ExecutionSnapshot executionSnapshot;
+
+	public JobStatisticsMapper(JdbcClientRouter jdbcClientRouter, ObjectMapper objectMapper,
+			RollupProperties rollupProperties, @Nullable ExecutionSnapshot executionSnapshot) {
+		this.jdbcClientRouter = jdbcClientRouter;
 		this.objectMapper = objectMapper;
+		this.rollupProperties = rollupProperties;
+		this.executionSnapshot = executionSnapshot;
 	}
 
 	public JobStatistics getJobStatistics(int days) {
-		return this.jdbcClient.sql("""
+		if (this.rollupProperties.enabled()) {
+			return getJobStatisticsFromRollup(days);
+		}
+		return jdbcClient("getJobStatistics").sql("""
 				WITH job_stats AS (
 				    SELECT
 				        COUNT(DISTINCT ji.JOB_NAME) AS totalJobs
@@ -80,38 +123,14 @@ public class JobStatisticsMapper {
 				    (SELECT json_agg(ds.*) FROM daily_stats ds) AS dailyStats
 				FROM
 				    job_stats js;
-				""".formatted(days, days)).query((rs, rowNum) -> {
-			try {
-				Map<JobStatus, Long> jobsByStatus = null;
-				List<DailyJobStats> recentJobStatuses = null;
-				String statusCountsJson = rs.getString("statusCounts");
-				if (statusCountsJson != null) {
-					List<StatusCount> statusCounts = objectMapper.readValue(statusCountsJson, new TypeReference<>() {
-					});
-					if (statusCounts != null) {
-						jobsByStatus = statusCounts.stream()
-							.collect(Collectors.toMap(StatusCount::status, StatusCount::count, (a, b) -> a));
-					}
-				}
-				String dailyStatsJson = rs.getString("dailyStats");
-				if (dailyStatsJson != null) {
-					recentJobStatuses = objectMapper.readValue(dailyStatsJson, new TypeReference<>() {
-					});
-				}
-				return JobStatisticsBuilder.jobStatistics()
-					.totalJobs(rs.getLong("totalJobs"))
-					.jobsByStatus(Objects.requireNonNullElseGet(jobsByStatus, Map::of))
-					.recentJobStatuses(Objects.requireNonNullElseGet(recentJobStatuses, List::of))
-					.build();
-			}
-			catch (IOException e) {
-				throw new UncheckedIOException(e);
-			}
-		}).single();
+				""".formatted(days, days)).query(this::mapJobStatistics).single();
 	}
 
 	public Optional<JobSpecificStatistics> getJobStatisticsByJobName(String jobName) {
-		return this.jdbcClient.sql("""
+		if (this.rollupProperties.enabled()) {
+			return getJobStatisticsByJobNameFromRollup(jobName);
+		}
+		return jdbcClient("getJobStatisticsByJobName").sql("""
 				WITH job_data AS (
 				    SELECT
 				        je.JOB_EXECUTION_ID,
@@ -131,6 +150,10 @@ public class JobStatisticsMapper {
 				        COUNT(*) AS totalExecutions,
 				        MAX(START_TIME) AS lastExecutionTime,
 				        AVG(duration_seconds) FILTER (WHERE duration_seconds IS NOT NULL) AS averageDuration,
+				        percentile_cont(0.5) WITHIN GROUP (ORDER BY duration_seconds) AS durationP50,
+				        percentile_cont(0.9) WITHIN GROUP (ORDER BY duration_seconds) AS durationP90,
+				        percentile_cont(0.99) WITHIN GROUP (ORDER BY duration_seconds) AS durationP99,
+				        MAX(duration_seconds) AS maxDuration,
 				        COUNT(*) FILTER (WHERE STATUS = 'COMPLETED') AS completedCount,
 				        (COUNT(*) FILTER (WHERE STATUS = 'COMPLETED') * 100.0 /
 				         NULLIF(COUNT(*), 0)) AS successRate
@@ -151,43 +174,31 @@ public class JobStatisticsMapper {
 				    ts.totalExecutions,
 				    ts.lastExecutionTime,
 				    ts.averageDuration,
+				    ts.durationP50,
+				    ts.durationP90,
+				    ts.durationP99,
+				    ts.maxDuration,
 				    ts.successRate,
 				    json_agg(ss.*) AS executionsByStatus
 				FROM
 				    total_stats ts
 				CROSS JOIN LATERAL (SELECT * FROM status_stats) ss
 				GROUP BY
-				    ts.totalExecutions, ts.lastExecutionTime, ts.averageDuration, ts.successRate
-				""").param("jobName", jobName).query((rs, rowNum) -> {
-			try {
-				Map<JobStatus, Long> executionsByStatus = null;
-				String executionsByStatusJson = rs.getString("executionsByStatus");
-				if (executionsByStatusJson != null) {
-					List<StatusCount> statusCounts = objectMapper.readValue(executionsByStatusJson,
-							new TypeReference<>() {
-							});
-					if (statusCounts != null) {
-						executionsByStatus = statusCounts.stream()
-							.collect(Collectors.toMap(StatusCount::status, StatusCount::count, (a, b) -> a));
-					}
-				}
-				return JobSpecificStatisticsBuilder.jobSpecificStatistics()
-					.jobName(rs.getString("jobName"))
-					.totalExecutions(rs.getLong("totalExecutions"))
-					.executionsByStatus(Objects.requireNonNullElseGet(executionsByStatus, Map::of))
-					.averageDuration(rs.getDouble("averageDuration"))
-					.lastExecutionTime(rs.getObject("lastExecutionTime", LocalDateTime.class))
-					.successRate(rs.getDouble("successRate"))
-					.build();
-			}
-			catch (IOException e) {
-				throw new UncheckedIOException(e);
-			}
-		}).optional();
+				    ts.totalExecutions, ts.lastExecutionTime, ts.averageDuration, ts.durationP50, ts.durationP90,
+				    ts.durationP99, ts.maxDuration, ts.successRate
+				""").param("jobName", jobName).query(this::mapJobSpecificStatistics).optional();
 	}
 
 	public List<JobExecutionStats> getJobExecutionStats(int days) {
-		return this.jdbcClient.sql("""
+		List<JobExecutionStats> fromSnapshot = this.executionSnapshot == null ? null
+				: this.executionSnapshot.getJobExecutionStats(days);
+		if (fromSnapshot != null) {
+			return fromSnapshot;
+		}
+		if (this.rollupProperties.enabled()) {
+			return getJobExecutionStatsFromRollup(days);
+		}
+		return jdbcClient("getJobExecutionStats").sql("""
 				SELECT
 				    ji.JOB_NAME AS jobName,
 				    COUNT(je.JOB_EXECUTION_ID) AS executions
@@ -206,6 +217,347 @@ public class JobStatisticsMapper {
 				""".formatted(days)).query(JobExecutionStats.class).list();
 	}
 
+	JobStatistics getJobStatisticsFromRollup(int days) {
+		return jdbcClient("getJobStatistics").sql("""
+				WITH status_counts AS (
+				    SELECT
+				        r.STATUS,
+				        SUM(r.EXECUTION_COUNT) AS count
+				    FROM
+				        DASHBOARD_JOB_EXECUTION_ROLLUP r
+				    GROUP BY
+				        r.STATUS
+				    HAVING
+				        SUM(r.EXECUTION_COUNT) > 0
+				),
+				daily_stats AS (
+				    SELECT
+				        r.DAY AS date,
+				        COALESCE(SUM(r.EXECUTION_COUNT) FILTER (WHERE r.STATUS = 'COMPLETED'), 0) AS completed,
+				        COALESCE(SUM(r.EXECUTION_COUNT) FILTER (WHERE r.STATUS = 'FAILED'), 0) AS failed,
+				        COALESCE(SUM(r.EXECUTION_COUNT) FILTER (WHERE r.STATUS = 'ABANDONED'), 0) AS abandoned
+				    FROM
+				        DASHBOARD_JOB_EXECUTION_ROLLUP r
+				    WHERE
+				        r.DAY >= CURRENT_DATE - INTERVAL '%d days'
+				    GROUP BY
+				        r.DAY
+				    ORDER BY
+				        date DESC
+				    LIMIT %d
+				)
+				SELECT
+				    (SELECT COUNT(*) FROM DASHBOARD_JOB_NAME) AS totalJobs,
+				    (SELECT json_agg(sc.*) FROM status_counts sc) AS statusCounts,
+				    (SELECT json_agg(ds.*) FROM daily_stats ds) AS dailyStats
+				""".formatted(days, days)).query(this::mapJobStatistics).single();
+	}
+
+	Optional<JobSpecificStatistics> getJobStatisticsByJobNameFromRollup(String jobName) {
+		return jdbcClient("getJobStatisticsByJobName").sql("""
+				WITH status_stats AS (
+				    SELECT
+				        r.STATUS,
+				        SUM(r.EXECUTION_COUNT) AS count,
+				        SUM(r.DURATION_COUNT) AS duration_count,
+				        SUM(r.DURATION_SECONDS_SUM) AS duration_seconds_sum,
+				        MAX(r.LAST_START_TIME) AS last_start_time
+				    FROM
+				        DASHBOARD_JOB_EXECUTION_ROLLUP r
+				    WHERE
+				        r.JOB_NAME = :jobName
+				    GROUP BY
+				        r.STATUS
+				    HAVING
+				        SUM(r.EXECUTION_COUNT) > 0
+				),
+				%s
+				SELECT
+				    :jobName AS jobName,
+				    SUM(ss.count) AS totalExecutions,
+				    MAX(ss.last_start_time) AS lastExecutionTime,
+				    SUM(ss.duration_seconds_sum) / NULLIF(SUM(ss.duration_count), 0) AS averageDuration,
+				    2 * POWER(:gamma, dp.p50) / (:gamma + 1) / 1000 AS durationP50,
+				    2 * POWER(:gamma, dp.p90) / (:gamma + 1) / 1000 AS durationP90,
+				    2 * POWER(:gamma, dp.p99) / (:gamma + 1) / 1000 AS durationP99,
+				    2 * POWER(:gamma, dp.max) / (:gamma + 1) / 1000 AS maxDuration,
+				    (COALESCE(SUM(ss.count) FILTER (WHERE ss.STATUS = 'COMPLETED'), 0) * 100.0 /
+				     NULLIF(SUM(ss.count), 0)) AS successRate,
+				    json_agg(json_build_object('status', ss.STATUS, 'count', ss.count)) AS executionsByStatus
+				FROM
+				    status_stats ss
+				CROSS JOIN
+				    duration_percentiles dp
+				GROUP BY
+				    dp.p50, dp.p90, dp.p99, dp.max
+				""".formatted(DURATION_PERCENTILES_FROM_ROLLUP))
+			.param("jobName", jobName)
+			.param("gamma", DurationHistogram.GAMMA)
+			.query(this::mapJobSpecificStatistics)
+			.optional();
+	}
+
+	/**
+	 * Duration statistics of every step of a job, counting the step executions started in
+	 * the last {@code days}.
+	 */
+	public List<StepDurationStatistics> getStepDurationStatistics(String jobName, int days) {
+		return jdbcClient("getStepDurationStatistics").sql("""
+				WITH step_data AS (
+				    SELECT
+				        se.STEP_EXECUTION_ID,
+				        se.STEP_NAME,
+				        EXTRACT(EPOCH FROM (se.END_TIME - se.START_TIME)) AS duration_seconds
+				    FROM
+				        BATCH_STEP_EXECUTION se
+				    JOIN
+				        BATCH_JOB_EXECUTION je ON se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				    JOIN
+				        BATCH_JOB_INSTANCE ji ON je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				    WHERE
+				        ji.JOB_NAME = :jobName
+				    AND je.START_TIME >= CURRENT_DATE - INTERVAL '%d days'
+				    AND se.END_TIME IS NOT NULL
+				)
+				SELECT
+				    STEP_NAME AS stepName,
+				    COUNT(*) AS executions,
+				    AVG(duration_seconds) AS averageDuration,
+				    percentile_cont(0.5) WITHIN GROUP (ORDER BY duration_seconds) AS durationP50,
+				    percentile_cont(0.9) WITHIN GROUP (ORDER BY duration_seconds) AS durationP90,
+				    percentile_cont(0.99) WITHIN GROUP (ORDER BY duration_seconds) AS durationP99,
+				    MAX(duration_seconds) AS maxDuration
+				FROM
+				    step_data
+				GROUP BY
+				    STEP_NAME
+				ORDER BY
+				    MIN(STEP_EXECUTION_ID)
+				""".formatted(days)).param("jobName", jobName).query(StepDurationStatistics.class).list();
+	}
+
+	/**
+	 * Finished executions started in the last {@code days} that took longer than the p99
+	 * duration of all executions of the job. Empty if the job has no finished executions.
+	 */
+	public Optional<DurationOutliers> getDurationOutliers(String jobName, int days, int limit) {
+		Double durationP99 = this.rollupProperties.enabled() ? jdbcClient("getDurationOutliers").sql("""
+				WITH %s
+				SELECT
+				    2 * POWER(:gamma, dp.p99) / (:gamma + 1) / 1000
+				FROM
+				    duration_percentiles dp
+				""".formatted(DURATION_PERCENTILES_FROM_ROLLUP))
+			.param("jobName", jobName)
+			.param("gamma", DurationHistogram.GAMMA)
+			.query(Double.class)
+			.optional()
+			.orElse(null) : jdbcClient("getDurationOutliers").sql("""
+					SELECT
+					    percentile_cont(0.99) WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM (je.END_TIME - je.START_TIME)))
+					FROM
+					    BATCH_JOB_EXECUTION je
+					    JOIN
+					        BATCH_JOB_INSTANCE ji
+					    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+					WHERE
+					    ji.JOB_NAME = :jobName
+					""").param("jobName", jobName).query(Double.class).optional().orElse(null);
+		if (durationP99 == null) {
+			return Optional.empty();
+		}
+		List<DurationOutliers.Execution> executions = jdbcClient("getDurationOutliers").sql("""
+				SELECT
+				    je.JOB_EXECUTION_ID,
+				    je.START_TIME,
+				    je.END_TIME,
+				    je.STATUS,
+				    je.EXIT_CODE,
+				    EXTRACT(EPOCH FROM (je.END_TIME - je.START_TIME)) AS DURATION_SECONDS
+				FROM
+				    BATCH_JOB_EXECUTION je
+				    JOIN
+				        BATCH_JOB_INSTANCE ji
+				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				WHERE
+				    ji.JOB_NAME = :jobName
+				AND je.START_TIME >= CURRENT_DATE - INTERVAL '%d days'
+				AND je.END_TIME - je.START_TIME > make_interval(secs => :durationP99)
+				ORDER BY
+				    DURATION_SECONDS DESC
+				LIMIT :limit
+				""".formatted(days))
+			.param("jobName", jobName)
+			.param("durationP99", durationP99)
+			.param("limit", limit)
+			.query(DurationOutliers.Execution.class)
+			.list();
+		return Optional.of(new DurationOutliers(jobName, durationP99, executions));
+	}
+
+	/**
+	 * Reads the failure clusters maintained by the {@code FailureSignatureUpdater}, most
+	 * failures first.
+	 */
+	public List<FailureCluster> getFailureClusters(int days, @Nullable String jobName, int limit, int samples) {
+		Predicates predicates = new Predicates()
+			.add("d.DAY >= CURRENT_DATE - INTERVAL '%d days'".formatted(days), Map.of())
+			.add("d.JOB_NAME = :jobName", "jobName", jobName);
+		return jdbcClient("getFailureClusters")
+			.sql("""
+					WITH clusters AS (
+					    SELECT
+					        d.SIGNATURE,
+					        SUM(d.FAILURE_COUNT) AS FAILURES,
+					        array_agg(DISTINCT d.JOB_NAME) AS JOB_NAMES,
+					        MIN(d.FIRST_SEEN) AS FIRST_SEEN,
+					        MAX(d.LAST_SEEN) AS LAST_SEEN
+					    FROM
+					        DASHBOARD_FAILURE_SIGNATURE_DAILY d
+					    %s
+					    GROUP BY
+					        d.SIGNATURE
+					    ORDER BY
+					        FAILURES DESC,
+					        LAST_SEEN DESC
+					    LIMIT :limit
+					)
+					SELECT
+					    c.SIGNATURE,
+					    s.EXIT_CODE,
+					    s.NORMALIZED_MESSAGE,
+					    c.FAILURES,
+					    c.JOB_NAMES,
+					    c.FIRST_SEEN,
+					    c.LAST_SEEN,
+					    (
+					        SELECT
+					            array_agg(recent.JOB_EXECUTION_ID ORDER BY recent.FAILED_AT DESC)
+					        FROM
+					            (
+					                SELECT
+					                    m.JOB_EXECUTION_ID,
+					                    m.FAILED_AT
+					                FROM
+					                    DASHBOARD_FAILURE_SIGNATURE_MEMBER m
+					                WHERE
+					                    m.SIGNATURE = c.SIGNATURE
+					                AND m.FAILED_AT >= c.FIRST_SEEN
+					                %s
+					                ORDER BY
+					                    m.FAILED_AT DESC
+					                LIMIT :samples
+					            ) recent
+					    ) AS SAMPLE_JOB_EXECUTION_IDS
+					FROM
+					    clusters c
+					    JOIN
+					        DASHBOARD_FAILURE_SIGNATURE s
+					    ON  s.SIGNATURE = c.SIGNATURE
+					ORDER BY
+					    c.FAILURES DESC,
+					    c.LAST_SEEN DESC
+					""".formatted(predicates.toWhereClause().replace("\n", "\n    "),
+					jobName == null ? "" : "AND m.JOB_NAME = :jobName"))
+			.params(predicates.params())
+			.param("limit", limit)
+			.param("samples", samples)
+			.query((rs, rowNum) -> FailureClusterBuilder.failureCluster()
+				.signature(rs.getString("SIGNATURE"))
+				.exitCode(rs.getString("EXIT_CODE"))
+				.normalizedMessage(rs.getString("NORMALIZED_MESSAGE"))
+				.failures(rs.getLong("FAILURES"))
+				.jobNames(List.of((String[]) rs.getArray("JOB_NAMES").getArray()))
+				.firstSeen(rs.getObject("FIRST_SEEN", LocalDateTime.class))
+				.lastSeen(rs.getObject("LAST_SEEN", LocalDateTime.class))
+				.sampleJobExecutionIds(rs.getArray("SAMPLE_JOB_EXECUTION_IDS") == null ? List.of()
+						: List.of((Long[]) rs.getArray("SAMPLE_JOB_EXECUTION_IDS").getArray()))
+				.build())
+			.list();
+	}
+
+	List<JobExecutionStats> getJobExecutionStatsFromRollup(int days) {
+		return jdbcClient("getJobExecutionStats").sql("""
+				SELECT
+				    r.JOB_NAME AS jobName,
+				    SUM(r.EXECUTION_COUNT) AS executions
+				FROM
+				    DASHBOARD_JOB_EXECUTION_ROLLUP r
+				WHERE
+				    r.DAY >= CURRENT_DATE - INTERVAL '%d days'
+				GROUP BY
+				    r.JOB_NAME
+				HAVING
+				    SUM(r.EXECUTION_COUNT) > 0
+				ORDER BY
+				    executions DESC,
+				    jobName
+				""".formatted(days)).query(JobExecutionStats.class).list();
+	}
+
+	private JobStatistics mapJobStatistics(ResultSet rs, int rowNum) throws SQLException {
+		try {
+			Map<JobStatus, Long> jobsByStatus = null;
+			List<DailyJobStats> recentJobStatuses = null;
+			String statusCountsJson = rs.getString("statusCounts");
+			if (statusCountsJson != null) {
+				List<StatusCount> statusCounts = objectMapper.readValue(statusCountsJson, new TypeReference<>() {
+				});
+				if (statusCounts != null) {
+					jobsByStatus = statusCounts.stream()
+						.collect(Collectors.toMap(StatusCount::status, StatusCount::count, (a, b) -> a));
+				}
+			}
+			String dailyStatsJson = rs.getString("dailyStats");
+			if (dailyStatsJson != null) {
+				recentJobStatuses = objectMapper.readValue(dailyStatsJson, new TypeReference<>() {
+				});
+			}
+			return JobStatisticsBuilder.jobStatistics()
+				.totalJobs(rs.getLong("totalJobs"))
+				.jobsByStatus(Objects.requireNonNullElseGet(jobsByStatus, Map::of))
+				.recentJobStatuses(Objects.requireNonNullElseGet(recentJobStatuses, List::of))
+				.build();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private JobSpecificStatistics mapJobSpecificStatistics(ResultSet rs, int rowNum) throws SQLException {
+		try {
+			Map<JobStatus, Long> executionsByStatus = null;
+			String executionsByStatusJson = rs.getString("executionsByStatus");
+			if (executionsByStatusJson != null) {
+				List<StatusCount> statusCounts = objectMapper.readValue(executionsByStatusJson, new TypeReference<>() {
+				});
+				if (statusCounts != null) {
+					executionsByStatus = statusCounts.stream()
+						.collect(Collectors.toMap(StatusCount::status, StatusCount::count, (a, b) -> a));
+				}
+			}
+			return JobSpecificStatisticsBuilder.jobSpecificStatistics()
+				.jobName(rs.getString("jobName"))
+				.totalExecutions(rs.getLong("totalExecutions"))
+				.executionsByStatus(Objects.requireNonNullElseGet(executionsByStatus, Map::of))
+				.averageDuration(rs.getDouble("averageDuration"))
+				.durationP50(rs.getDouble("durationP50"))
+				.durationP90(rs.getDouble("durationP90"))
+				.durationP99(rs.getDouble("durationP99"))
+				.maxDuration(rs.getDouble("maxDuration"))
+				.lastExecutionTime(rs.getObject("lastExecutionTime", LocalDateTime.class))
+				.successRate(rs.getDouble("successRate"))
+				.build();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private JdbcClient jdbcClient(String method) {
+		return this.jdbcClientRouter.route("JobStatisticsMapper." + method);
+	}
+
 	public record StatusCount(JobStatus status, Long count) {
 	}
 
@@ -3,7 +3,9 @@ package am.ik.spring.batch.dashboard.job;
 import java.util.List;
 import org.jilt.Builder;
 import org.jilt.BuilderStyle;
+import org.springframework.lang.Nullable;
 
 @Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
-public record PageResponse<T>(List<T> content, int page, int size, long totalElements, int totalPages) {
+public record PageResponse<T>(List<T> content, int page, int size, long totalElements, boolean totalElementsExact,
+		int totalPages, @Nullable String nextCursor) {
 }
@@ -0,0 +1,20 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Version of a response body derived from cheap markers of the rows behind it.
+ *
+ * @param tag changes whenever the body may have changed
+ * @param immutable the body can no longer change, e.g. a completed execution
+ */
+public record ResourceVersion(String tag, boolean immutable) {
+
+	public static ResourceVersion of(boolean immutable, Object... markers) {
+		return new ResourceVersion(
+				DigestUtils.md5DigestAsHex(Arrays.deepToString(markers).getBytes(StandardCharsets.UTF_8)), immutable);
+	}
+
+}
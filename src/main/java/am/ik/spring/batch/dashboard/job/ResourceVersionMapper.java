@@ -0,0 +1,253 @@
+package am.ik.spring.batch.dashboard.job;
+
+import am.ik.spring.batch.dashboard.archive.ArchiveProperties;
+import am.ik.spring.batch.dashboard.index.IndexCatalog;
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.snapshot.ExecutionSnapshot;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Probes the versions of the read API responses, so that conditional requests can be
+ * answered without running the queries behind them. Each probe reads from the same
+ * database as the query it stands for, so that a lagging replica does not pair an old
+ * body with a new version.
+ */
+@Repository
+public class ResourceVersionMapper {
+
+	// an operator can still abandon a FAILED or STOPPED job execution
+	private static final Set<String> FINAL_JOB_STATUSES = Set.of("COMPLETED", "ABANDONED");
+
+	private static final Set<String> FINAL_STEP_STATUSES = Set.of("COMPLETED", "FAILED", "STOPPED", "ABANDONED");
+
+	private static final List<String> LAST_UPDATED = List.of("LAST_UPDATED");
+
+	private final JdbcClientRouter jdbcClientRouter;
+
+	private final ArchiveProperties archiveProperties;
+
+	private final IndexCatalog indexCatalog;
+
+	@Nullable
+	private final ExecutionSnapshot executionSnapshot;
+
+	public ResourceVersionMapper(JdbcClientRouter jdbcClientRouter, ArchiveProperties archiveProperties,
+			IndexCatalog indexCatalog, @Nullable ExecutionSnapshot executionSnapshot) {
+		this.jdbcClientRouter = jdbcClientRouter;
+		this.archiveProperties = archiveProperties;
+		this.indexCatalog = indexCatalog;
+		this.executionSnapshot = executionSnapshot;
+	}
+
+	/**
+	 * Version of the job execution lists and of everything else that is read from all job
+	 * executions. New, updated and archived executions move it, deleted ones do not.
+	 * @param readsWith route of the query the version stands for
+	 * @return empty if the latest change cannot be found without scanning all job
+	 * executions
+	 */
+	public Optional<ResourceVersion> getJobExecutionsVersion(String readsWith) {
+		return lastUpdated("getJobExecutionsVersion", readsWith).map(lastUpdated -> {
+			Long lastId = jdbcClient("getJobExecutionsVersion", readsWith).sql("""
+					SELECT
+					    MAX(je.JOB_EXECUTION_ID)
+					FROM
+					    BATCH_JOB_EXECUTION je
+					""").query(Long.class).optional().orElse(null);
+			Long lastArchivedId = this.archiveProperties.enabled()
+					? jdbcClient("getJobExecutionsVersion", readsWith).sql("""
+							SELECT
+							    MAX(je.JOB_EXECUTION_ID)
+							FROM
+							    DASHBOARD_ARCHIVE_JOB_EXECUTION je
+							""").query(Long.class).optional().orElse(null) : null;
+			return ResourceVersion.of(false, "job-executions", lastUpdated, lastId, lastArchivedId);
+		});
+	}
+
+	/**
+	 * @return empty if the latest change cannot be found without scanning all job
+	 * executions
+	 */
+	public Optional<ResourceVersion> getJobInstancesVersion() {
+		String readsWith = "JobInstanceMapper.findJobInstances";
+		return lastUpdated("getJobInstancesVersion", readsWith).map(lastUpdated -> {
+			Long lastId = jdbcClient("getJobInstancesVersion", readsWith).sql("""
+					SELECT
+					    MAX(ji.JOB_INSTANCE_ID)
+					FROM
+					    BATCH_JOB_INSTANCE ji
+					""").query(Long.class).optional().orElse(null);
+			return ResourceVersion.of(false, "job-instances", lastUpdated, lastId);
+		});
+	}
+
+	/**
+	 * The latest change to the job executions, from the snapshot when it is enabled, as
+	 * it follows {@code LAST_UPDATED} anyway, or from an index on {@code LAST_UPDATED}.
+	 */
+	private Optional<String> lastUpdated(String method, String readsWith) {
+		if (this.executionSnapshot != null) {
+			LocalDateTime watermark = this.executionSnapshot.watermark();
+			return watermark == null ? Optional.empty() : Optional.of("snapshot:" + watermark);
+		}
+		if (!this.indexCatalog.covers("BATCH_JOB_EXECUTION", LAST_UPDATED)) {
+			return Optional.empty();
+		}
+		LocalDateTime lastUpdated = jdbcClient(method, readsWith).sql("""
+				SELECT
+				    MAX(je.LAST_UPDATED)
+				FROM
+				    BATCH_JOB_EXECUTION je
+				""").query(LocalDateTime.class).optional().orElse(null);
+		return Optional.of(String.valueOf(lastUpdated));
+	}
+
+	public Optional<ResourceVersion> getJobInstanceVersion(long jobInstanceId) {
+		return jdbcClient("getJobInstanceVersion", "JobInstanceMapper.getJobInstanceDetail").sql("""
+				SELECT
+				    ji.VERSION,
+				    MAX(je.LAST_UPDATED) AS LAST_UPDATED,
+				    COUNT(je.JOB_EXECUTION_ID) AS EXECUTIONS
+				FROM
+				    BATCH_JOB_INSTANCE ji
+				    LEFT JOIN
+				        BATCH_JOB_EXECUTION je
+				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				WHERE
+				    ji.JOB_INSTANCE_ID = :jobInstanceId
+				GROUP BY
+				    ji.VERSION
+				""")
+			.param("jobInstanceId", jobInstanceId)
+			.query(JobInstanceVersion.class)
+			.optional()
+			.map(version -> ResourceVersion.of(false, "job-instance", jobInstanceId, version));
+	}
+
+	/**
+	 * Falls back to the archive for executions that have been archived.
+	 */
+	public Optional<ResourceVersion> getJobExecutionVersion(long jobExecutionId) {
+		return getJobExecutionVersion(jobExecutionId, ExecutionSource.LIVE).or(() -> this.archiveProperties.enabled()
+				? getJobExecutionVersion(jobExecutionId, ExecutionSource.ARCHIVE) : Optional.empty())
+			.map(version -> jobExecutionVersion(List.of(version)));
+	}
+
+	/**
+	 * Version of {@link JobExecutionMapper#getJobExecutionDetails(Collection)}, which
+	 * only reads live executions.
+	 */
+	public ResourceVersion getJobExecutionVersions(Collection<Long> jobExecutionIds) {
+		return jobExecutionVersion(getJobExecutionVersions(jobExecutionIds, ExecutionSource.LIVE,
+				"JobExecutionMapper.getJobExecutionDetails"));
+	}
+
+	private Optional<JobExecutionVersion> getJobExecutionVersion(long jobExecutionId, ExecutionSource source) {
+		return getJobExecutionVersions(List.of(jobExecutionId), source, "JobExecutionMapper.getJobExecutionDetail")
+			.stream()
+			.findFirst();
+	}
+
+	private List<JobExecutionVersion> getJobExecutionVersions(Collection<Long> jobExecutionIds, ExecutionSource source,
+			String readsWith) {
+		// steps change while the job execution itself is not updated
+		return jdbcClient("getJobExecutionVersions", readsWith).sql("""
+				SELECT
+				    je.JOB_EXECUTION_ID,
+				    je.VERSION,
+				    je.STATUS,
+				    je.END_TIME,
+				    je.LAST_UPDATED,
+				    s.STEPS_LAST_UPDATED,
+				    s.STEPS
+				FROM
+				    %s je
+				    CROSS JOIN LATERAL (
+				        SELECT
+				            MAX(se.LAST_UPDATED) AS STEPS_LAST_UPDATED,
+				            COUNT(*) AS STEPS
+				        FROM
+				            %s se
+				        WHERE
+				            se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				    ) s
+				WHERE
+				    je.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				ORDER BY
+				    je.JOB_EXECUTION_ID
+				""".formatted(source.jobExecutions(), source.stepExecutions()))
+			.param("jobExecutionIds", new SqlArrayValue("bigint", jobExecutionIds.toArray()))
+			.query(JobExecutionVersion.class)
+			.list();
+	}
+
+	private static ResourceVersion jobExecutionVersion(List<JobExecutionVersion> versions) {
+		boolean immutable = versions.stream()
+			.allMatch(version -> version.endTime() != null && FINAL_JOB_STATUSES.contains(version.status()));
+		return ResourceVersion.of(immutable, "job-executions", versions);
+	}
+
+	/**
+	 * Falls back to the archive for step executions that have been archived.
+	 */
+	public Optional<ResourceVersion> getStepExecutionVersion(long stepExecutionId) {
+		return getStepExecutionVersion(stepExecutionId, ExecutionSource.LIVE)
+			.or(() -> this.archiveProperties.enabled()
+					? getStepExecutionVersion(stepExecutionId, ExecutionSource.ARCHIVE) : Optional.empty())
+			.map(version -> ResourceVersion.of(
+					version.endTime() != null && FINAL_STEP_STATUSES.contains(version.status())
+							&& version.jobEndTime() != null && FINAL_JOB_STATUSES.contains(version.jobStatus()),
+					"step-execution", version));
+	}
+
+	private Optional<StepExecutionVersion> getStepExecutionVersion(long stepExecutionId, ExecutionSource source) {
+		// the step detail also shows the status of its job execution
+		return jdbcClient("getStepExecutionVersion", "StepExecutionMapper.getStepExecutionDetail").sql("""
+				SELECT
+				    se.STEP_EXECUTION_ID,
+				    se.VERSION,
+				    se.STATUS,
+				    se.END_TIME,
+				    se.LAST_UPDATED,
+				    je.VERSION AS JOB_VERSION,
+				    je.STATUS AS JOB_STATUS,
+				    je.END_TIME AS JOB_END_TIME
+				FROM
+				    %s se
+				    JOIN
+				        %s je
+				    ON  se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				WHERE
+				    se.STEP_EXECUTION_ID = :stepExecutionId
+				""".formatted(source.stepExecutions(), source.jobExecutions()))
+			.param("stepExecutionId", stepExecutionId)
+			.query(StepExecutionVersion.class)
+			.optional();
+	}
+
+	private JdbcClient jdbcClient(String method, String readsWith) {
+		return this.jdbcClientRouter.route("ResourceVersionMapper." + method, readsWith);
+	}
+
+	public record JobInstanceVersion(int version, @Nullable LocalDateTime lastUpdated, long executions) {
+	}
+
+	public record JobExecutionVersion(long jobExecutionId, int version, String status, @Nullable LocalDateTime endTime,
+			LocalDateTime lastUpdated, @Nullable LocalDateTime stepsLastUpdated, long steps) {
+	}
+
+	public record StepExecutionVersion(long stepExecutionId, int version, String status,
+			@Nullable LocalDateTime endTime, LocalDateTime lastUpdated, int jobVersion, String jobStatus,
+			@Nullable LocalDateTime jobEndTime) {
+	}
+
+}
@@ -0,0 +1,233 @@
+package am.ik.spring.batch.dashboard.job;
+
+import am.ik.spring.batch.dashboard.index.IndexCatalog;
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.jdbc.LruCache;
+import am.ik.spring.batch.dashboard.jdbc.QueryDeadline;
+import am.ik.spring.batch.dashboard.rollup.RollupProperties;
+import am.ik.spring.batch.dashboard.snapshot.ExecutionSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the results of the {@link JobStatisticsMapper} queries. Before each lookup a
+ * single probe query reads the current version of the job repository (the rollup
+ * watermark when rollups are enabled, otherwise the latest {@code LAST_UPDATED} if it is
+ * indexed), and entries are keyed by that version. Without a cheap version nothing is
+ * cached. Failure clusters are keyed by {@link #failureSignatureVersion()} instead.
+ * Concurrent misses of the same entry share one load, unless it runs under a
+ * {@link QueryDeadline}. Hits and misses are published as {@code cache.gets}.
+ */
+@Component
+public class StatisticsCache {
+
+	private static final String CACHE_NAME = "statistics";
+
+	// the probe reads from the same database as the statistics, so that a lagging
+	// replica does not store old results under a new version
+	private static final String READS_WITH = "JobStatisticsMapper.getJobStatistics";
+
+	private final JdbcClientRouter jdbcClientRouter;
+
+	private final Clock clock;
+
+	private final StatisticsCacheProperties properties;
+
+	private final RollupProperties rollupProperties;
+
+	private final IndexCatalog indexCatalog;
+
+	@Nullable
+	private final ExecutionSnapshot executionSnapshot;
+
+	private final LruCache<CacheKey, Object> cache;
+
+	private final Map<CacheKey, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+	private final Counter hits;
+
+	private final Counter misses;
+
+	private volatile String version = "";
+
+	public StatisticsCache(JdbcClientRouter jdbcClientRouter, Clock clock, StatisticsCacheProperties properties,
+			RollupProperties rollupProperties, IndexCatalog indexCatalog, MeterRegistry meterRegistry,
+			@Nullable ExecutionSnapshot executionSnapshot) {
+		this.jdbcClientRouter = jdbcClientRouter;
+		this.clock = clock;
+		this.properties = properties;
+		this.rollupProperties = rollupProperties;
+		this.indexCatalog = indexCatalog;
+		this.executionSnapshot = executionSnapshot;
+		this.cache = new LruCache<>(properties.maxSize());
+		this.hits = Counter.builder("cache.gets")
+			.tag("cache", CACHE_NAME)
+			.tag("result", "hit")
+			.description("The number of times cache lookup methods have returned a cached value.")
+			.register(meterRegistry);
+		this.misses = Counter.builder("cache.gets")
+			.tag("cache", CACHE_NAME)
+			.tag("result", "miss")
+			.description("The number of times cache lookup methods have returned an uncached value.")
+			.register(meterRegistry);
+		meterRegistry.gauge("cache.size", Tags.of("cache", CACHE_NAME), this.cache, LruCache::size);
+	}
+
+	public <T> T get(String name, Object key, Supplier<T> loader) {
+		if (!this.properties.enabled()) {
+			return loader.get();
+		}
+		String currentVersion = currentVersion().orElse(null);
+		if (currentVersion != null && !currentVersion.equals(this.version)) {
+			this.cache.clear();
+			this.version = currentVersion;
+		}
+		return get(currentVersion, name, key, loader);
+	}
+
+	/**
+	 * Caches results that follow their own {@code version} instead of
+	 * {@link #currentVersion()}.
+	 */
+	public <T> T get(Optional<String> version, String name, Object key, Supplier<T> loader) {
+		if (!this.properties.enabled()) {
+			return loader.get();
+		}
+		return get(version.orElse(null), name, key, loader);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T get(@Nullable String version, String name, Object key, Supplier<T> loader) {
+		if (version == null) {
+			this.misses.increment();
+			return loader.get();
+		}
+		// a loader that overlaps a change stores its result under the version it started
+		// with, which is not looked up any more
+		CacheKey cacheKey = new CacheKey(version, name, key);
+		Object cached = this.cache.get(cacheKey);
+		if (cached != null) {
+			this.hits.increment();
+			return (T) cached;
+		}
+		this.misses.increment();
+		if (QueryDeadline.active()) {
+			// the deadline may cancel the load, which must not fail callers without one
+			CompletableFuture<Object> inFlight = this.loading.get(cacheKey);
+			if (inFlight != null) {
+				return (T) join(inFlight);
+			}
+			T value = loader.get();
+			this.cache.put(cacheKey, value);
+			return value;
+		}
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> inFlight = this.loading.putIfAbsent(cacheKey, load);
+		if (inFlight != null) {
+			return (T) join(inFlight);
+		}
+		try {
+			T value = loader.get();
+			this.cache.put(cacheKey, value);
+			load.complete(value);
+			return value;
+		}
+		catch (RuntimeException | Error e) {
+			load.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			this.loading.remove(cacheKey, load);
+		}
+	}
+
+	private static Object join(CompletableFuture<Object> load) {
+		try {
+			return load.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException ex) {
+				throw ex;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Also used as the {@code ETag} of the statistics.
+	 * @return empty if the latest change cannot be found without scanning all job
+	 * executions
+	 */
+	public Optional<String> currentVersion() {
+		String repositoryVersion;
+		if (this.rollupProperties.enabled()) {
+			repositoryVersion = this.jdbcClientRouter.route("StatisticsCache.currentVersion", READS_WITH).sql("""
+					SELECT
+					    STRING_AGG(NAME || ':' || LAST_UPDATED || ':' || LAST_ID || ':' || REVISION, ',' ORDER BY NAME)
+					FROM
+					    DASHBOARD_ROLLUP_STATE
+					""").query(String.class).optional().orElse("");
+		}
+		else if (this.indexCatalog.covers("BATCH_JOB_EXECUTION", List.of("LAST_UPDATED"))) {
+			repositoryVersion = this.jdbcClientRouter.route("StatisticsCache.currentVersion", READS_WITH).sql("""
+					SELECT
+					    MAX(LAST_UPDATED)::VARCHAR
+					FROM
+					    BATCH_JOB_EXECUTION
+					""").query(String.class).optional().orElse("");
+		}
+		else if (this.executionSnapshot != null && !this.jdbcClientRouter.useReplica(READS_WITH)) {
+			// the snapshot follows LAST_UPDATED of the primary without an index
+			repositoryVersion = "snapshot";
+		}
+		else {
+			return Optional.empty();
+		}
+		// the day is part of the version because the statistics cover the last N days
+		String version = LocalDate.now(this.clock) + "/" + repositoryVersion;
+		// recent executions statistics come from the snapshot, which lags behind
+		return Optional
+			.of(this.executionSnapshot == null ? version : version + "/" + this.executionSnapshot.watermark());
+	}
+
+	/**
+	 * Version of the failure clusters. They only change when the
+	 * {@code FailureSignatureUpdater} applies failures, which is some time after
+	 * {@link #currentVersion()} moves, so they are versioned by its state row instead.
+	 */
+	public Optional<String> failureSignatureVersion() {
+		return this.jdbcClientRouter
+			.route("StatisticsCache.failureSignatureVersion", "JobStatisticsMapper.getFailureClusters")
+			.sql("""
+					SELECT
+					    LAST_UPDATED || ':' || LAST_ID || ':' || REVISION
+					FROM
+					    DASHBOARD_ROLLUP_STATE
+					WHERE
+					    NAME = 'failure_signature'
+					""")
+			.query(String.class)
+			.optional()
+			// the clusters cover the last N days
+			.map(version -> LocalDate.now(this.clock) + "/" + version);
+	}
+
+	record CacheKey(String version, String name, Object key) {
+	}
+
+}
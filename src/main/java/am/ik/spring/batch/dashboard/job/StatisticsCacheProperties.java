@@ -0,0 +1,14 @@
+package am.ik.spring.batch.dashboard.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled caches the statistics responses until the job repository changes. Only
+ * takes effect with rollups, the execution snapshot or an index on
+ * {@code BATCH_JOB_EXECUTION (LAST_UPDATED)}, which tell changes apart without a scan.
+ * @param maxSize maximum number of cached responses
+ */
+@ConfigurationProperties(prefix = "dashboard.statistics-cache")
+public record StatisticsCacheProperties(@DefaultValue("true") boolean enabled, @DefaultValue("256") int maxSize) {
+}
@@ -0,0 +1,15 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.Nullable;
+
+/**
+ * The statistics page in one response. A part that failed or missed the deadline is
+ * {@code null} and its name is mapped to {@code failed} or {@code timeout} in
+ * {@code errors}, or to the reason it is missing.
+ */
+public record StatisticsSummary(@Nullable JobStatistics jobStatistics,
+		@Nullable List<JobExecutionStats> recentExecutions, @Nullable JobSpecificStatistics jobSpecificStatistics,
+		Map<String, String> errors) {
+}
@@ -0,0 +1,123 @@
+package am.ik.spring.batch.dashboard.job;
+
+import am.ik.spring.batch.dashboard.jdbc.QueryDeadline;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the queries of the statistics page concurrently on virtual threads, so that a
+ * summary takes as long as its slowest query instead of their sum. All queries share one
+ * deadline, which is also their {@link QueryDeadline}, so the database cancels a query
+ * that misses it instead of keeping a connection busy for a result nobody waits for.
+ */
+@Component
+public class StatisticsSummaryLoader implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(StatisticsSummaryLoader.class);
+
+	static final String TIMEOUT = "timeout";
+
+	static final String FAILED = "failed";
+
+	private final JobStatisticsMapper jobStatisticsMapper;
+
+	private final StatisticsCache statisticsCache;
+
+	private final StatisticsSummaryProperties properties;
+
+	private final ExecutorService executorService;
+
+	public StatisticsSummaryLoader(JobStatisticsMapper jobStatisticsMapper, StatisticsCache statisticsCache,
+			StatisticsSummaryProperties properties) {
+		this.jobStatisticsMapper = jobStatisticsMapper;
+		this.statisticsCache = statisticsCache;
+		this.properties = properties;
+		// propagates the current observation, so that the queries are traced as part of
+		// the request
+		ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+		this.executorService = ContextExecutorService.wrap(Executors.newVirtualThreadPerTaskExecutor(),
+				snapshotFactory::captureAll);
+	}
+
+	/**
+	 * @param jobName also loads the statistics of this job if not {@code null}
+	 */
+	public StatisticsSummary load(int days, @Nullable String jobName) {
+		long deadline = System.nanoTime() + this.properties.timeout().toNanos();
+		Future<JobStatistics> jobStatistics = submit("jobStatistics", days, deadline,
+				() -> this.jobStatisticsMapper.getJobStatistics(days));
+		Future<List<JobExecutionStats>> recentExecutions = submit("jobExecutionStats", days, deadline,
+				() -> this.jobStatisticsMapper.getJobExecutionStats(days));
+		Future<Optional<JobSpecificStatistics>> jobSpecificStatistics = jobName == null ? null
+				: submit("jobStatisticsByJobName", jobName, deadline,
+						() -> this.jobStatisticsMapper.getJobStatisticsByJobName(jobName));
+		Map<String, String> errors = new LinkedHashMap<>();
+		JobSpecificStatistics jobSpecific = null;
+		if (jobSpecificStatistics != null) {
+			Optional<JobSpecificStatistics> statistics = await("jobSpecificStatistics", jobSpecificStatistics, deadline,
+					errors);
+			if (statistics != null) {
+				jobSpecific = statistics.orElse(null);
+				if (jobSpecific == null) {
+					errors.put("jobSpecificStatistics", "Job statistics not found (jobName: " + jobName + ")");
+				}
+			}
+		}
+		return new StatisticsSummary(await("jobStatistics", jobStatistics, deadline, errors),
+				await("recentExecutions", recentExecutions, deadline, errors), jobSpecific, errors);
+	}
+
+	private <T> Future<T> submit(String name, Object key, long deadline, Supplier<T> loader) {
+		return this.executorService
+			.submit(() -> QueryDeadline.call(deadline, () -> this.statisticsCache.get(name, key, loader)));
+	}
+
+	@Nullable
+	private <T> T await(String name, Future<T> future, long deadline, Map<String, String> errors) {
+		try {
+			return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			errors.put(name, TIMEOUT);
+		}
+		catch (ExecutionException e) {
+			// the cause may reveal SQL or schema details, so it is only logged
+			if (e.getCause() instanceof QueryTimeoutException) {
+				log.info("Timed out loading {} after {}", name, this.properties.timeout(), e.getCause());
+				errors.put(name, TIMEOUT);
+			}
+			else {
+				log.warn("Failed to load {}", name, e.getCause());
+				errors.put(name, FAILED);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			errors.put(name, FAILED);
+		}
+		return null;
+	}
+
+	@Override
+	public void destroy() {
+		this.executorService.shutdownNow();
+	}
+
+}
@@ -0,0 +1,13 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param timeout deadline for all queries of a statistics summary. Queries that miss it
+ * are cancelled and reported in {@link StatisticsSummary#errors()}.
+ */
+@ConfigurationProperties(prefix = "dashboard.statistics-summary")
+public record StatisticsSummaryProperties(@DefaultValue("5s") Duration timeout) {
+}
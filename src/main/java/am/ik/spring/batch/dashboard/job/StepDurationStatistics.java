@@ -0,0 +1,6 @@
+package am.ik.spring.batch.dashboard.job;
+
+public record StepDurationStatistics(String stepName, long executions, double averageDuration, double durationP50,
+		double durationP90, double durationP99, double maxDuration // in seconds
+) {
+}
@@ -0,0 +1,12 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.LocalDateTime;
+import org.jilt.Builder;
+import org.jilt.BuilderStyle;
+import org.springframework.lang.Nullable;
+
+@Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
+public record StepExecutionEvent(long stepExecutionId, long version, long jobExecutionId, String stepName,
+		StepStatus status, long readCount, long writeCount, long filterCount, @Nullable LocalDateTime startTime,
+		@Nullable LocalDateTime endTime, LocalDateTime lastUpdated) {
+}
@@ -1,5 +1,13 @@
 package am.ik.spring.batch.dashboard.job;
 
+import am.ik.spring.batch.dashboard.archive.ArchiveProperties;
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.jdbc.Predicates;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
@@ -7,14 +15,27 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class StepExecutionMapper {
 
-	private final JdbcClient jdbcClient;
+	private static final long MAX_THROUGHPUT_BUCKETS = 5000;
 
-	public StepExecutionMapper(JdbcClient jdbcClient) {
-		this.jdbcClient = jdbcClient;
+	private final JdbcClientRouter jdbcClientRouter;
+
+	private final ArchiveProperties archiveProperties;
+
+	public StepExecutionMapper(JdbcClientRouter jdbcClientRouter, ArchiveProperties archiveProperties) {
+		this.jdbcClientRouter = jdbcClientRouter;
+		this.archiveProperties = archiveProperties;
 	}
 
+	/**
+	 * Falls back to the archive for step executions that have been archived.
+	 */
 	public Optional<StepExecutionDetail> getStepExecutionDetail(long stepExecutionId) {
-		return this.jdbcClient.sql("""
+		return getStepExecutionDetail(stepExecutionId, ExecutionSource.LIVE).or(() -> this.archiveProperties.enabled()
+				? getStepExecutionDetail(stepExecutionId, ExecutionSource.ARCHIVE) : Optional.empty());
+	}
+
+	private Optional<StepExecutionDetail> getStepExecutionDetail(long stepExecutionId, ExecutionSource source) {
+		return jdbcClient("getStepExecutionDetail").sql("""
 				SELECT
 				    se.STEP_EXECUTION_ID,
 				    se.JOB_EXECUTION_ID,
@@ -39,18 +60,149 @@ public class StepExecutionMapper {
 				    je.STATUS AS JOB_STATUS,
 				    ji.JOB_NAME
 				FROM
-				    BATCH_STEP_EXECUTION se
+				    %s se
 				    JOIN
-				        BATCH_JOB_EXECUTION je
+				        %s je
 				    ON  se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
 				    JOIN
-				        BATCH_JOB_INSTANCE ji
+				        %s ji
 				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
 				WHERE
 				    se.STEP_EXECUTION_ID = :stepExecutionId
 				ORDER BY
 				    se.END_TIME DESC
-				""").param("stepExecutionId", stepExecutionId).query(StepExecutionDetail.class).optional();
+				""".formatted(source.stepExecutions(), source.jobExecutions(), source.jobInstances()))
+			.param("stepExecutionId", stepExecutionId)
+			.query(StepExecutionDetail.class)
+			.optional();
+	}
+
+	/**
+	 * @param length number of {@code SERIALIZED_CONTEXT} characters to return, {@code 0}
+	 * for {@code SHORT_CONTEXT} only
+	 */
+	public Optional<StepExecutionContext> getStepExecutionContext(long stepExecutionId, int length) {
+		return getStepExecutionContext(stepExecutionId, length, ExecutionSource.LIVE)
+			.or(() -> this.archiveProperties.enabled()
+					? getStepExecutionContext(stepExecutionId, length, ExecutionSource.ARCHIVE) : Optional.empty());
+	}
+
+	private Optional<StepExecutionContext> getStepExecutionContext(long stepExecutionId, int length,
+			ExecutionSource source) {
+		return jdbcClient("getStepExecutionContext").sql("""
+				SELECT
+				    c.SHORT_CONTEXT,
+				    CASE
+				        WHEN :length > 0 THEN LEFT(c.SERIALIZED_CONTEXT, :length + 1)
+				    END AS SERIALIZED_CONTEXT,
+				    COALESCE(OCTET_LENGTH(c.SERIALIZED_CONTEXT), 0) AS SERIALIZED_CONTEXT_SIZE
+				FROM
+				    %s c
+				WHERE
+				    c.STEP_EXECUTION_ID = :stepExecutionId
+				""".formatted(source.stepExecutionContexts()))
+			.param("stepExecutionId", stepExecutionId)
+			.param("length", length)
+			.query((rs, rowNum) -> {
+				ExecutionContexts.Content content = ExecutionContexts.read(rs, length);
+				return StepExecutionContextBuilder.stepExecutionContext()
+					.stepExecutionId(stepExecutionId)
+					.shortContext(content.shortContext())
+					.serializedContext(content.serializedContext())
+					.serializedContextSize(content.serializedContextSize())
+					.serializedContextTruncated(content.serializedContextTruncated())
+					.keys(content.keys())
+					.build();
+			})
+			.optional();
+	}
+
+	public StepThroughput getStepThroughput(StepThroughputParams params, LocalDateTime now) {
+		ThroughputInterval interval = params.interval() == null ? ThroughputInterval.HOUR
+				: ThroughputInterval.from(params.interval());
+		LocalDateTime to = Objects.requireNonNullElse(params.to(), now);
+		LocalDateTime from = Objects.requireNonNullElse(params.from(), to.minusDays(7));
+		if (!from.isBefore(to)) {
+			throw new InvalidRequestException("from must be before to");
+		}
+		if (Duration.between(from, to).dividedBy(interval.duration()) > MAX_THROUGHPUT_BUCKETS) {
+			throw new InvalidRequestException("Too many buckets, narrow the time range or use a wider interval (max: "
+					+ MAX_THROUGHPUT_BUCKETS + ")");
+		}
+		// the START_TIME range comes first so that an index on (START_TIME) or
+		// (STEP_NAME, START_TIME) drives the scan
+		Predicates predicates = new Predicates().add("se.START_TIME >= :from", "from", from)
+			.add("se.START_TIME < :to", "to", to)
+			.add("se.END_TIME IS NOT NULL", Map.of())
+			.add("se.STEP_NAME = :stepName", "stepName", params.stepName())
+			.add("ji.JOB_NAME = :jobName", "jobName", params.jobName());
+		String join = params.jobName() == null ? "" : """
+				    JOIN
+				        BATCH_JOB_EXECUTION je
+				    ON  se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				    JOIN
+				        BATCH_JOB_INSTANCE ji
+				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				""";
+		List<ThroughputRow> rows = jdbcClient("getStepThroughput").sql("""
+				SELECT
+				    s.STEP_NAME,
+				    s.BUCKET,
+				    COUNT(*) AS EXECUTIONS,
+				    SUM(s.READ_COUNT) AS READ_COUNT,
+				    SUM(s.WRITE_COUNT) AS WRITE_COUNT,
+				    SUM(s.FILTER_COUNT) AS FILTER_COUNT,
+				    SUM(s.SKIP_COUNT) AS SKIP_COUNT,
+				    COALESCE(SUM(s.WRITE_COUNT) / NULLIF(SUM(s.DURATION), 0), 0) AS ITEMS_PER_SECOND,
+				    percentile_cont(0.5) WITHIN GROUP (ORDER BY s.DURATION) AS DURATION_P50,
+				    percentile_cont(0.9) WITHIN GROUP (ORDER BY s.DURATION) AS DURATION_P90,
+				    percentile_cont(0.99) WITHIN GROUP (ORDER BY s.DURATION) AS DURATION_P99
+				FROM
+				    (
+				        SELECT
+				            se.STEP_NAME,
+				            date_trunc('%s', se.START_TIME) AS BUCKET,
+				            se.READ_COUNT,
+				            se.WRITE_COUNT,
+				            se.FILTER_COUNT,
+				            se.READ_SKIP_COUNT + se.WRITE_SKIP_COUNT + se.PROCESS_SKIP_COUNT AS SKIP_COUNT,
+				            EXTRACT(EPOCH FROM se.END_TIME - se.START_TIME) AS DURATION
+				        FROM
+				            BATCH_STEP_EXECUTION se
+				        %s
+				        %s
+				    ) s
+				GROUP BY
+				    s.STEP_NAME,
+				    s.BUCKET
+				ORDER BY
+				    s.STEP_NAME,
+				    s.BUCKET
+				""".formatted(interval.field(), join, predicates.toWhereClause()))
+			.params(predicates.params())
+			.query(ThroughputRow.class)
+			.list();
+		return new StepThroughput(interval.field(), from, to,
+				rows.stream().map(ThroughputRow::stepName).toArray(String[]::new),
+				rows.stream().map(ThroughputRow::bucket).toArray(LocalDateTime[]::new),
+				rows.stream().mapToLong(ThroughputRow::executions).toArray(),
+				rows.stream().mapToLong(ThroughputRow::readCount).toArray(),
+				rows.stream().mapToLong(ThroughputRow::writeCount).toArray(),
+				rows.stream().mapToLong(ThroughputRow::filterCount).toArray(),
+				rows.stream().mapToLong(ThroughputRow::skipCount).toArray(),
+				rows.stream().mapToDouble(ThroughputRow::itemsPerSecond).toArray(),
+				rows.stream().mapToDouble(ThroughputRow::durationP50).toArray(),
+				rows.stream().mapToDouble(ThroughputRow::durationP90).toArray(),
+				rows.stream().mapToDouble(ThroughputRow::durationP99).toArray());
+	}
+
+	private JdbcClient jdbcClient(String method) {
+		return this.jdbcClientRouter.route("StepExecutionMapper." + method);
+	}
+
+	public record ThroughputRow(String stepName, LocalDateTime bucket, long executions, long readCount, long writeCount,
+			long filterCount, long skipCount, double itemsPerSecond, double durationP50, double durationP90,
+			double durationP99) {
 	}
 
 }
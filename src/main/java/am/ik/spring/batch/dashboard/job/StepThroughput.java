@@ -0,0 +1,14 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.LocalDateTime;
+
+/**
+ * Step execution throughput in columnar form. Row {@code i} of the series is the
+ * {@code i}-th element of every array, ordered by step name and bucket. Only finished
+ * step executions are counted, and {@code itemsPerSecond} is the written item count
+ * divided by the summed step duration.
+ */
+public record StepThroughput(String interval, LocalDateTime from, LocalDateTime to, String[] stepName,
+		LocalDateTime[] bucket, long[] executions, long[] readCount, long[] writeCount, long[] filterCount,
+		long[] skipCount, double[] itemsPerSecond, double[] durationP50, double[] durationP90, double[] durationP99) {
+}
@@ -0,0 +1,16 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.LocalDateTime;
+import org.jilt.Builder;
+import org.jilt.BuilderStyle;
+import org.springframework.lang.Nullable;
+
+/**
+ * @param interval bucket width, {@code hour} (default) or {@code day}
+ * @param from inclusive lower bound of the step start time, defaults to 7 days ago
+ * @param to exclusive upper bound of the step start time, defaults to now
+ */
+@Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
+public record StepThroughputParams(@Nullable String jobName, @Nullable String stepName, @Nullable String interval,
+		@Nullable LocalDateTime from, @Nullable LocalDateTime to) {
+}
@@ -0,0 +1,36 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.Duration;
+import java.util.Locale;
+
+public enum ThroughputInterval {
+
+	HOUR(Duration.ofHours(1)), DAY(Duration.ofDays(1));
+
+	private final Duration duration;
+
+	ThroughputInterval(Duration duration) {
+		this.duration = duration;
+	}
+
+	public Duration duration() {
+		return this.duration;
+	}
+
+	/**
+	 * The {@code date_trunc} field name.
+	 */
+	public String field() {
+		return name().toLowerCase(Locale.ROOT);
+	}
+
+	public static ThroughputInterval from(String interval) {
+		try {
+			return ThroughputInterval.valueOf(interval.toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Unsupported interval: " + interval + " (supported: hour, day)");
+		}
+	}
+
+}
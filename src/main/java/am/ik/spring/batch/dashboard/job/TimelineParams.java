@@ -0,0 +1,15 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.LocalDateTime;
+import org.jilt.Builder;
+import org.jilt.BuilderStyle;
+import org.springframework.lang.Nullable;
+
+/**
+ * @param from inclusive lower bound of the time range, defaults to 1 day before
+ * {@code to}
+ * @param to exclusive upper bound of the time range, defaults to now
+ */
+@Builder(style = BuilderStyle.STAGED_PRESERVING_ORDER)
+public record TimelineParams(@Nullable LocalDateTime from, @Nullable LocalDateTime to) {
+}
@@ -0,0 +1,20 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maxWindow widest time range of one timeline request
+ * @param lookback how long before the time range executions that are still running in it
+ * may have started. Older ones are not shown, so that the start time index bounds the
+ * scan.
+ * @param maxIntervals maximum number of job and step executions in one timeline, which
+ * bounds the memory used by a request
+ * @param fetchSize number of rows the JDBC driver fetches per round trip while the
+ * intervals are read
+ */
+@ConfigurationProperties(prefix = "dashboard.timeline")
+public record TimelineProperties(@DefaultValue("7d") Duration maxWindow, @DefaultValue("1d") Duration lookback,
+		@DefaultValue("1000000") int maxIntervals, @DefaultValue("1000") int fetchSize) {
+}
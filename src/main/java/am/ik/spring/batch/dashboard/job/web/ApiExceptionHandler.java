@@ -0,0 +1,38 @@
+package am.ik.spring.batch.dashboard.job.web;
+
+import am.ik.spring.batch.dashboard.job.ApiErrorBuilder;
+import am.ik.spring.batch.dashboard.job.InvalidRequestException;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers invalid parameters of the read APIs with {@code 400 Bad Request}.
+ */
+@RestControllerAdvice(assignableTypes = { JobExecutionController.class, StepExecutionController.class,
+		JobStatisticsController.class })
+public class ApiExceptionHandler {
+
+	private final Clock clock;
+
+	public ApiExceptionHandler(Clock clock) {
+		this.clock = clock;
+	}
+
+	@ExceptionHandler(InvalidRequestException.class)
+	public ResponseEntity<?> handleInvalidRequestException(InvalidRequestException e, HttpServletRequest request) {
+		return ResponseEntity.badRequest()
+			.body(ApiErrorBuilder.apiError()
+				.timestamp(LocalDateTime.now(this.clock))
+				.status(HttpStatus.BAD_REQUEST.value())
+				.error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+				.message(e.getMessage())
+				.path(request.getRequestURI())
+				.build());
+	}
+
+}
@@ -0,0 +1,93 @@
+package am.ik.spring.batch.dashboard.job.web;
+
+import am.ik.spring.batch.dashboard.job.HttpCacheProperties;
+import am.ik.spring.batch.dashboard.job.ResourceVersion;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Answers conditional {@code GET} requests of the read APIs. The {@code ETag} is derived
+ * from a {@link ResourceVersion} probe, so that an {@code If-None-Match} hit is answered
+ * with {@code 304 Not Modified} before the response itself is loaded.
+ */
+@Component
+public class ConditionalRequests {
+
+	private final HttpCacheProperties properties;
+
+	public ConditionalRequests(HttpCacheProperties properties) {
+		this.properties = properties;
+	}
+
+	/**
+	 * @param version version of the response, empty if it is not known or if the resource
+	 * does not exist
+	 * @param response loads the response when the client does not have the current
+	 * version
+	 */
+	public ResponseEntity<?> respond(WebRequest request, Supplier<Optional<ResourceVersion>> version,
+			Supplier<ResponseEntity<?>> response) {
+		return respond(request, version, response, entity -> true);
+	}
+
+	/**
+	 * @param cacheable whether a loaded response may be served again as long as the
+	 * version does not change, which a partial response must not
+	 */
+	public ResponseEntity<?> respond(WebRequest request, Supplier<Optional<ResourceVersion>> version,
+			Supplier<ResponseEntity<?>> response, Predicate<ResponseEntity<?>> cacheable) {
+		if (!this.properties.enabled()) {
+			return response.get();
+		}
+		return version.get().<ResponseEntity<?>>map(v -> respond(request, v, response, cacheable)).orElseGet(response);
+	}
+
+	private ResponseEntity<?> respond(WebRequest request, ResourceVersion version, Supplier<ResponseEntity<?>> response,
+			Predicate<ResponseEntity<?>> cacheable) {
+		// weak, because the same version is served with and without compression
+		ETag etag = new ETag(version.tag(), true);
+		CacheControl cacheControl = version.immutable()
+				? CacheControl.maxAge(this.properties.immutableMaxAge()).cachePrivate().immutable()
+				: CacheControl.noCache().cachePrivate();
+		if (notModified(request, etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+				.eTag(etag.formattedTag())
+				.cacheControl(cacheControl)
+				.build();
+		}
+		ResponseEntity<?> entity = response.get();
+		if (!entity.getStatusCode().is2xxSuccessful() || !cacheable.test(entity)) {
+			return entity;
+		}
+		return ResponseEntity.status(entity.getStatusCode())
+			.headers(entity.getHeaders())
+			.eTag(etag.formattedTag())
+			.cacheControl(cacheControl)
+			.body(entity.getBody());
+	}
+
+	// If-None-Match always uses the weak comparison
+	private static boolean notModified(WebRequest request, ETag etag) {
+		String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String value : ifNoneMatch) {
+			for (ETag candidate : ETag.parse(value)) {
+				if (candidate.isWildcard() || candidate.compare(etag, false)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+}
@@ -1,46 +1,202 @@
 package am.ik.spring.batch.dashboard.job.web;
 
+import am.ik.spring.batch.dashboard.archive.ArchiveProperties;
+import am.ik.spring.batch.dashboard.job.InvalidRequestException;
 import am.ik.spring.batch.dashboard.job.ApiErrorBuilder;
+import am.ik.spring.batch.dashboard.job.BulkDetailProperties;
+import am.ik.spring.batch.dashboard.job.ExecutionContextProperties;
+import am.ik.spring.batch.dashboard.job.ExecutionEventBroadcaster;
+import am.ik.spring.batch.dashboard.job.ExecutionSource;
+import am.ik.spring.batch.dashboard.job.ExitMessageSearchProperties;
+import am.ik.spring.batch.dashboard.job.ExportFormat;
+import am.ik.spring.batch.dashboard.job.JobExecutionExporter;
 import am.ik.spring.batch.dashboard.job.JobExecutionMapper;
 import am.ik.spring.batch.dashboard.job.JobExecutionsParams;
+import am.ik.spring.batch.dashboard.job.JobStatus;
+import am.ik.spring.batch.dashboard.job.ResourceVersion;
+import am.ik.spring.batch.dashboard.job.ResourceVersionMapper;
+import am.ik.spring.batch.dashboard.zombie.ZombieDetector;
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 public class JobExecutionController {
 
 	private final JobExecutionMapper jobExecutionMapper;
 
+	private final JobExecutionExporter jobExecutionExporter;
+
+	private final ExecutionEventBroadcaster executionEventBroadcaster;
+
+	private final ExecutionContextProperties executionContextProperties;
+
+	private final BulkDetailProperties bulkDetailProperties;
+
+	private final ExitMessageSearchProperties exitMessageSearchProperties;
+
+	private final ArchiveProperties archiveProperties;
+
+	private final ResourceVersionMapper resourceVersionMapper;
+
+	private final ConditionalRequests conditionalRequests;
+
+	@Nullable
+	private final ZombieDetector zombieDetector;
+
 	private final Clock clock;
 
-	public JobExecutionController(JobExecutionMapper jobExecutionMapper, Clock clock) {
+	public JobExecutionController(JobExecutionMapper jobExecutionMapper, JobExecutionExporter jobExecutionExporter,
+			ExecutionEventBroadcaster executionEventBroadcaster, ExecutionContextProperties executionContextProperties,
+			BulkDetailProperties bulkDetailProperties, ExitMessageSearchProperties exitMessageSearchProperties,
+			ArchiveProperties archiveProperties, ResourceVersionMapper resourceVersionMapper,
+			ConditionalRequests conditionalRequests, @Nullable ZombieDetector zombieDetector, Clock clock) {
 		this.jobExecutionMapper = jobExecutionMapper;
+		this.jobExecutionExporter = jobExecutionExporter;
+		this.executionEventBroadcaster = executionEventBroadcaster;
+		this.executionContextProperties = executionContextProperties;
+		this.bulkDetailProperties = bulkDetailProperties;
+		this.exitMessageSearchProperties = exitMessageSearchProperties;
+		this.archiveProperties = archiveProperties;
+		this.resourceVersionMapper = resourceVersionMapper;
+		this.conditionalRequests = conditionalRequests;
+		this.zombieDetector = zombieDetector;
 		this.clock = clock;
 	}
 
 	@GetMapping(path = "/api/job_executions")
-	public ResponseEntity<?> findJobExecutions(@ModelAttribute JobExecutionsParams params) {
-		return ResponseEntity.ok(this.jobExecutionMapper.findJobExecutions(params));
+	public ResponseEntity<?> findJobExecutions(@ModelAttribute JobExecutionsParams params, WebRequest request) {
+		checkSource(params);
+		return this.conditionalRequests.respond(request,
+				() -> this.resourceVersionMapper.getJobExecutionsVersion("JobExecutionMapper.findJobExecutions"),
+				() -> ResponseEntity.ok(this.jobExecutionMapper.findJobExecutions(params)));
 	}
 
-	@GetMapping(path = "/api/job_executions/{jobExecutionId}")
-	public ResponseEntity<?> getJobExecution(@PathVariable long jobExecutionId) {
-		return this.jobExecutionMapper.getJobExecutionDetail(jobExecutionId)
-			.<ResponseEntity<?>>map(ResponseEntity::ok)
-			.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+	// StreamingResponseBody is only detected with a concrete body type
+	@GetMapping(path = "/api/job_executions/export")
+	public ResponseEntity<StreamingResponseBody> exportJobExecutions(@ModelAttribute JobExecutionsParams params,
+			@RequestParam(defaultValue = "csv") String format) {
+		ExportFormat exportFormat = ExportFormat.from(format);
+		checkSource(params);
+		return ResponseEntity.ok()
+			.contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+			.header(HttpHeaders.CONTENT_DISPOSITION,
+					ContentDisposition.attachment()
+						.filename("job_executions." + exportFormat.extension())
+						.build()
+						.toString())
+			.body(outputStream -> this.jobExecutionExporter.export(params, exportFormat, outputStream));
+	}
+
+	private void checkSource(JobExecutionsParams params) {
+		if (params.source() != null && params.source() != ExecutionSource.LIVE && !this.archiveProperties.enabled()) {
+			throw new InvalidRequestException(
+					"Archived executions are not available unless dashboard.archive.enabled=true (source: "
+							+ params.source() + ")");
+		}
+	}
+
+	@GetMapping(path = "/api/job_executions/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter subscribeJobExecutionEvents(@RequestParam(required = false) Long jobExecutionId) {
+		return this.executionEventBroadcaster.subscribe(jobExecutionId);
+	}
+
+	@GetMapping(path = "/api/job_executions/details")
+	public ResponseEntity<?> getJobExecutionDetails(@RequestParam List<Long> ids, WebRequest request) {
+		Set<Long> jobExecutionIds = new LinkedHashSet<>(ids);
+		if (jobExecutionIds.size() > this.bulkDetailProperties.maxIds()) {
+			throw new InvalidRequestException(
+					"At most " + this.bulkDetailProperties.maxIds() + " ids are allowed (ids: " + ids.size() + ")");
+		}
+		return this.conditionalRequests.respond(request,
+				() -> Optional.of(this.resourceVersionMapper.getJobExecutionVersions(jobExecutionIds)),
+				() -> ResponseEntity.ok(this.jobExecutionMapper.getJobExecutionDetails(jobExecutionIds)));
+	}
+
+	@GetMapping(path = "/api/job_executions/search")
+	public ResponseEntity<?> searchExitMessages(@RequestParam String q, @RequestParam(required = false) String jobName,
+			@RequestParam(required = false) JobStatus status, @RequestParam(defaultValue = "20") int limit,
+			WebRequest request) {
+		if (q.isBlank()) {
+			throw new InvalidRequestException("Search query must not be blank");
+		}
+		int maxLimit = this.exitMessageSearchProperties.maxLimit();
+		if (limit < 1 || limit > maxLimit) {
+			throw new InvalidRequestException("limit must be between 1 and " + maxLimit + " (limit: " + limit + ")");
+		}
+		return this.conditionalRequests.respond(request,
+				() -> this.resourceVersionMapper.getJobExecutionsVersion("JobExecutionMapper.searchExitMessages"),
+				() -> ResponseEntity.ok(this.jobExecutionMapper.searchExitMessages(q, jobName, status, limit,
+						Math.max(limit, this.exitMessageSearchProperties.candidates()))));
+	}
+
+	@GetMapping(path = "/api/job_executions/suspects")
+	public ResponseEntity<?> getSuspectExecutions() {
+		if (this.zombieDetector == null) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND)
 				.body(ApiErrorBuilder.apiError()
 					.timestamp(LocalDateTime.now(this.clock))
 					.status(HttpStatus.NOT_FOUND.value())
 					.error(HttpStatus.NOT_FOUND.getReasonPhrase())
-					.message("Job execution not found (jobExecutionId: " + jobExecutionId + ")")
-					.path("/api/job_executions/" + jobExecutionId)
-					.build()));
+					.message("Suspect executions are not tracked (dashboard.zombie-detector.enabled=false)")
+					.path("/api/job_executions/suspects")
+					.build());
+		}
+		return ResponseEntity.ok(this.zombieDetector.getSuspects());
+	}
+
+	@GetMapping(path = "/api/job_executions/{jobExecutionId}")
+	public ResponseEntity<?> getJobExecution(@PathVariable long jobExecutionId, WebRequest request) {
+		return this.conditionalRequests.respond(request,
+				() -> this.resourceVersionMapper.getJobExecutionVersion(jobExecutionId),
+				() -> this.jobExecutionMapper.getJobExecutionDetail(jobExecutionId)
+					.<ResponseEntity<?>>map(ResponseEntity::ok)
+					.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+						.body(ApiErrorBuilder.apiError()
+							.timestamp(LocalDateTime.now(this.clock))
+							.status(HttpStatus.NOT_FOUND.value())
+							.error(HttpStatus.NOT_FOUND.getReasonPhrase())
+							.message("Job execution not found (jobExecutionId: " + jobExecutionId + ")")
+							.path("/api/job_executions/" + jobExecutionId)
+							.build())));
+	}
+
+	@GetMapping(path = "/api/job_executions/{jobExecutionId}/context")
+	public ResponseEntity<?> getJobExecutionContext(@PathVariable long jobExecutionId,
+			@RequestParam(defaultValue = "false") boolean serialized, @RequestParam(required = false) Integer maxLength,
+			WebRequest request) {
+		int length = this.executionContextProperties.length(serialized, maxLength);
+		// the context is saved without moving the version of a running execution
+		return this.conditionalRequests.respond(request,
+				() -> this.resourceVersionMapper.getJobExecutionVersion(jobExecutionId)
+					.filter(ResourceVersion::immutable),
+				() -> this.jobExecutionMapper.getJobExecutionContext(jobExecutionId, length)
+					.<ResponseEntity<?>>map(ResponseEntity::ok)
+					.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+						.body(ApiErrorBuilder.apiError()
+							.timestamp(LocalDateTime.now(this.clock))
+							.status(HttpStatus.NOT_FOUND.value())
+							.error(HttpStatus.NOT_FOUND.getReasonPhrase())
+							.message("Job execution context not found (jobExecutionId: " + jobExecutionId + ")")
+							.path("/api/job_executions/" + jobExecutionId + "/context")
+							.build())));
 	}
 
 }
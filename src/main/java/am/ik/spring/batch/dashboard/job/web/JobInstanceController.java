@@ -2,29 +2,41 @@ package am.ik.spring.batch.dashboard.job.web;
 
 import am.ik.spring.batch.dashboard.job.JobInstanceMapper;
 import am.ik.spring.batch.dashboard.job.JobInstancesParams;
+import am.ik.spring.batch.dashboard.job.ResourceVersionMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 public class JobInstanceController {
 
 	private final JobInstanceMapper jobInstanceMapper;
 
-	public JobInstanceController(JobInstanceMapper jobInstanceMapper) {
+	private final ResourceVersionMapper resourceVersionMapper;
+
+	private final ConditionalRequests conditionalRequests;
+
+	public JobInstanceController(JobInstanceMapper jobInstanceMapper, ResourceVersionMapper resourceVersionMapper,
+			ConditionalRequests conditionalRequests) {
 		this.jobInstanceMapper = jobInstanceMapper;
+		this.resourceVersionMapper = resourceVersionMapper;
+		this.conditionalRequests = conditionalRequests;
 	}
 
 	@GetMapping(path = "/api/job_instances")
-	public ResponseEntity<?> findJobInstances(@ModelAttribute JobInstancesParams params) {
-		return ResponseEntity.ok(this.jobInstanceMapper.findJobInstances(params));
+	public ResponseEntity<?> findJobInstances(@ModelAttribute JobInstancesParams params, WebRequest request) {
+		return this.conditionalRequests.respond(request, this.resourceVersionMapper::getJobInstancesVersion,
+				() -> ResponseEntity.ok(this.jobInstanceMapper.findJobInstances(params)));
 	}
 
 	@GetMapping(path = "/api/job_instances/{jobInstanceId}")
-	public ResponseEntity<?> findJobInstances(@PathVariable long jobInstanceId) {
-		return ResponseEntity.of(this.jobInstanceMapper.getJobInstanceDetail(jobInstanceId));
+	public ResponseEntity<?> findJobInstances(@PathVariable long jobInstanceId, WebRequest request) {
+		return this.conditionalRequests.respond(request,
+				() -> this.resourceVersionMapper.getJobInstanceVersion(jobInstanceId),
+				() -> ResponseEntity.of(this.jobInstanceMapper.getJobInstanceDetail(jobInstanceId)));
 	}
 
 }
@@ -1,36 +1,83 @@
 package am.ik.spring.batch.dashboard.job.web;
 
 import am.ik.spring.batch.dashboard.job.ApiErrorBuilder;
+import am.ik.spring.batch.dashboard.job.ExecutionTimelineLoader;
 import am.ik.spring.batch.dashboard.job.JobStatisticsMapper;
+import am.ik.spring.batch.dashboard.job.ResourceVersion;
+import am.ik.spring.batch.dashboard.job.StatisticsCache;
+import am.ik.spring.batch.dashboard.job.StatisticsSummary;
+import am.ik.spring.batch.dashboard.job.StatisticsSummaryLoader;
+import am.ik.spring.batch.dashboard.job.StepExecutionMapper;
+import am.ik.spring.batch.dashboard.job.StepThroughputParams;
+import am.ik.spring.batch.dashboard.job.TimelineParams;
+import am.ik.spring.batch.dashboard.rollup.FailureSignatureProperties;
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 public class JobStatisticsController {
 
 	private final JobStatisticsMapper jobStatisticsMapper;
 
+	private final StepExecutionMapper stepExecutionMapper;
+
+	private final StatisticsCache statisticsCache;
+
+	private final StatisticsSummaryLoader statisticsSummaryLoader;
+
+	private final ExecutionTimelineLoader executionTimelineLoader;
+
+	private final FailureSignatureProperties failureSignatureProperties;
+
+	private final ConditionalRequests conditionalRequests;
+
 	private final Clock clock;
 
-	public JobStatisticsController(JobStatisticsMapper jobStatisticsMapper, Clock clock) {
+	public JobStatisticsController(JobStatisticsMapper jobStatisticsMapper, StepExecutionMapper stepExecutionMapper,
+			StatisticsCache statisticsCache, StatisticsSummaryLoader statisticsSummaryLoader,
+			ExecutionTimelineLoader executionTimelineLoader, FailureSignatureProperties failureSignatureProperties,
+			ConditionalRequests conditionalRequests, Clock clock) {
 		this.jobStatisticsMapper = jobStatisticsMapper;
+		this.stepExecutionMapper = stepExecutionMapper;
+		this.statisticsCache = statisticsCache;
+		this.statisticsSummaryLoader = statisticsSummaryLoader;
+		this.executionTimelineLoader = executionTimelineLoader;
+		this.failureSignatureProperties = failureSignatureProperties;
+		this.conditionalRequests = conditionalRequests;
 		this.clock = clock;
 	}
 
+	@GetMapping(path = "/api/statistics/summary")
+	public ResponseEntity<?> getStatisticsSummary(@RequestParam(defaultValue = "60") int days,
+			@RequestParam(required = false) String jobName, WebRequest request) {
+		// a summary with missing parts is retried on the next request
+		return this.conditionalRequests.respond(request, this::statisticsVersion,
+				() -> ResponseEntity.ok(this.statisticsSummaryLoader.load(days, jobName)),
+				entity -> entity.getBody() instanceof StatisticsSummary summary && summary.errors().isEmpty());
+	}
+
 	@GetMapping(path = "/api/statistics/jobs")
-	public ResponseEntity<?> getJobStatistics(@RequestParam(defaultValue = "60") int days) {
-		return ResponseEntity.ok(this.jobStatisticsMapper.getJobStatistics(days));
+	public ResponseEntity<?> getJobStatistics(@RequestParam(defaultValue = "60") int days, WebRequest request) {
+		return this.conditionalRequests.respond(request, this::statisticsVersion,
+				() -> ResponseEntity.ok(this.statisticsCache.get("jobStatistics", days,
+						() -> this.jobStatisticsMapper.getJobStatistics(days))));
 	}
 
 	@GetMapping(path = "/api/statistics/jobs/{jobName}")
-	public ResponseEntity<?> getJobStatisticsByJobName(@PathVariable String jobName) {
-		return this.jobStatisticsMapper.getJobStatisticsByJobName(jobName)
+	public ResponseEntity<?> getJobStatisticsByJobName(@PathVariable String jobName, WebRequest request) {
+		return this.conditionalRequests.respond(request, this::statisticsVersion, () -> this.statisticsCache
+			.get("jobStatisticsByJobName", jobName, () -> this.jobStatisticsMapper.getJobStatisticsByJobName(jobName))
 			.<ResponseEntity<?>>map(ResponseEntity::ok)
 			.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
 				.body(ApiErrorBuilder.apiError()
@@ -39,12 +86,89 @@ public class JobStatisticsController {
 					.error(HttpStatus.NOT_FOUND.getReasonPhrase())
 					.message("Job statistics not found (jobName: " + jobName + ")")
 					.path("/api/statistics/jobs/" + jobName)
-					.build()));
+					.build())));
+	}
+
+	@GetMapping(path = "/api/statistics/jobs/{jobName}/steps")
+	public ResponseEntity<?> getStepDurationStatistics(@PathVariable String jobName,
+			@RequestParam(defaultValue = "30") int days, WebRequest request) {
+		return this.conditionalRequests.respond(request, this::statisticsVersion,
+				() -> ResponseEntity.ok(this.statisticsCache.get("stepDurationStatistics", List.of(jobName, days),
+						() -> this.jobStatisticsMapper.getStepDurationStatistics(jobName, days))));
+	}
+
+	@GetMapping(path = "/api/statistics/jobs/{jobName}/outliers")
+	public ResponseEntity<?> getDurationOutliers(@PathVariable String jobName,
+			@RequestParam(defaultValue = "30") int days, @RequestParam(defaultValue = "100") int limit,
+			WebRequest request) {
+		return this.conditionalRequests.respond(request, this::statisticsVersion,
+				() -> this.statisticsCache
+					.get("durationOutliers", List.of(jobName, days, limit),
+							() -> this.jobStatisticsMapper.getDurationOutliers(jobName, days, limit))
+					.<ResponseEntity<?>>map(ResponseEntity::ok)
+					.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+						.body(ApiErrorBuilder.apiError()
+							.timestamp(LocalDateTime.now(this.clock))
+							.status(HttpStatus.NOT_FOUND.value())
+							.error(HttpStatus.NOT_FOUND.getReasonPhrase())
+							.message("No finished executions (jobName: " + jobName + ")")
+							.path("/api/statistics/jobs/" + jobName + "/outliers")
+							.build())));
+	}
+
+	@GetMapping(path = "/api/statistics/failures")
+	public ResponseEntity<?> getFailureClusters(@RequestParam(defaultValue = "7") int days,
+			@RequestParam(required = false) String jobName, @RequestParam(defaultValue = "20") int limit,
+			@RequestParam(defaultValue = "5") int samples, WebRequest request) {
+		if (!this.failureSignatureProperties.enabled()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND)
+				.body(ApiErrorBuilder.apiError()
+					.timestamp(LocalDateTime.now(this.clock))
+					.status(HttpStatus.NOT_FOUND.value())
+					.error(HttpStatus.NOT_FOUND.getReasonPhrase())
+					.message("Failure clusters are not maintained (dashboard.failure-signatures.enabled=false)")
+					.path("/api/statistics/failures")
+					.build());
+		}
+		return this.conditionalRequests.respond(request, this::failureClustersVersion,
+				() -> ResponseEntity.ok(this.statisticsCache.get(this.statisticsCache.failureSignatureVersion(),
+						"failureClusters", List.of(days, Objects.requireNonNullElse(jobName, ""), limit, samples),
+						() -> this.jobStatisticsMapper.getFailureClusters(days, jobName, limit, samples))));
 	}
 
 	@GetMapping(path = "/api/statistics/recent_executions")
-	public ResponseEntity<?> getRecentExecutions(@RequestParam(defaultValue = "60") int days) {
-		return ResponseEntity.ok(this.jobStatisticsMapper.getJobExecutionStats(days));
+	public ResponseEntity<?> getRecentExecutions(@RequestParam(defaultValue = "60") int days, WebRequest request) {
+		return this.conditionalRequests.respond(request, this::statisticsVersion,
+				() -> ResponseEntity.ok(this.statisticsCache.get("jobExecutionStats", days,
+						() -> this.jobStatisticsMapper.getJobExecutionStats(days))));
+	}
+
+	@GetMapping(path = "/api/statistics/steps/throughput")
+	public ResponseEntity<?> getStepThroughput(@ModelAttribute StepThroughputParams params, WebRequest request) {
+		if (params.to() == null) {
+			// a range that ends at the time of the request is neither cached nor
+			// versioned
+			return ResponseEntity.ok(this.stepExecutionMapper.getStepThroughput(params, LocalDateTime.now(this.clock)));
+		}
+		return this.conditionalRequests.respond(request, this::statisticsVersion,
+				() -> ResponseEntity.ok(this.statisticsCache.get("stepThroughput", params,
+						() -> this.stepExecutionMapper.getStepThroughput(params, LocalDateTime.now(this.clock)))));
+	}
+
+	// running executions end at the time of the request, so neither cached nor versioned
+	@GetMapping(path = "/api/statistics/timeline")
+	public ResponseEntity<?> getTimeline(@ModelAttribute TimelineParams params) {
+		return ResponseEntity.ok(this.executionTimelineLoader.load(params, LocalDateTime.now(this.clock)));
+	}
+
+	// statistics are revalidated whenever the statistics cache would be dropped
+	private Optional<ResourceVersion> statisticsVersion() {
+		return this.statisticsCache.currentVersion().map(version -> ResourceVersion.of(false, "statistics", version));
+	}
+
+	private Optional<ResourceVersion> failureClustersVersion() {
+		return this.statisticsCache.failureSignatureVersion()
+			.map(version -> ResourceVersion.of(false, "failureClusters", version));
 	}
 
 }
@@ -1,6 +1,9 @@
 package am.ik.spring.batch.dashboard.job.web;
 
 import am.ik.spring.batch.dashboard.job.ApiErrorBuilder;
+import am.ik.spring.batch.dashboard.job.ExecutionContextProperties;
+import am.ik.spring.batch.dashboard.job.ResourceVersion;
+import am.ik.spring.batch.dashboard.job.ResourceVersionMapper;
 import am.ik.spring.batch.dashboard.job.StepExecutionMapper;
 import java.time.Clock;
 import java.time.LocalDateTime;
@@ -8,32 +11,68 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 public class StepExecutionController {
 
 	private final StepExecutionMapper stepExecutionMapper;
 
+	private final ExecutionContextProperties executionContextProperties;
+
+	private final ResourceVersionMapper resourceVersionMapper;
+
+	private final ConditionalRequests conditionalRequests;
+
 	private final Clock clock;
 
-	public StepExecutionController(StepExecutionMapper stepExecutionMapper, Clock clock) {
+	public StepExecutionController(StepExecutionMapper stepExecutionMapper,
+			ExecutionContextProperties executionContextProperties, ResourceVersionMapper resourceVersionMapper,
+			ConditionalRequests conditionalRequests, Clock clock) {
 		this.stepExecutionMapper = stepExecutionMapper;
+		this.executionContextProperties = executionContextProperties;
+		this.resourceVersionMapper = resourceVersionMapper;
+		this.conditionalRequests = conditionalRequests;
 		this.clock = clock;
 	}
 
 	@GetMapping(path = "/api/step_executions/{stepExecutionId}")
-	public ResponseEntity<?> getStepExecution(@PathVariable long stepExecutionId) {
-		return this.stepExecutionMapper.getStepExecutionDetail(stepExecutionId)
-			.<ResponseEntity<?>>map(ResponseEntity::ok)
-			.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
-				.body(ApiErrorBuilder.apiError()
-					.timestamp(LocalDateTime.now(this.clock))
-					.status(HttpStatus.NOT_FOUND.value())
-					.error(HttpStatus.NOT_FOUND.getReasonPhrase())
-					.message("Step execution not found (stepExecutionId: " + stepExecutionId + ")")
-					.path("/api/step_executions/" + stepExecutionId)
-					.build()));
+	public ResponseEntity<?> getStepExecution(@PathVariable long stepExecutionId, WebRequest request) {
+		return this.conditionalRequests.respond(request,
+				() -> this.resourceVersionMapper.getStepExecutionVersion(stepExecutionId),
+				() -> this.stepExecutionMapper.getStepExecutionDetail(stepExecutionId)
+					.<ResponseEntity<?>>map(ResponseEntity::ok)
+					.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+						.body(ApiErrorBuilder.apiError()
+							.timestamp(LocalDateTime.now(this.clock))
+							.status(HttpStatus.NOT_FOUND.value())
+							.error(HttpStatus.NOT_FOUND.getReasonPhrase())
+							.message("Step execution not found (stepExecutionId: " + stepExecutionId + ")")
+							.path("/api/step_executions/" + stepExecutionId)
+							.build())));
+	}
+
+	@GetMapping(path = "/api/step_executions/{stepExecutionId}/context")
+	public ResponseEntity<?> getStepExecutionContext(@PathVariable long stepExecutionId,
+			@RequestParam(defaultValue = "false") boolean serialized, @RequestParam(required = false) Integer maxLength,
+			WebRequest request) {
+		int length = this.executionContextProperties.length(serialized, maxLength);
+		// the context is saved without moving the version of a running step execution
+		return this.conditionalRequests.respond(request,
+				() -> this.resourceVersionMapper.getStepExecutionVersion(stepExecutionId)
+					.filter(ResourceVersion::immutable),
+				() -> this.stepExecutionMapper.getStepExecutionContext(stepExecutionId, length)
+					.<ResponseEntity<?>>map(ResponseEntity::ok)
+					.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+						.body(ApiErrorBuilder.apiError()
+							.timestamp(LocalDateTime.now(this.clock))
+							.status(HttpStatus.NOT_FOUND.value())
+							.error(HttpStatus.NOT_FOUND.getReasonPhrase())
+							.message("Step execution context not found (stepExecutionId: " + stepExecutionId + ")")
+							.path("/api/step_executions/" + stepExecutionId + "/context")
+							.build())));
 	}
 
 }
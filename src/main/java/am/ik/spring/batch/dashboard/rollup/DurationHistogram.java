@@ -0,0 +1,23 @@
+package am.ik.spring.batch.dashboard.rollup;
+
+/**
+ * Log-scale buckets of {@code DASHBOARD_JOB_DURATION_HISTOGRAM}. Bucket {@code i} holds
+ * durations in {@code (GAMMA^(i-1), GAMMA^i]} milliseconds and is read back as
+ * {@code 2 * GAMMA^i / (GAMMA + 1)}, so a percentile taken from the histogram is within
+ * 1% of the exact value. Unlike exact percentiles, bucket counts can be added and
+ * subtracted, so the histogram is maintained incrementally together with the rollup.
+ */
+public final class DurationHistogram {
+
+	public static final double GAMMA = 1.02;
+
+	private static final double LOG_GAMMA = Math.log(GAMMA);
+
+	private DurationHistogram() {
+	}
+
+	public static int bucket(double durationSeconds) {
+		return (int) Math.ceil(Math.log(Math.max(durationSeconds * 1000, 1)) / LOG_GAMMA);
+	}
+
+}
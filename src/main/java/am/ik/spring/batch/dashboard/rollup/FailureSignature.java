@@ -0,0 +1,72 @@
+package am.ik.spring.batch.dashboard.rollup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+import org.springframework.lang.Nullable;
+
+/**
+ * Signature of a failure, the hash of the exit code and the normalized exit message.
+ * Normalization removes what differs between executions failing for the same reason:
+ * UUIDs, timestamps, hex addresses, line numbers and other numbers. Numbers that identify
+ * the failure are kept: those of codes such as {@code ORA-00942} or {@code E1234}, and
+ * HTTP status codes.
+ */
+public record FailureSignature(String signature, String normalizedMessage) {
+
+	/**
+	 * {@code BATCH_JOB_EXECUTION.EXIT_MESSAGE} is cut at this length, so the last line of
+	 * a message that long is incomplete.
+	 */
+	static final int MAX_EXIT_MESSAGE_LENGTH = 2500;
+
+	private static final Pattern UUID = Pattern
+		.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+	private static final Pattern TIMESTAMP = Pattern
+		.compile("\\d{4}-\\d{2}-\\d{2}[T ]\\d{2}:\\d{2}(:\\d{2}([.,]\\d+)?)?(Z|[+-]\\d{2}:?\\d{2})?");
+
+	private static final Pattern HEX = Pattern.compile("\\b0x[0-9a-fA-F]+\\b|@[0-9a-fA-F]{4,}\\b");
+
+	private static final Pattern LINE_NUMBER = Pattern.compile("\\.(java|kt|groovy|scala):\\d+\\)");
+
+	// digits within a word are not matched, which keeps E1234
+	private static final Pattern NUMBER = Pattern.compile("(?<!\\b[A-Z]{2,5}-)\\b(?![1-5]\\d{2}\\b)\\d+([.,]\\d+)*\\b");
+
+	private static final Pattern WHITESPACE = Pattern.compile("[ \\t]+");
+
+	public static FailureSignature of(String exitCode, @Nullable String exitMessage, int maxLines) {
+		String normalizedMessage = normalize(exitMessage, maxLines);
+		return new FailureSignature(hash(exitCode + "\n" + normalizedMessage), normalizedMessage);
+	}
+
+	static String normalize(@Nullable String exitMessage, int maxLines) {
+		if (exitMessage == null || exitMessage.isBlank()) {
+			return "";
+		}
+		String[] lines = exitMessage.strip().split("\\R");
+		int count = Math.min(maxLines,
+				exitMessage.length() >= MAX_EXIT_MESSAGE_LENGTH ? lines.length - 1 : lines.length);
+		String message = String.join("\n", Arrays.copyOf(lines, Math.max(count, 1)));
+		message = UUID.matcher(message).replaceAll("<uuid>");
+		message = TIMESTAMP.matcher(message).replaceAll("<timestamp>");
+		message = HEX.matcher(message).replaceAll("<hex>");
+		message = LINE_NUMBER.matcher(message).replaceAll(".$1)");
+		message = NUMBER.matcher(message).replaceAll("<n>");
+		return WHITESPACE.matcher(message).replaceAll(" ").strip();
+	}
+
+	private static String hash(String value) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest, 0, 8);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,20 @@
+package am.ik.spring.batch.dashboard.rollup;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled groups failed executions by the signature of their exit message in
+ * dashboard-owned tables. Requires DDL privileges on the metadata database.
+ * @param interval delay between two incremental updates
+ * @param batchSize maximum number of failed executions applied per transaction
+ * @param overlap how far each update reaches back behind the high-water mark, to pick up
+ * failures committed after a newer change was already applied
+ * @param maxLines number of exit message lines that make up the signature. The top of a
+ * stack trace identifies the failure, while deeper frames mostly differ by call path.
+ */
+@ConfigurationProperties(prefix = "dashboard.failure-signatures")
+public record FailureSignatureProperties(@DefaultValue("false") boolean enabled, @DefaultValue("30s") Duration interval,
+		@DefaultValue("1000") int batchSize, @DefaultValue("1m") Duration overlap, @DefaultValue("10") int maxLines) {
+}
@@ -0,0 +1,302 @@
+package am.ik.spring.batch.dashboard.rollup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Incrementally counts failed executions per {@link FailureSignature}, job and day in
+ * {@code DASHBOARD_FAILURE_SIGNATURE_DAILY}. Failed executions are found by a
+ * {@code (LAST_UPDATED, JOB_EXECUTION_ID)} high-water mark like in
+ * {@link JobExecutionRollupUpdater}, and {@code DASHBOARD_FAILURE_SIGNATURE_MEMBER} keeps
+ * every counted execution, so an execution updated again is not counted twice. Each
+ * update also reads again the failures within
+ * {@link FailureSignatureProperties#overlap()} behind the mark that are not counted yet.
+ */
+@Component
+@ConditionalOnProperty(name = "dashboard.failure-signatures.enabled", havingValue = "true")
+public class FailureSignatureUpdater implements InitializingBean {
+
+	private static final Logger log = LoggerFactory.getLogger(FailureSignatureUpdater.class);
+
+	private static final String SELECT_FAILURES = """
+			SELECT
+			    je.JOB_EXECUTION_ID,
+			    ji.JOB_NAME,
+			    je.EXIT_CODE,
+			    je.EXIT_MESSAGE,
+			    COALESCE(je.END_TIME, je.LAST_UPDATED) AS FAILED_AT,
+			    je.LAST_UPDATED
+			FROM
+			    BATCH_JOB_EXECUTION je
+			    JOIN
+			        BATCH_JOB_INSTANCE ji
+			    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+			""";
+
+	private final JdbcClient jdbcClient;
+
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final DataSource dataSource;
+
+	private final FailureSignatureProperties properties;
+
+	public FailureSignatureUpdater(JdbcClient jdbcClient, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+			TransactionTemplate transactionTemplate, DataSource dataSource, FailureSignatureProperties properties) {
+		this.jdbcClient = jdbcClient;
+		this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.dataSource = dataSource;
+		this.properties = properties;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		new ResourceDatabasePopulator(new ClassPathResource("dashboard/failure-signature-schema.sql"))
+			.execute(this.dataSource);
+	}
+
+	@Scheduled(fixedDelayString = "${dashboard.failure-signatures.interval:30s}")
+	public void update() {
+		this.transactionTemplate.executeWithoutResult(status -> reapplyFailures());
+		int applied;
+		do {
+			applied = Objects.requireNonNull(this.transactionTemplate.execute(status -> updateFailures()));
+		}
+		while (applied >= this.properties.batchSize());
+	}
+
+	int updateFailures() {
+		JobExecutionRollupUpdater.Watermark watermark = lockWatermark();
+		List<Failure> failures = this.jdbcClient.sql(SELECT_FAILURES + """
+				WHERE
+				    (je.LAST_UPDATED, je.JOB_EXECUTION_ID) > (:lastUpdated, :lastId)
+				AND je.STATUS = 'FAILED'
+				ORDER BY
+				    je.LAST_UPDATED,
+				    je.JOB_EXECUTION_ID
+				LIMIT :batchSize
+				""")
+			.param("lastUpdated", watermark.lastUpdated())
+			.param("lastId", watermark.lastId())
+			.param("batchSize", this.properties.batchSize())
+			.query(Failure.class)
+			.list();
+		if (failures.isEmpty()) {
+			return 0;
+		}
+		int signatures = apply(failures);
+		Failure last = failures.getLast();
+		this.jdbcClient.sql("""
+				UPDATE
+				    DASHBOARD_ROLLUP_STATE
+				SET
+				    LAST_UPDATED = :lastUpdated,
+				    LAST_ID = :lastId
+				WHERE
+				    NAME = 'failure_signature'
+				""").param("lastUpdated", last.lastUpdated()).param("lastId", last.jobExecutionId()).update();
+		log.debug("Applied {} failed job executions to {} failure signatures", failures.size(), signatures);
+		return failures.size();
+	}
+
+	/**
+	 * Applies failures that the high-water mark skipped because they were committed late
+	 * with an older {@code LAST_UPDATED}, and bumps the {@code REVISION} of the state
+	 * row.
+	 */
+	int reapplyFailures() {
+		JobExecutionRollupUpdater.Watermark watermark = lockWatermark();
+		List<Failure> failures = this.jdbcClient.sql(SELECT_FAILURES + """
+				WHERE
+				    je.LAST_UPDATED >= :since
+				AND (je.LAST_UPDATED, je.JOB_EXECUTION_ID) <= (:lastUpdated, :lastId)
+				AND je.STATUS = 'FAILED'
+				AND NOT EXISTS (
+				        SELECT
+				            1
+				        FROM
+				            DASHBOARD_FAILURE_SIGNATURE_MEMBER m
+				        WHERE
+				            m.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				    )
+				ORDER BY
+				    je.JOB_EXECUTION_ID
+				LIMIT :batchSize
+				""")
+			.param("since", watermark.lastUpdated().minus(this.properties.overlap()))
+			.param("lastUpdated", watermark.lastUpdated())
+			.param("lastId", watermark.lastId())
+			.param("batchSize", this.properties.batchSize())
+			.query(Failure.class)
+			.list();
+		if (failures.isEmpty()) {
+			return 0;
+		}
+		int signatures = apply(failures);
+		// the mark does not move, so the version of the failure clusters has to
+		this.jdbcClient.sql("""
+				UPDATE
+				    DASHBOARD_ROLLUP_STATE
+				SET
+				    REVISION = REVISION + 1
+				WHERE
+				    NAME = 'failure_signature'
+				""").update();
+		log.debug("Applied {} late failed job executions to {} failure signatures", failures.size(), signatures);
+		return failures.size();
+	}
+
+	private JobExecutionRollupUpdater.Watermark lockWatermark() {
+		return this.jdbcClient.sql("""
+				SELECT
+				    LAST_UPDATED,
+				    LAST_ID
+				FROM
+				    DASHBOARD_ROLLUP_STATE
+				WHERE
+				    NAME = 'failure_signature'
+				FOR UPDATE
+				""").query(JobExecutionRollupUpdater.Watermark.class).single();
+	}
+
+	/**
+	 * @return number of signatures the new members were counted in
+	 */
+	private int apply(List<Failure> failures) {
+		List<FailureSignature> signatures = new ArrayList<>(failures.size());
+		for (Failure failure : failures) {
+			signatures.add(FailureSignature.of(Objects.requireNonNullElse(failure.exitCode(), ""),
+					failure.exitMessage(), this.properties.maxLines()));
+		}
+		SqlParameterSource[] memberParams = new SqlParameterSource[failures.size()];
+		for (int i = 0; i < failures.size(); i++) {
+			memberParams[i] = new MapSqlParameterSource().addValue("jobExecutionId", failures.get(i).jobExecutionId())
+				.addValue("signature", signatures.get(i).signature())
+				.addValue("jobName", failures.get(i).jobName())
+				.addValue("failedAt", failures.get(i).failedAt());
+		}
+		int[] inserted = this.namedParameterJdbcTemplate.batchUpdate("""
+				INSERT INTO DASHBOARD_FAILURE_SIGNATURE_MEMBER (JOB_EXECUTION_ID, SIGNATURE, JOB_NAME, FAILED_AT)
+				VALUES (:jobExecutionId, :signature, :jobName, :failedAt)
+				ON CONFLICT (JOB_EXECUTION_ID) DO NOTHING
+				""", memberParams);
+		Map<String, SignatureDelta> signatureDeltas = new LinkedHashMap<>();
+		Map<DailyKey, SignatureDelta> dailyDeltas = new LinkedHashMap<>();
+		for (int i = 0; i < failures.size(); i++) {
+			if (inserted[i] == 0) {
+				continue;
+			}
+			Failure failure = failures.get(i);
+			FailureSignature signature = signatures.get(i);
+			signatureDeltas
+				.computeIfAbsent(signature.signature(),
+						key -> new SignatureDelta(Objects.requireNonNullElse(failure.exitCode(), ""),
+								signature.normalizedMessage()))
+				.add(failure.failedAt());
+			dailyDeltas
+				.computeIfAbsent(
+						new DailyKey(failure.failedAt().toLocalDate(), signature.signature(), failure.jobName()),
+						key -> new SignatureDelta(null, null))
+				.add(failure.failedAt());
+		}
+		this.namedParameterJdbcTemplate.batchUpdate("""
+				INSERT INTO DASHBOARD_FAILURE_SIGNATURE AS s (SIGNATURE, EXIT_CODE, NORMALIZED_MESSAGE, FIRST_SEEN,
+				                                             LAST_SEEN)
+				VALUES (:signature, :exitCode, :normalizedMessage, :firstSeen, :lastSeen)
+				ON CONFLICT (SIGNATURE) DO UPDATE SET
+				    FIRST_SEEN = LEAST(s.FIRST_SEEN, EXCLUDED.FIRST_SEEN),
+				    LAST_SEEN = GREATEST(s.LAST_SEEN, EXCLUDED.LAST_SEEN)
+				""",
+				signatureDeltas.entrySet()
+					.stream()
+					.map(entry -> new MapSqlParameterSource().addValue("signature", entry.getKey())
+						.addValue("exitCode", entry.getValue().exitCode)
+						.addValue("normalizedMessage", entry.getValue().normalizedMessage)
+						.addValue("firstSeen", entry.getValue().firstSeen)
+						.addValue("lastSeen", entry.getValue().lastSeen))
+					.toArray(SqlParameterSource[]::new));
+		this.namedParameterJdbcTemplate.batchUpdate("""
+				INSERT INTO DASHBOARD_FAILURE_SIGNATURE_DAILY AS d (DAY, SIGNATURE, JOB_NAME, FAILURE_COUNT, FIRST_SEEN,
+				                                                   LAST_SEEN)
+				VALUES (:day, :signature, :jobName, :failureCount, :firstSeen, :lastSeen)
+				ON CONFLICT (DAY, SIGNATURE, JOB_NAME) DO UPDATE SET
+				    FAILURE_COUNT = d.FAILURE_COUNT + EXCLUDED.FAILURE_COUNT,
+				    FIRST_SEEN = LEAST(d.FIRST_SEEN, EXCLUDED.FIRST_SEEN),
+				    LAST_SEEN = GREATEST(d.LAST_SEEN, EXCLUDED.LAST_SEEN)
+				""",
+				dailyDeltas.entrySet()
+					.stream()
+					.map(entry -> new MapSqlParameterSource().addValue("day", entry.getKey().day())
+						.addValue("signature", entry.getKey().signature())
+						.addValue("jobName", entry.getKey().jobName())
+						.addValue("failureCount", entry.getValue().failureCount)
+						.addValue("firstSeen", entry.getValue().firstSeen)
+						.addValue("lastSeen", entry.getValue().lastSeen))
+					.toArray(SqlParameterSource[]::new));
+		return signatureDeltas.size();
+	}
+
+	record Failure(long jobExecutionId, String jobName, @Nullable String exitCode, @Nullable String exitMessage,
+			LocalDateTime failedAt, LocalDateTime lastUpdated) {
+	}
+
+	record DailyKey(LocalDate day, String signature, String jobName) {
+	}
+
+	static class SignatureDelta {
+
+		@Nullable
+		final String exitCode;
+
+		@Nullable
+		final String normalizedMessage;
+
+		long failureCount;
+
+		@Nullable
+		LocalDateTime firstSeen;
+
+		@Nullable
+		LocalDateTime lastSeen;
+
+		SignatureDelta(@Nullable String exitCode, @Nullable String normalizedMessage) {
+			this.exitCode = exitCode;
+			this.normalizedMessage = normalizedMessage;
+		}
+
+		void add(LocalDateTime failedAt) {
+			this.failureCount++;
+			if (this.firstSeen == null || failedAt.isBefore(this.firstSeen)) {
+				this.firstSeen = failedAt;
+			}
+			if (this.lastSeen == null || failedAt.isAfter(this.lastSeen)) {
+				this.lastSeen = failedAt;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,392 @@
+package am.ik.spring.batch.dashboard.rollup;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Incrementally folds changed rows of {@code BATCH_JOB_EXECUTION} into
+ * {@code DASHBOARD_JOB_EXECUTION_ROLLUP}. Changes are found by a
+ * {@code (LAST_UPDATED, JOB_EXECUTION_ID)} high-water mark, and the previous contribution
+ * of every execution is kept in {@code DASHBOARD_JOB_EXECUTION_ROLLUP_MEMBER} so that
+ * status transitions move counts instead of adding them twice. The same member rows keep
+ * the {@link DurationHistogram} bucket of every finished execution for
+ * {@code DASHBOARD_JOB_DURATION_HISTOGRAM}. Each update also reads again the executions
+ * within {@link RollupProperties#overlap()} behind the mark and those without
+ * {@code LAST_UPDATED}, and applies the ones that differ from their member row, bumping
+ * the {@code REVISION} of the state row so that cached statistics are not served any
+ * more. Like the live queries, days are those of {@code START_TIME}; executions that have
+ * not started count towards the job totals only. The state rows are locked during an
+ * update, so several dashboard instances can run the updater concurrently.
+ */
+@Component
+@ConditionalOnProperty(name = "dashboard.rollup.enabled", havingValue = "true")
+public class JobExecutionRollupUpdater implements InitializingBean {
+
+	private static final Logger log = LoggerFactory.getLogger(JobExecutionRollupUpdater.class);
+
+	private static final String SELECT_JOB_EXECUTIONS = """
+			SELECT
+			    je.JOB_EXECUTION_ID,
+			    COALESCE(DATE(je.START_TIME), DATE '-infinity') AS DAY,
+			    ji.JOB_NAME,
+			    je.STATUS,
+			    EXTRACT(EPOCH FROM (je.END_TIME - je.START_TIME))::DOUBLE PRECISION AS DURATION_SECONDS,
+			    NULL AS DURATION_BUCKET,
+			    je.START_TIME,
+			    je.LAST_UPDATED
+			FROM
+			    BATCH_JOB_EXECUTION je
+			    JOIN
+			        BATCH_JOB_INSTANCE ji
+			    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+			""";
+
+	private final JdbcClient jdbcClient;
+
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final DataSource dataSource;
+
+	private final RollupProperties properties;
+
+	public JobExecutionRollupUpdater(JdbcClient jdbcClient, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+			TransactionTemplate transactionTemplate, DataSource dataSource, RollupProperties properties) {
+		this.jdbcClient = jdbcClient;
+		this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.dataSource = dataSource;
+		this.properties = properties;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		new ResourceDatabasePopulator(new ClassPathResource("dashboard/rollup-schema.sql")).execute(this.dataSource);
+	}
+
+	@Scheduled(fixedDelayString = "${dashboard.rollup.interval:30s}")
+	public void update() {
+		this.transactionTemplate.executeWithoutResult(status -> updateJobNames());
+		this.transactionTemplate.executeWithoutResult(status -> reapplyJobExecutions());
+		int applied;
+		do {
+			applied = Objects.requireNonNull(this.transactionTemplate.execute(status -> updateJobExecutions()));
+		}
+		while (applied >= this.properties.batchSize());
+	}
+
+	void updateJobNames() {
+		Watermark watermark = lockWatermark("job_instance");
+		Long maxJobInstanceId = this.jdbcClient.sql("SELECT MAX(JOB_INSTANCE_ID) FROM BATCH_JOB_INSTANCE")
+			.query(Long.class)
+			.optional()
+			.orElse(null);
+		if (maxJobInstanceId == null || maxJobInstanceId <= watermark.lastId()) {
+			return;
+		}
+		this.jdbcClient.sql("""
+				INSERT INTO DASHBOARD_JOB_NAME (JOB_NAME)
+				SELECT DISTINCT
+				    ji.JOB_NAME
+				FROM
+				    BATCH_JOB_INSTANCE ji
+				WHERE
+				    ji.JOB_INSTANCE_ID > :lastId
+				AND ji.JOB_INSTANCE_ID <= :maxJobInstanceId
+				ON CONFLICT (JOB_NAME) DO NOTHING
+				""").param("lastId", watermark.lastId()).param("maxJobInstanceId", maxJobInstanceId).update();
+		saveWatermark("job_instance", new Watermark(watermark.lastUpdated(), maxJobInstanceId));
+	}
+
+	int updateJobExecutions() {
+		Watermark watermark = lockWatermark("job_execution");
+		List<RollupMember> changed = this.jdbcClient.sql(SELECT_JOB_EXECUTIONS + """
+				WHERE
+				    (je.LAST_UPDATED, je.JOB_EXECUTION_ID) > (:lastUpdated, :lastId)
+				ORDER BY
+				    je.LAST_UPDATED,
+				    je.JOB_EXECUTION_ID
+				LIMIT :batchSize
+				""")
+			.param("lastUpdated", watermark.lastUpdated())
+			.param("lastId", watermark.lastId())
+			.param("batchSize", this.properties.batchSize())
+			.query(RollupMember.class)
+			.list();
+		if (changed.isEmpty()) {
+			return 0;
+		}
+		apply(changed);
+		RollupMember last = changed.getLast();
+		saveWatermark("job_execution",
+				new Watermark(Objects.requireNonNull(last.lastUpdated()), last.jobExecutionId()));
+		log.debug("Applied {} changed job executions to the rollup", changed.size());
+		return changed.size();
+	}
+
+	/**
+	 * Applies executions behind the high-water mark that it cannot find: those committed
+	 * late with an older {@code LAST_UPDATED}, and those without {@code LAST_UPDATED}.
+	 * Executions that still match their member row are left out by the query.
+	 */
+	int reapplyJobExecutions() {
+		Watermark watermark = lockWatermark("job_execution");
+		List<RollupMember> missed = this.jdbcClient.sql(SELECT_JOB_EXECUTIONS + """
+				WHERE
+				    (
+				        je.LAST_UPDATED IS NULL
+				     OR (
+				            je.LAST_UPDATED >= :since
+				        AND (je.LAST_UPDATED, je.JOB_EXECUTION_ID) <= (:lastUpdated, :lastId)
+				        )
+				    )
+				AND NOT EXISTS (
+				        SELECT
+				            1
+				        FROM
+				            DASHBOARD_JOB_EXECUTION_ROLLUP_MEMBER m
+				        WHERE
+				            m.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				        AND m.DAY = COALESCE(DATE(je.START_TIME), DATE '-infinity')
+				        AND m.JOB_NAME = ji.JOB_NAME
+				        AND m.STATUS = je.STATUS
+				        AND m.DURATION_SECONDS IS NOT DISTINCT FROM
+				            EXTRACT(EPOCH FROM (je.END_TIME - je.START_TIME))::DOUBLE PRECISION
+				    )
+				ORDER BY
+				    je.JOB_EXECUTION_ID
+				LIMIT :batchSize
+				""")
+			.param("since", watermark.lastUpdated().minus(this.properties.overlap()))
+			.param("lastUpdated", watermark.lastUpdated())
+			.param("lastId", watermark.lastId())
+			.param("batchSize", this.properties.batchSize())
+			.query(RollupMember.class)
+			.list();
+		if (missed.isEmpty()) {
+			return 0;
+		}
+		// the rest, if any, still differs from its member row on the next update
+		apply(missed);
+		bumpRevision("job_execution");
+		log.debug("Applied {} late job executions to the rollup", missed.size());
+		return missed.size();
+	}
+
+	private void apply(List<RollupMember> changed) {
+		Map<Long, RollupMember> previous = this.jdbcClient.sql("""
+				SELECT
+				    m.JOB_EXECUTION_ID,
+				    m.DAY,
+				    m.JOB_NAME,
+				    m.STATUS,
+				    m.DURATION_SECONDS,
+				    m.DURATION_BUCKET,
+				    NULL AS START_TIME,
+				    NULL AS LAST_UPDATED
+				FROM
+				    DASHBOARD_JOB_EXECUTION_ROLLUP_MEMBER m
+				WHERE
+				    m.JOB_EXECUTION_ID = ANY(:jobExecutionIds)
+				""")
+			.param("jobExecutionIds",
+					new SqlArrayValue("bigint", changed.stream().map(RollupMember::jobExecutionId).toArray()))
+			.query(RollupMember.class)
+			.stream()
+			.collect(Collectors.toMap(RollupMember::jobExecutionId, Function.identity()));
+		Map<RollupKey, RollupDelta> deltas = new LinkedHashMap<>();
+		Map<HistogramKey, Long> histogramDeltas = new LinkedHashMap<>();
+		for (RollupMember member : changed) {
+			RollupMember old = previous.get(member.jobExecutionId());
+			if (old != null) {
+				deltas.computeIfAbsent(old.key(), k -> new RollupDelta()).subtract(old);
+				if (old.durationBucket() != null) {
+					histogramDeltas.merge(new HistogramKey(old.jobName(), old.durationBucket()), -1L, Long::sum);
+				}
+			}
+			deltas.computeIfAbsent(member.key(), k -> new RollupDelta()).add(member);
+			if (member.durationSeconds() != null) {
+				histogramDeltas.merge(
+						new HistogramKey(member.jobName(), DurationHistogram.bucket(member.durationSeconds())), 1L,
+						Long::sum);
+			}
+		}
+		SqlParameterSource[] rollupParams = deltas.entrySet()
+			.stream()
+			.filter(entry -> !entry.getValue().isEmpty())
+			.map(entry -> new MapSqlParameterSource().addValue("day", entry.getKey().day())
+				.addValue("jobName", entry.getKey().jobName())
+				.addValue("status", entry.getKey().status())
+				.addValue("executionCount", entry.getValue().executionCount)
+				.addValue("durationCount", entry.getValue().durationCount)
+				.addValue("durationSecondsSum", entry.getValue().durationSecondsSum)
+				.addValue("lastStartTime", entry.getValue().lastStartTime))
+			.toArray(SqlParameterSource[]::new);
+		this.namedParameterJdbcTemplate.batchUpdate("""
+				INSERT INTO DASHBOARD_JOB_EXECUTION_ROLLUP AS r (DAY, JOB_NAME, STATUS, EXECUTION_COUNT, DURATION_COUNT,
+				                                                 DURATION_SECONDS_SUM, LAST_START_TIME)
+				VALUES (:day, :jobName, :status, :executionCount, :durationCount, :durationSecondsSum, :lastStartTime)
+				ON CONFLICT (DAY, JOB_NAME, STATUS) DO UPDATE SET
+				    EXECUTION_COUNT = r.EXECUTION_COUNT + EXCLUDED.EXECUTION_COUNT,
+				    DURATION_COUNT = r.DURATION_COUNT + EXCLUDED.DURATION_COUNT,
+				    DURATION_SECONDS_SUM = r.DURATION_SECONDS_SUM + EXCLUDED.DURATION_SECONDS_SUM,
+				    LAST_START_TIME = GREATEST(r.LAST_START_TIME, EXCLUDED.LAST_START_TIME)
+				""", rollupParams);
+		SqlParameterSource[] histogramParams = histogramDeltas.entrySet()
+			.stream()
+			.filter(entry -> entry.getValue() != 0)
+			.map(entry -> new MapSqlParameterSource().addValue("jobName", entry.getKey().jobName())
+				.addValue("bucket", entry.getKey().bucket())
+				.addValue("executionCount", entry.getValue()))
+			.toArray(SqlParameterSource[]::new);
+		this.namedParameterJdbcTemplate.batchUpdate("""
+				INSERT INTO DASHBOARD_JOB_DURATION_HISTOGRAM AS h (JOB_NAME, BUCKET, EXECUTION_COUNT)
+				VALUES (:jobName, :bucket, :executionCount)
+				ON CONFLICT (JOB_NAME, BUCKET) DO UPDATE SET
+				    EXECUTION_COUNT = h.EXECUTION_COUNT + EXCLUDED.EXECUTION_COUNT
+				""", histogramParams);
+		SqlParameterSource[] memberParams = changed.stream()
+			.map(member -> new MapSqlParameterSource().addValue("jobExecutionId", member.jobExecutionId())
+				.addValue("day", member.day())
+				.addValue("jobName", member.jobName())
+				.addValue("status", member.status())
+				.addValue("durationSeconds", member.durationSeconds())
+				.addValue("durationBucket",
+						member.durationSeconds() == null ? null : DurationHistogram.bucket(member.durationSeconds()),
+						Types.INTEGER))
+			.toArray(SqlParameterSource[]::new);
+		this.namedParameterJdbcTemplate.batchUpdate("""
+				INSERT INTO DASHBOARD_JOB_EXECUTION_ROLLUP_MEMBER (JOB_EXECUTION_ID, DAY, JOB_NAME, STATUS,
+				                                                   DURATION_SECONDS, DURATION_BUCKET)
+				VALUES (:jobExecutionId, :day, :jobName, :status, :durationSeconds, :durationBucket)
+				ON CONFLICT (JOB_EXECUTION_ID) DO UPDATE SET
+				    DAY = EXCLUDED.DAY,
+				    JOB_NAME = EXCLUDED.JOB_NAME,
+				    STATUS = EXCLUDED.STATUS,
+				    DURATION_SECONDS = EXCLUDED.DURATION_SECONDS,
+				    DURATION_BUCKET = EXCLUDED.DURATION_BUCKET
+				""", memberParams);
+	}
+
+	private Watermark lockWatermark(String name) {
+		return this.jdbcClient.sql("""
+				SELECT
+				    LAST_UPDATED,
+				    LAST_ID
+				FROM
+				    DASHBOARD_ROLLUP_STATE
+				WHERE
+				    NAME = :name
+				FOR UPDATE
+				""").param("name", name).query(Watermark.class).single();
+	}
+
+	private void saveWatermark(String name, Watermark watermark) {
+		this.jdbcClient.sql("""
+				UPDATE
+				    DASHBOARD_ROLLUP_STATE
+				SET
+				    LAST_UPDATED = :lastUpdated,
+				    LAST_ID = :lastId
+				WHERE
+				    NAME = :name
+				""")
+			.param("lastUpdated", watermark.lastUpdated())
+			.param("lastId", watermark.lastId())
+			.param("name", name)
+			.update();
+	}
+
+	private void bumpRevision(String name) {
+		this.jdbcClient.sql("""
+				UPDATE
+				    DASHBOARD_ROLLUP_STATE
+				SET
+				    REVISION = REVISION + 1
+				WHERE
+				    NAME = :name
+				""").param("name", name).update();
+	}
+
+	record Watermark(LocalDateTime lastUpdated, long lastId) {
+	}
+
+	record RollupKey(LocalDate day, String jobName, String status) {
+	}
+
+	record HistogramKey(String jobName, int bucket) {
+	}
+
+	record RollupMember(long jobExecutionId, LocalDate day, String jobName, String status,
+			@Nullable Double durationSeconds, @Nullable Integer durationBucket, @Nullable LocalDateTime startTime,
+			@Nullable LocalDateTime lastUpdated) {
+
+		RollupKey key() {
+			return new RollupKey(this.day, this.jobName, this.status);
+		}
+
+	}
+
+	static class RollupDelta {
+
+		long executionCount;
+
+		long durationCount;
+
+		double durationSecondsSum;
+
+		@Nullable
+		LocalDateTime lastStartTime;
+
+		void add(RollupMember member) {
+			this.executionCount++;
+			if (member.durationSeconds() != null) {
+				this.durationCount++;
+				this.durationSecondsSum += member.durationSeconds();
+			}
+			if (member.startTime() != null
+					&& (this.lastStartTime == null || member.startTime().isAfter(this.lastStartTime))) {
+				this.lastStartTime = member.startTime();
+			}
+		}
+
+		void subtract(RollupMember member) {
+			this.executionCount--;
+			if (member.durationSeconds() != null) {
+				this.durationCount--;
+				this.durationSecondsSum -= member.durationSeconds();
+			}
+		}
+
+		boolean isEmpty() {
+			return this.executionCount == 0 && this.durationCount == 0 && this.durationSecondsSum == 0
+					&& this.lastStartTime == null;
+		}
+
+	}
+
+}
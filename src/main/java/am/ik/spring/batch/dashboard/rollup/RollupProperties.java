@@ -0,0 +1,18 @@
+package am.ik.spring.batch.dashboard.rollup;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled maintains the dashboard-owned rollup tables and serves the statistics
+ * endpoints from them. Requires DDL privileges on the metadata database.
+ * @param interval delay between two incremental updates
+ * @param batchSize maximum number of changed executions applied per transaction
+ * @param overlap how far each update reaches back behind the high-water mark, to pick up
+ * executions committed after a newer change was already applied
+ */
+@ConfigurationProperties(prefix = "dashboard.rollup")
+public record RollupProperties(@DefaultValue("false") boolean enabled, @DefaultValue("30s") Duration interval,
+		@DefaultValue("1000") int batchSize, @DefaultValue("1m") Duration overlap) {
+}
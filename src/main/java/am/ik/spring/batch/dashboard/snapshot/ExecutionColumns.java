@@ -0,0 +1,405 @@
+package am.ik.spring.batch.dashboard.snapshot;
+
+import am.ik.spring.batch.dashboard.job.JobExecution;
+import am.ik.spring.batch.dashboard.job.JobExecutionBuilder;
+import am.ik.spring.batch.dashboard.job.JobExecutionCursor;
+import am.ik.spring.batch.dashboard.job.JobExecutionStats;
+import am.ik.spring.batch.dashboard.job.JobStatus;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.Nullable;
+
+/**
+ * Job executions stored column by column in primitive arrays, one slot per execution. Job
+ * names and exit codes are interned into a dictionary, timestamps are epoch microseconds
+ * and statuses are {@link JobStatus} ordinals. {@code order} lists the slots in
+ * {@code START_TIME DESC, JOB_EXECUTION_ID DESC} order, so that a page is a prefix scan.
+ * <p>
+ * Every execution that started after the {@code horizon}, or has not started yet, is
+ * present. Older executions are dropped to stay within the memory budget, except for
+ * updates of older executions, which stay until the next eviction. Not thread-safe.
+ */
+final class ExecutionColumns {
+
+	static final long NULL_TIME = Long.MIN_VALUE;
+
+	// primitive columns, order entry and id index entries, without the exit message
+	static final int BYTES_PER_EXECUTION = 96;
+
+	private static final JobStatus[] STATUSES = JobStatus.values();
+
+	private final long budget;
+
+	private int size;
+
+	private long[] jobExecutionIds = new long[0];
+
+	private long[] jobInstanceIds = new long[0];
+
+	private int[] jobNames = new int[0];
+
+	private long[] createTimes = new long[0];
+
+	private long[] startTimes = new long[0];
+
+	private long[] endTimes = new long[0];
+
+	private byte[] statuses = new byte[0];
+
+	private int[] exitCodes = new int[0];
+
+	private String[] exitMessages = new String[0];
+
+	private int[] order = new int[0];
+
+	// open addressing from job execution id to slot + 1, where 0 marks a free entry
+	private long[] indexKeys = new long[2048];
+
+	private int[] indexSlots = new int[2048];
+
+	private final List<String> dictionary = new ArrayList<>();
+
+	private final Map<String, Integer> dictionaryIds = new HashMap<>();
+
+	private final BitSet changed = new BitSet();
+
+	private long messageBytes;
+
+	private long horizon = NULL_TIME;
+
+	ExecutionColumns(long budget) {
+		this.budget = budget;
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	long bytes() {
+		return (long) this.size * BYTES_PER_EXECUTION + this.messageBytes;
+	}
+
+	long horizon() {
+		return this.horizon;
+	}
+
+	/**
+	 * Inserts or updates an execution. Changes become visible to queries with
+	 * {@link #commit()}.
+	 */
+	void put(JobExecution execution) {
+		long startTime = micros(execution.startTime());
+		int slot = slot(execution.jobExecutionId());
+		if (slot < 0) {
+			slot = this.size;
+			if (slot == this.jobExecutionIds.length) {
+				resize(Math.max(slot * 2, 1024));
+			}
+			if ((slot + 1) * 2 > this.indexKeys.length) {
+				reindex(this.indexKeys.length * 2);
+			}
+			index(execution.jobExecutionId(), slot);
+			this.size++;
+		}
+		else {
+			this.messageBytes -= messageBytes(this.exitMessages[slot]);
+		}
+		this.jobExecutionIds[slot] = execution.jobExecutionId();
+		this.jobInstanceIds[slot] = execution.jobInstanceId();
+		this.jobNames[slot] = intern(execution.jobName());
+		this.createTimes[slot] = micros(execution.createTime());
+		this.startTimes[slot] = startTime;
+		this.endTimes[slot] = micros(execution.endTime());
+		this.statuses[slot] = (byte) execution.status().ordinal();
+		this.exitCodes[slot] = intern(execution.exitCode());
+		this.exitMessages[slot] = execution.exitMessage();
+		this.messageBytes += messageBytes(execution.exitMessage());
+		this.changed.set(slot);
+	}
+
+	/**
+	 * Moves the slots changed since the last commit to their position in the order and
+	 * drops the oldest executions if the memory budget is exceeded.
+	 */
+	void commit() {
+		if (!this.changed.isEmpty()) {
+			int[] moved = this.changed.stream().toArray();
+			if (!sorted(moved)) {
+				moved = Arrays.stream(moved).boxed().sorted(this::compare).mapToInt(Integer::intValue).toArray();
+			}
+			int[] merged = new int[this.size];
+			int k = 0;
+			int j = 0;
+			for (int slot : this.order) {
+				if (this.changed.get(slot)) {
+					continue;
+				}
+				while (j < moved.length && compare(moved[j], slot) < 0) {
+					merged[k++] = moved[j++];
+				}
+				merged[k++] = slot;
+			}
+			while (j < moved.length) {
+				merged[k++] = moved[j++];
+			}
+			this.order = merged;
+			this.changed.clear();
+		}
+		if (bytes() > this.budget) {
+			// evict a tenth at once rather than a few rows on every poll
+			long target = this.budget / 10 * 9;
+			long bytes = bytes();
+			int keep = this.size;
+			while (keep > 0 && bytes > target) {
+				keep--;
+				bytes -= BYTES_PER_EXECUTION + messageBytes(this.exitMessages[this.order[keep]]);
+			}
+			truncate(keep);
+		}
+	}
+
+	/**
+	 * Keeps the first {@code keep} executions in order and moves the horizon to the start
+	 * time of the first dropped one. Executions that started at the same time are dropped
+	 * as well, so that the horizon stays exact.
+	 */
+	void truncate(int keep) {
+		if (keep >= this.size) {
+			return;
+		}
+		long horizon = this.startTimes[this.order[keep]];
+		if (horizon == NULL_TIME) {
+			throw new IllegalStateException(
+					"The memory budget does not hold the executions that have not started yet (budget: " + this.budget
+							+ " bytes)");
+		}
+		while (keep > 0 && this.startTimes[this.order[keep - 1]] == horizon) {
+			keep--;
+		}
+		this.horizon = Math.max(this.horizon, horizon);
+		// slots are renumbered in order, which keeps scans sequential
+		int[] slots = Arrays.copyOf(this.order, keep);
+		this.jobExecutionIds = gather(this.jobExecutionIds, slots);
+		this.jobInstanceIds = gather(this.jobInstanceIds, slots);
+		this.jobNames = gather(this.jobNames, slots);
+		this.createTimes = gather(this.createTimes, slots);
+		this.startTimes = gather(this.startTimes, slots);
+		this.endTimes = gather(this.endTimes, slots);
+		this.exitCodes = gather(this.exitCodes, slots);
+		byte[] statuses = new byte[keep];
+		String[] exitMessages = new String[keep];
+		this.messageBytes = 0;
+		for (int i = 0; i < keep; i++) {
+			statuses[i] = this.statuses[slots[i]];
+			exitMessages[i] = this.exitMessages[slots[i]];
+			this.messageBytes += messageBytes(exitMessages[i]);
+		}
+		this.statuses = statuses;
+		this.exitMessages = exitMessages;
+		this.size = keep;
+		this.order = new int[keep];
+		Arrays.setAll(this.order, i -> i);
+		reindex(Math.max(Integer.highestOneBit(Math.max(keep, 1)) * 4, 2048));
+	}
+
+	/**
+	 * @return {@code null} if the rows of the page are not all in memory. The count is
+	 * {@code null} unless every execution matching the filters is in memory.
+	 */
+	@Nullable
+	ExecutionSlice find(@Nullable String jobName, @Nullable JobStatus status, @Nullable LocalDateTime startDateFrom,
+			@Nullable LocalDateTime startDateTo, @Nullable JobExecutionCursor cursor, int offset, int limit) {
+		int name = jobName == null ? -1 : this.dictionaryIds.getOrDefault(jobName, -2);
+		int statusOrdinal = status == null ? -1 : status.ordinal();
+		long from = micros(startDateFrom);
+		long to = startDateTo == null ? Long.MAX_VALUE : micros(startDateTo);
+		boolean dateFiltered = startDateFrom != null || startDateTo != null;
+		boolean complete = this.horizon == NULL_TIME || (startDateFrom != null && from > this.horizon);
+		long cursorStartTime = cursor == null ? 0 : sortKey(micros(cursor.startTime()));
+		List<JobExecution> content = new ArrayList<>(limit);
+		long count = 0;
+		int position = 0;
+		for (int i = 0; i < this.size; i++) {
+			int slot = this.order[i];
+			long startTime = this.startTimes[slot];
+			if (!complete && startTime != NULL_TIME && startTime <= this.horizon) {
+				// only the rows before the horizon are known to be complete
+				return null;
+			}
+			if ((name != -1 && this.jobNames[slot] != name)
+					|| (statusOrdinal != -1 && this.statuses[slot] != statusOrdinal)
+					|| (dateFiltered && (startTime == NULL_TIME || startTime < from || startTime > to))) {
+				continue;
+			}
+			count++;
+			if (cursor != null) {
+				long startKey = sortKey(startTime);
+				if (startKey > cursorStartTime
+						|| (startKey == cursorStartTime && this.jobExecutionIds[slot] >= cursor.jobExecutionId())) {
+					continue;
+				}
+			}
+			if (position >= offset && position < offset + limit) {
+				content.add(jobExecution(slot));
+			}
+			position++;
+			if (!complete && position >= offset + limit) {
+				// rows that are not in memory sort after these
+				return new ExecutionSlice(content, null);
+			}
+		}
+		return complete ? new ExecutionSlice(content, count) : null;
+	}
+
+	/**
+	 * Executions per job name started at or after {@code since}, or {@code null} if they
+	 * are not all in memory.
+	 */
+	@Nullable
+	List<JobExecutionStats> countByJobName(LocalDateTime since) {
+		long from = micros(since);
+		if (this.horizon != NULL_TIME && from <= this.horizon) {
+			return null;
+		}
+		long[] counts = new long[this.dictionary.size()];
+		for (int slot = 0; slot < this.size; slot++) {
+			if (this.startTimes[slot] != NULL_TIME && this.startTimes[slot] >= from) {
+				counts[this.jobNames[slot]]++;
+			}
+		}
+		List<JobExecutionStats> stats = new ArrayList<>();
+		for (int name = 0; name < counts.length; name++) {
+			if (counts[name] > 0) {
+				stats.add(new JobExecutionStats(this.dictionary.get(name), counts[name]));
+			}
+		}
+		stats.sort(Comparator.comparingLong(JobExecutionStats::executions)
+			.reversed()
+			.thenComparing(JobExecutionStats::jobName));
+		return stats;
+	}
+
+	private JobExecution jobExecution(int slot) {
+		return JobExecutionBuilder.jobExecution()
+			.jobExecutionId(this.jobExecutionIds[slot])
+			.jobInstanceId(this.jobInstanceIds[slot])
+			.jobName(this.dictionary.get(this.jobNames[slot]))
+			.createTime(time(this.createTimes[slot]))
+			.startTime(time(this.startTimes[slot]))
+			.endTime(time(this.endTimes[slot]))
+			.status(STATUSES[this.statuses[slot]])
+			.exitCode(this.dictionary.get(this.exitCodes[slot]))
+			.exitMessage(this.exitMessages[slot])
+			.build();
+	}
+
+	// rows of the initial load and most polls already arrive in order
+	private boolean sorted(int[] slots) {
+		for (int i = 1; i < slots.length; i++) {
+			if (compare(slots[i - 1], slots[i]) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int compare(int a, int b) {
+		int result = Long.compare(sortKey(this.startTimes[b]), sortKey(this.startTimes[a]));
+		return result != 0 ? result : Long.compare(this.jobExecutionIds[b], this.jobExecutionIds[a]);
+	}
+
+	// executions that have not started yet sort first, like NULLS FIRST in DESC order
+	private static long sortKey(long startTime) {
+		return startTime == NULL_TIME ? Long.MAX_VALUE : startTime;
+	}
+
+	private int intern(String value) {
+		return this.dictionaryIds.computeIfAbsent(value, key -> {
+			this.dictionary.add(key);
+			return this.dictionary.size() - 1;
+		});
+	}
+
+	private int slot(long jobExecutionId) {
+		int mask = this.indexKeys.length - 1;
+		for (int i = hash(jobExecutionId) & mask; this.indexSlots[i] != 0; i = (i + 1) & mask) {
+			if (this.indexKeys[i] == jobExecutionId) {
+				return this.indexSlots[i] - 1;
+			}
+		}
+		return -1;
+	}
+
+	private void index(long jobExecutionId, int slot) {
+		int mask = this.indexKeys.length - 1;
+		int i = hash(jobExecutionId) & mask;
+		while (this.indexSlots[i] != 0) {
+			i = (i + 1) & mask;
+		}
+		this.indexKeys[i] = jobExecutionId;
+		this.indexSlots[i] = slot + 1;
+	}
+
+	private void reindex(int capacity) {
+		this.indexKeys = new long[capacity];
+		this.indexSlots = new int[capacity];
+		for (int slot = 0; slot < this.size; slot++) {
+			index(this.jobExecutionIds[slot], slot);
+		}
+	}
+
+	private static int hash(long key) {
+		return Long.hashCode(key * 0x9E3779B97F4A7C15L);
+	}
+
+	private void resize(int capacity) {
+		this.jobExecutionIds = Arrays.copyOf(this.jobExecutionIds, capacity);
+		this.jobInstanceIds = Arrays.copyOf(this.jobInstanceIds, capacity);
+		this.jobNames = Arrays.copyOf(this.jobNames, capacity);
+		this.createTimes = Arrays.copyOf(this.createTimes, capacity);
+		this.startTimes = Arrays.copyOf(this.startTimes, capacity);
+		this.endTimes = Arrays.copyOf(this.endTimes, capacity);
+		this.statuses = Arrays.copyOf(this.statuses, capacity);
+		this.exitCodes = Arrays.copyOf(this.exitCodes, capacity);
+		this.exitMessages = Arrays.copyOf(this.exitMessages, capacity);
+	}
+
+	private static long[] gather(long[] column, int[] slots) {
+		long[] gathered = new long[slots.length];
+		for (int i = 0; i < slots.length; i++) {
+			gathered[i] = column[slots[i]];
+		}
+		return gathered;
+	}
+
+	private static int[] gather(int[] column, int[] slots) {
+		int[] gathered = new int[slots.length];
+		for (int i = 0; i < slots.length; i++) {
+			gathered[i] = column[slots[i]];
+		}
+		return gathered;
+	}
+
+	private static long messageBytes(@Nullable String exitMessage) {
+		// object header, fields and array header of a Latin-1 string
+		return exitMessage == null || exitMessage.isEmpty() ? 0 : 40 + exitMessage.length();
+	}
+
+	static long micros(@Nullable LocalDateTime time) {
+		return time == null ? NULL_TIME : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+	}
+
+	@Nullable
+	static LocalDateTime time(long micros) {
+		return micros == NULL_TIME ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+				(int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+	}
+
+}
@@ -0,0 +1,15 @@
+package am.ik.spring.batch.dashboard.snapshot;
+
+import am.ik.spring.batch.dashboard.job.JobExecution;
+import java.util.List;
+import org.springframework.lang.Nullable;
+
+/**
+ * A page of job executions read from the {@link ExecutionSnapshot}.
+ *
+ * @param content the rows of the page
+ * @param count exact number of executions matching the filters, or {@code null} if not
+ * all of them are in memory
+ */
+public record ExecutionSlice(List<JobExecution> content, @Nullable Long count) {
+}
@@ -0,0 +1,297 @@
+package am.ik.spring.batch.dashboard.snapshot;
+
+import am.ik.spring.batch.dashboard.index.IndexCatalog;
+import am.ik.spring.batch.dashboard.jdbc.JdbcClientRouter;
+import am.ik.spring.batch.dashboard.job.JobExecution;
+import am.ik.spring.batch.dashboard.job.JobExecutionBuilder;
+import am.ik.spring.batch.dashboard.job.JobExecutionCursor;
+import am.ik.spring.batch.dashboard.job.JobExecutionStats;
+import am.ik.spring.batch.dashboard.job.JobStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the most recent job executions in memory, so that the execution list and the
+ * recent executions statistics do not hit the database on every request. The snapshot is
+ * loaded once, newest first, until the memory budget is used, and then follows the
+ * {@code LAST_UPDATED} high-water mark. Requests that reach behind the oldest execution
+ * in memory, or that the snapshot cannot answer, fall back to SQL. Following the mark
+ * requires an index on {@code LAST_UPDATED}, which is reported on startup if missing.
+ */
+@Component
+@ConditionalOnProperty(name = "dashboard.snapshot.enabled", havingValue = "true")
+public class ExecutionSnapshot {
+
+	private static final Logger log = LoggerFactory.getLogger(ExecutionSnapshot.class);
+
+	private static final String SELECT_JOB_EXECUTIONS = """
+			SELECT
+			    je.JOB_EXECUTION_ID,
+			    je.JOB_INSTANCE_ID,
+			    ji.JOB_NAME,
+			    je.CREATE_TIME,
+			    je.START_TIME,
+			    je.END_TIME,
+			    je.STATUS,
+			    je.EXIT_CODE,
+			    je.EXIT_MESSAGE,
+			    je.LAST_UPDATED
+			FROM
+			    BATCH_JOB_EXECUTION je
+			    JOIN
+			        BATCH_JOB_INSTANCE ji
+			    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+			""";
+
+	private final JdbcClientRouter jdbcClientRouter;
+
+	private final Clock clock;
+
+	private final SnapshotProperties properties;
+
+	private final IndexCatalog indexCatalog;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// a lock rather than synchronized, which would pin the carrier of a virtual thread
+	// while it reads from the database
+	private final Lock refreshLock = new ReentrantLock();
+
+	@Nullable
+	private ExecutionColumns columns;
+
+	@Nullable
+	private volatile LocalDateTime watermark;
+
+	public ExecutionSnapshot(JdbcClientRouter jdbcClientRouter, Clock clock, SnapshotProperties properties,
+			IndexCatalog indexCatalog, MeterRegistry meterRegistry) {
+		this.jdbcClientRouter = jdbcClientRouter;
+		this.clock = clock;
+		this.properties = properties;
+		this.indexCatalog = indexCatalog;
+		Gauge.builder("dashboard.snapshot.executions", this, read(ExecutionColumns::size))
+			.description("Job executions held in memory")
+			.register(meterRegistry);
+		Gauge.builder("dashboard.snapshot.bytes", this, read(ExecutionColumns::bytes))
+			.description("Approximate heap used by the job executions held in memory")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		this.indexCatalog.warnIfMissing("BATCH_JOB_EXECUTION", List.of("LAST_UPDATED"), "execution snapshot polling");
+		// loading up to the memory budget takes a while, so startup does not wait for it
+		Thread.ofVirtual().name("execution-snapshot").start(() -> {
+			try {
+				load();
+			}
+			catch (RuntimeException e) {
+				log.warn("Failed to load the execution snapshot, reading from the database until the next resync", e);
+			}
+		});
+	}
+
+	/**
+	 * Replaces the snapshot with a fresh copy, which also drops executions that have been
+	 * deleted or archived since the last load.
+	 */
+	@Scheduled(initialDelayString = "${dashboard.snapshot.resync-interval:1h}",
+			fixedDelayString = "${dashboard.snapshot.resync-interval:1h}")
+	public void load() {
+		this.refreshLock.lock();
+		try {
+			loadColumns();
+		}
+		finally {
+			this.refreshLock.unlock();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${dashboard.snapshot.poll-interval:2s}")
+	public void poll() {
+		this.refreshLock.lock();
+		try {
+			applyChanges();
+		}
+		finally {
+			this.refreshLock.unlock();
+		}
+	}
+
+	private void loadColumns() {
+		LocalDateTime watermark = Objects
+			.requireNonNullElseGet(this.jdbcClientRouter.route("ExecutionSnapshot.watermark", "ExecutionSnapshot.load")
+				.sql("SELECT MAX(LAST_UPDATED) FROM BATCH_JOB_EXECUTION")
+				.query(LocalDateTime.class)
+				.optional()
+				.orElse(null), () -> LocalDateTime.now(this.clock));
+		long budget = this.properties.memoryBudget().toBytes();
+		// an upper bound, assuming that no execution has an exit message
+		int limit = (int) Math.min(budget / ExecutionColumns.BYTES_PER_EXECUTION, Integer.MAX_VALUE - 8);
+		ExecutionColumns columns = new ExecutionColumns(budget);
+		AtomicInteger loaded = new AtomicInteger();
+		this.jdbcClientRouter.cursor("ExecutionSnapshot.load", 1000,
+				jdbcClient -> jdbcClient.sql(SELECT_JOB_EXECUTIONS + """
+						ORDER BY
+						    je.START_TIME DESC NULLS FIRST,
+						    je.JOB_EXECUTION_ID DESC
+						LIMIT :limit
+						""").param("limit", limit).query(rs -> {
+					loaded.incrementAndGet();
+					// the remaining rows are older and would be evicted right away
+					if (columns.bytes() <= budget) {
+						columns.put(jobExecution(rs));
+					}
+				}));
+		columns.commit();
+		if (loaded.get() == limit && columns.horizon() == ExecutionColumns.NULL_TIME && columns.size() > 0) {
+			// there may be more executions that started at the same time as the last one
+			columns.truncate(columns.size() - 1);
+		}
+		this.lock.writeLock().lock();
+		try {
+			this.columns = columns;
+			// changes applied to the previous snapshot during the load are applied again
+			this.watermark = watermark;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+		log.info("Loaded {} job executions ({} bytes) into the snapshot{}", columns.size(), columns.bytes(),
+				columns.horizon() == ExecutionColumns.NULL_TIME ? ""
+						: ", older than " + ExecutionColumns.time(columns.horizon()) + " are read from the database");
+	}
+
+	private void applyChanges() {
+		LocalDateTime since = this.watermark;
+		if (since == null) {
+			return;
+		}
+		List<ChangedExecution> changes = this.jdbcClientRouter.route("ExecutionSnapshot.poll", "ExecutionSnapshot.load")
+			.sql(SELECT_JOB_EXECUTIONS + """
+					WHERE
+					    je.LAST_UPDATED >= :since
+					ORDER BY
+					    je.LAST_UPDATED ASC
+					""")
+			.param("since", since.minus(this.properties.overlap()))
+			.query((rs, rowNum) -> new ChangedExecution(jobExecution(rs),
+					rs.getObject("LAST_UPDATED", LocalDateTime.class)))
+			.list();
+		if (changes.isEmpty()) {
+			return;
+		}
+		this.lock.writeLock().lock();
+		try {
+			ExecutionColumns columns = Objects.requireNonNull(this.columns);
+			for (ChangedExecution change : changes) {
+				columns.put(change.jobExecution());
+			}
+			columns.commit();
+			LocalDateTime lastUpdated = changes.getLast().lastUpdated();
+			if (lastUpdated != null && lastUpdated.isAfter(since)) {
+				this.watermark = lastUpdated;
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Latest {@code LAST_UPDATED} applied to the snapshot, which moves whenever the
+	 * answers of the snapshot may have changed.
+	 */
+	@Nullable
+	public LocalDateTime watermark() {
+		return this.watermark;
+	}
+
+	/**
+	 * Same filters and order as the SQL of
+	 * {@code JobExecutionMapper#findJobExecutions(JobExecutionsParams)}.
+	 * @return {@code null} if the rows of the page are not all in memory
+	 */
+	@Nullable
+	public ExecutionSlice findJobExecutions(@Nullable String jobName, @Nullable JobStatus status,
+			@Nullable LocalDateTime startDateFrom, @Nullable LocalDateTime startDateTo,
+			@Nullable JobExecutionCursor cursor, int offset, int limit) {
+		this.lock.readLock().lock();
+		try {
+			return this.columns == null ? null
+					: this.columns.find(jobName, status, startDateFrom, startDateTo, cursor, offset, limit);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Executions per job name started since the beginning of the day {@code days} days
+	 * ago, in the time zone of the dashboard.
+	 * @return {@code null} if not all of them are in memory
+	 */
+	@Nullable
+	public List<JobExecutionStats> getJobExecutionStats(int days) {
+		LocalDateTime since = LocalDate.now(this.clock).minusDays(days).atStartOfDay();
+		this.lock.readLock().lock();
+		try {
+			return this.columns == null ? null : this.columns.countByJobName(since);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private static ToDoubleFunction<ExecutionSnapshot> read(ToDoubleFunction<ExecutionColumns> metric) {
+		return snapshot -> {
+			snapshot.lock.readLock().lock();
+			try {
+				return snapshot.columns == null ? 0 : metric.applyAsDouble(snapshot.columns);
+			}
+			finally {
+				snapshot.lock.readLock().unlock();
+			}
+		};
+	}
+
+	private static JobExecution jobExecution(ResultSet rs) throws SQLException {
+		return JobExecutionBuilder.jobExecution()
+			.jobExecutionId(rs.getLong("JOB_EXECUTION_ID"))
+			.jobInstanceId(rs.getLong("JOB_INSTANCE_ID"))
+			.jobName(rs.getString("JOB_NAME"))
+			.createTime(rs.getObject("CREATE_TIME", LocalDateTime.class))
+			.startTime(rs.getObject("START_TIME", LocalDateTime.class))
+			.endTime(rs.getObject("END_TIME", LocalDateTime.class))
+			.status(JobStatus.valueOf(rs.getString("STATUS")))
+			.exitCode(rs.getString("EXIT_CODE"))
+			.exitMessage(rs.getString("EXIT_MESSAGE"))
+			.build();
+	}
+
+	private record ChangedExecution(JobExecution jobExecution, @Nullable LocalDateTime lastUpdated) {
+	}
+
+}
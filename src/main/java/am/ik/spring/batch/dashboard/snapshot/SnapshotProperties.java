@@ -0,0 +1,24 @@
+package am.ik.spring.batch.dashboard.snapshot;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @param enabled keeps the most recent job executions in memory and serves the execution
+ * list and the recent executions statistics from there when they are covered
+ * @param memoryBudget approximate heap used by the in-memory executions, including their
+ * exit messages. The oldest executions by {@code START_TIME} are dropped to stay below
+ * it.
+ * @param pollInterval delay between two polls for changed executions
+ * @param overlap how far each poll reaches back behind the last seen
+ * {@code LAST_UPDATED}, to pick up rows committed after a newer row was already seen
+ * @param resyncInterval delay between two full reloads, which drop executions that were
+ * deleted or archived in the meantime
+ */
+@ConfigurationProperties(prefix = "dashboard.snapshot")
+public record SnapshotProperties(@DefaultValue("false") boolean enabled, @DefaultValue("64MB") DataSize memoryBudget,
+		@DefaultValue("2s") Duration pollInterval, @DefaultValue("5s") Duration overlap,
+		@DefaultValue("1h") Duration resyncInterval) {
+}
@@ -0,0 +1,19 @@
+package am.ik.spring.batch.dashboard.zombie;
+
+import am.ik.spring.batch.dashboard.job.JobStatus;
+import java.time.LocalDateTime;
+import org.springframework.lang.Nullable;
+
+/**
+ * A running job execution that has not reported progress for longer than expected.
+ *
+ * @param stepName the step execution updated last, if any
+ * @param lastUpdated latest {@code LAST_UPDATED} of the job execution and its steps
+ * @param expectedHeartbeatSeconds longest learned time between two updates of the step,
+ * or of any step of the job, {@code null} without enough history
+ * @param thresholdSeconds silence after which the execution is suspected
+ */
+public record SuspectExecution(long jobExecutionId, String jobName, JobStatus status, @Nullable String stepName,
+		@Nullable LocalDateTime startTime, LocalDateTime lastUpdated, double silenceSeconds,
+		@Nullable Double expectedHeartbeatSeconds, double thresholdSeconds) {
+}
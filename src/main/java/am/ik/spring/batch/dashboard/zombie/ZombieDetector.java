@@ -0,0 +1,343 @@
+package am.ik.spring.batch.dashboard.zombie;
+
+import am.ik.spring.batch.dashboard.job.JobStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds running job executions whose JVM is likely gone. Spring Batch updates
+ * {@code LAST_UPDATED} of a step execution on every chunk commit, so the expected time
+ * between two updates is learned per job and step from the duration divided by the commit
+ * count of recently completed step executions. An execution is suspected once the latest
+ * {@code LAST_UPDATED} of it and its steps is older than the longest learned heartbeat
+ * times {@link ZombieDetectorProperties#tolerance()}. Executions still queued by an
+ * asynchronous launcher have no heartbeat yet and are only suspected after
+ * {@link ZombieDetectorProperties#queuedSilence()}.
+ * <p>
+ * Each scan only reads the running executions, through an index on {@code STATUS}, and
+ * the step executions completed since the previous scan, through an index on
+ * {@code LAST_UPDATED}. Suspects are published as the {@code dashboard.zombie.suspects}
+ * and {@code dashboard.zombie.silence} gauges per job.
+ */
+@Component
+@ConditionalOnProperty(name = "dashboard.zombie-detector.enabled", havingValue = "true")
+public class ZombieDetector {
+
+	private static final Logger log = LoggerFactory.getLogger(ZombieDetector.class);
+
+	// the average time between two commits, which is the whole duration for a tasklet
+	// that runs once. A step that hung before it was abandoned is not a heartbeat.
+	private static final String COMPLETED_STEPS = """
+			SELECT
+			    se.STEP_EXECUTION_ID,
+			    ji.JOB_NAME,
+			    se.STEP_NAME,
+			    EXTRACT(EPOCH FROM se.END_TIME - se.START_TIME) / GREATEST(se.COMMIT_COUNT, 1) AS GAP,
+			    se.LAST_UPDATED
+			FROM
+			    BATCH_STEP_EXECUTION se
+			    JOIN
+			        BATCH_JOB_EXECUTION je
+			    ON  se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+			    JOIN
+			        BATCH_JOB_INSTANCE ji
+			    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+			WHERE
+			    se.LAST_UPDATED >= :since
+			AND se.STATUS = 'COMPLETED'
+			AND se.START_TIME IS NOT NULL
+			AND se.END_TIME IS NOT NULL
+			""";
+
+	// fewer samples do not tell a slow chunk from a dead JVM
+	private static final int MIN_SAMPLES = 5;
+
+	private final JdbcClient jdbcClient;
+
+	private final Clock clock;
+
+	private final ZombieDetectorProperties properties;
+
+	private final MultiGauge suspectCount;
+
+	private final MultiGauge silence;
+
+	private final Map<HeartbeatKey, Heartbeats> heartbeats = new HashMap<>();
+
+	private Set<Long> recentStepExecutionIds = Set.of();
+
+	@Nullable
+	private LocalDateTime watermark;
+
+	private volatile List<SuspectExecution> suspects = List.of();
+
+	public ZombieDetector(JdbcClient jdbcClient, Clock clock, ZombieDetectorProperties properties,
+			MeterRegistry meterRegistry) {
+		this.jdbcClient = jdbcClient;
+		this.clock = clock;
+		this.properties = properties;
+		this.suspectCount = MultiGauge.builder("dashboard.zombie.suspects")
+			.description("Running job executions that stopped reporting progress")
+			.register(meterRegistry);
+		this.silence = MultiGauge.builder("dashboard.zombie.silence")
+			.description("Longest time a suspect job execution has not reported progress")
+			.baseUnit("seconds")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Suspects of the last scan, longest silent first.
+	 */
+	public List<SuspectExecution> getSuspects() {
+		return this.suspects;
+	}
+
+	@Scheduled(fixedDelayString = "${dashboard.zombie-detector.interval:1m}")
+	public synchronized void scan() {
+		LocalDateTime now = LocalDateTime.now(this.clock);
+		learn(now);
+		List<SuspectExecution> suspects = new ArrayList<>();
+		this.jdbcClient.sql("""
+				SELECT
+				    je.JOB_EXECUTION_ID,
+				    ji.JOB_NAME,
+				    je.STATUS,
+				    je.CREATE_TIME,
+				    je.START_TIME,
+				    je.LAST_UPDATED,
+				    s.STEP_NAME,
+				    s.LAST_UPDATED AS STEP_LAST_UPDATED
+				FROM
+				    BATCH_JOB_EXECUTION je
+				    JOIN
+				        BATCH_JOB_INSTANCE ji
+				    ON  je.JOB_INSTANCE_ID = ji.JOB_INSTANCE_ID
+				    LEFT JOIN LATERAL (
+				        SELECT
+				            se.STEP_NAME,
+				            se.LAST_UPDATED
+				        FROM
+				            BATCH_STEP_EXECUTION se
+				        WHERE
+				            se.JOB_EXECUTION_ID = je.JOB_EXECUTION_ID
+				        ORDER BY
+				            se.LAST_UPDATED DESC NULLS LAST,
+				            se.STEP_EXECUTION_ID DESC
+				        LIMIT 1
+				    ) s ON TRUE
+				WHERE
+				    je.STATUS IN ('STARTING', 'STARTED', 'STOPPING')
+				""").query(rs -> {
+			String jobName = rs.getString("JOB_NAME");
+			String stepName = rs.getString("STEP_NAME");
+			LocalDateTime lastUpdated = latest(rs.getObject("CREATE_TIME", LocalDateTime.class),
+					rs.getObject("LAST_UPDATED", LocalDateTime.class),
+					rs.getObject("STEP_LAST_UPDATED", LocalDateTime.class));
+			Duration silence = Duration.between(lastUpdated, now);
+			JobStatus status = JobStatus.valueOf(rs.getString("STATUS"));
+			LocalDateTime startTime = rs.getObject("START_TIME", LocalDateTime.class);
+			boolean queued = status == JobStatus.STARTING && startTime == null;
+			Heartbeats learned = queued ? null : learned(jobName, stepName);
+			Duration threshold = threshold(learned, queued, this.properties);
+			if (silence.compareTo(threshold) > 0) {
+				suspects.add(new SuspectExecution(rs.getLong("JOB_EXECUTION_ID"), jobName, status, stepName, startTime,
+						lastUpdated, seconds(silence), learned == null ? null : learned.max(), seconds(threshold)));
+			}
+		});
+		suspects.sort(Comparator.comparingDouble(SuspectExecution::silenceSeconds).reversed());
+		Set<Long> known = this.suspects.stream()
+			.map(SuspectExecution::jobExecutionId)
+			.collect(Collectors.toUnmodifiableSet());
+		suspects.stream()
+			.filter(suspect -> !known.contains(suspect.jobExecutionId()))
+			.forEach(suspect -> log.warn(
+					"Job execution {} of {} has not reported progress since {} (suspected after {} seconds)",
+					suspect.jobExecutionId(), suspect.jobName(), suspect.lastUpdated(), suspect.thresholdSeconds()));
+		this.suspects = List.copyOf(suspects);
+		Map<String, List<SuspectExecution>> byJobName = suspects.stream()
+			.collect(Collectors.groupingBy(SuspectExecution::jobName));
+		this.suspectCount.register(byJobName.entrySet()
+			.stream()
+			.map(entry -> MultiGauge.Row.of(Tags.of("job", entry.getKey()), entry.getValue().size()))
+			.toList(), true);
+		this.silence.register(byJobName.entrySet()
+			.stream()
+			.map(entry -> MultiGauge.Row.of(Tags.of("job", entry.getKey()),
+					entry.getValue().getFirst().silenceSeconds()))
+			.toList(), true);
+	}
+
+	/**
+	 * Adds the step executions completed since the last scan to the learned heartbeats.
+	 * The first scan only reads the most recent {@code samples} step executions per job
+	 * and step within {@code history}.
+	 */
+	private void learn(LocalDateTime now) {
+		String sql;
+		LocalDateTime since;
+		LocalDateTime previous = this.watermark;
+		if (previous == null) {
+			since = now.minus(this.properties.history());
+			sql = """
+					SELECT
+					    h.STEP_EXECUTION_ID,
+					    h.JOB_NAME,
+					    h.STEP_NAME,
+					    h.GAP,
+					    h.LAST_UPDATED
+					FROM
+					    (
+					        SELECT
+					            s.*,
+					            ROW_NUMBER() OVER (
+					                PARTITION BY s.JOB_NAME, s.STEP_NAME
+					                ORDER BY s.LAST_UPDATED DESC
+					            ) AS RN
+					        FROM
+					            (%s) s
+					    ) h
+					WHERE
+					    h.RN <= :samples
+					ORDER BY
+					    h.LAST_UPDATED
+					""".formatted(COMPLETED_STEPS);
+			this.watermark = since;
+		}
+		else {
+			since = previous.minus(this.properties.overlap());
+			sql = COMPLETED_STEPS + """
+					ORDER BY
+					    se.LAST_UPDATED
+					""";
+		}
+		Set<Long> seen = new HashSet<>();
+		try {
+			this.jdbcClient.sql(sql).param("since", since).param("samples", this.properties.samples()).query(rs -> {
+				long stepExecutionId = rs.getLong("STEP_EXECUTION_ID");
+				seen.add(stepExecutionId);
+				if (!this.recentStepExecutionIds.contains(stepExecutionId)) {
+					String jobName = rs.getString("JOB_NAME");
+					double gap = rs.getDouble("GAP");
+					heartbeats(new HeartbeatKey(jobName, rs.getString("STEP_NAME"))).add(gap);
+					heartbeats(new HeartbeatKey(jobName, null)).add(gap);
+				}
+				LocalDateTime lastUpdated = rs.getObject("LAST_UPDATED", LocalDateTime.class);
+				if (lastUpdated.isAfter(this.watermark)) {
+					this.watermark = lastUpdated;
+				}
+			});
+		}
+		catch (RuntimeException e) {
+			// the first scan is repeated in full
+			this.watermark = previous;
+			throw e;
+		}
+		// the next scan only returns these again while they are within the overlap
+		this.recentStepExecutionIds = seen;
+	}
+
+	private Heartbeats heartbeats(HeartbeatKey key) {
+		return this.heartbeats.computeIfAbsent(key, k -> new Heartbeats(this.properties.samples()));
+	}
+
+	@Nullable
+	private Heartbeats learned(String jobName, @Nullable String stepName) {
+		Heartbeats step = this.heartbeats.get(new HeartbeatKey(jobName, stepName));
+		if (stepName != null && step != null && step.size() >= MIN_SAMPLES) {
+			return step;
+		}
+		// a step that has not completed often enough yet, or no step started so far
+		Heartbeats job = this.heartbeats.get(new HeartbeatKey(jobName, null));
+		return job != null && job.size() >= MIN_SAMPLES ? job : null;
+	}
+
+	/**
+	 * @param learned heartbeats of the running step or job, {@code null} if there are not
+	 * enough of them
+	 * @param queued whether the execution has not started yet
+	 */
+	static Duration threshold(@Nullable Heartbeats learned, boolean queued, ZombieDetectorProperties properties) {
+		if (queued) {
+			return properties.queuedSilence();
+		}
+		if (learned == null) {
+			return properties.defaultSilence();
+		}
+		Duration expected = Duration.ofMillis((long) (learned.max() * properties.tolerance() * 1000));
+		return expected.compareTo(properties.minSilence()) > 0 ? expected : properties.minSilence();
+	}
+
+	private static LocalDateTime latest(LocalDateTime createTime, @Nullable LocalDateTime lastUpdated,
+			@Nullable LocalDateTime stepLastUpdated) {
+		LocalDateTime latest = createTime;
+		if (lastUpdated != null && lastUpdated.isAfter(latest)) {
+			latest = lastUpdated;
+		}
+		if (stepLastUpdated != null && stepLastUpdated.isAfter(latest)) {
+			latest = stepLastUpdated;
+		}
+		return latest;
+	}
+
+	private static double seconds(Duration duration) {
+		return duration.toMillis() / 1000.0;
+	}
+
+	private record HeartbeatKey(String jobName, @Nullable String stepName) {
+	}
+
+	/**
+	 * The most recent heartbeats of a job or step, in seconds.
+	 */
+	static final class Heartbeats {
+
+		private final double[] gaps;
+
+		private int size;
+
+		private int next;
+
+		Heartbeats(int capacity) {
+			this.gaps = new double[capacity];
+		}
+
+		void add(double gap) {
+			this.gaps[this.next] = gap;
+			this.next = (this.next + 1) % this.gaps.length;
+			this.size = Math.min(this.size + 1, this.gaps.length);
+		}
+
+		int size() {
+			return this.size;
+		}
+
+		double max() {
+			double max = 0;
+			for (int i = 0; i < this.size; i++) {
+				max = Math.max(max, this.gaps[i]);
+			}
+			return max;
+		}
+
+	}
+
+}
@@ -0,0 +1,32 @@
+package am.ik.spring.batch.dashboard.zombie;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled periodically looks for running job executions that stopped reporting
+ * progress, typically because their JVM died
+ * @param interval delay between two scans
+ * @param history how far back the expected heartbeats are learned from on startup
+ * @param samples number of recent completed step executions per job and step the expected
+ * heartbeat is learned from
+ * @param tolerance factor applied to the longest learned heartbeat before an execution is
+ * suspected
+ * @param minSilence executions are never suspected before they have been silent for this
+ * long
+ * @param defaultSilence silence after which executions of jobs without enough history are
+ * suspected
+ * @param queuedSilence silence after which {@code STARTING} executions that have not
+ * started yet are suspected. An asynchronous launcher queues them until a thread is free,
+ * and they report no progress while queued.
+ * @param overlap how far each scan reaches back behind the last seen
+ * {@code LAST_UPDATED}, to pick up step executions committed after a newer one was
+ * already seen
+ */
+@ConfigurationProperties(prefix = "dashboard.zombie-detector")
+public record ZombieDetectorProperties(@DefaultValue("false") boolean enabled, @DefaultValue("1m") Duration interval,
+		@DefaultValue("30d") Duration history, @DefaultValue("100") int samples, @DefaultValue("3.0") double tolerance,
+		@DefaultValue("5m") Duration minSilence, @DefaultValue("1h") Duration defaultSilence,
+		@DefaultValue("1h") Duration queuedSilence, @DefaultValue("5s") Duration overlap) {
+}
@@ -0,0 +1,64 @@
+-- Archive tables have the columns of the Spring Batch tables they are moved from, so that
+-- rows can be moved with SELECT *. Child tables carry the CREATE_TIME of their job
+-- execution as the partition key, so all rows of an execution land in the same month.
+-- Job instances are moved with all of their executions and are not partitioned.
+CREATE TABLE IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_INSTANCE
+(
+    LIKE BATCH_JOB_INSTANCE
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_INSTANCE_ID_IDX
+    ON DASHBOARD_ARCHIVE_JOB_INSTANCE (JOB_INSTANCE_ID);
+
+CREATE TABLE IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_EXECUTION
+(
+    LIKE BATCH_JOB_EXECUTION
+) PARTITION BY RANGE (CREATE_TIME);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_EXECUTION_ID_IDX
+    ON DASHBOARD_ARCHIVE_JOB_EXECUTION (JOB_EXECUTION_ID);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_EXECUTION_START_TIME_IDX
+    ON DASHBOARD_ARCHIVE_JOB_EXECUTION (START_TIME, JOB_EXECUTION_ID);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_EXECUTION_JOB_INSTANCE_IDX
+    ON DASHBOARD_ARCHIVE_JOB_EXECUTION (JOB_INSTANCE_ID);
+
+CREATE TABLE IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_EXECUTION_PARAMS
+(
+    LIKE BATCH_JOB_EXECUTION_PARAMS,
+    JOB_EXECUTION_CREATE_TIME TIMESTAMP NOT NULL
+) PARTITION BY RANGE (JOB_EXECUTION_CREATE_TIME);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_EXECUTION_PARAMS_ID_IDX
+    ON DASHBOARD_ARCHIVE_JOB_EXECUTION_PARAMS (JOB_EXECUTION_ID);
+
+CREATE TABLE IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_EXECUTION_CONTEXT
+(
+    LIKE BATCH_JOB_EXECUTION_CONTEXT,
+    JOB_EXECUTION_CREATE_TIME TIMESTAMP NOT NULL
+) PARTITION BY RANGE (JOB_EXECUTION_CREATE_TIME);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_ARCHIVE_JOB_EXECUTION_CONTEXT_ID_IDX
+    ON DASHBOARD_ARCHIVE_JOB_EXECUTION_CONTEXT (JOB_EXECUTION_ID);
+
+CREATE TABLE IF NOT EXISTS DASHBOARD_ARCHIVE_STEP_EXECUTION
+(
+    LIKE BATCH_STEP_EXECUTION,
+    JOB_EXECUTION_CREATE_TIME TIMESTAMP NOT NULL
+) PARTITION BY RANGE (JOB_EXECUTION_CREATE_TIME);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_ARCHIVE_STEP_EXECUTION_ID_IDX
+    ON DASHBOARD_ARCHIVE_STEP_EXECUTION (STEP_EXECUTION_ID);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_ARCHIVE_STEP_EXECUTION_JOB_EXECUTION_IDX
+    ON DASHBOARD_ARCHIVE_STEP_EXECUTION (JOB_EXECUTION_ID);
+
+CREATE TABLE IF NOT EXISTS DASHBOARD_ARCHIVE_STEP_EXECUTION_CONTEXT
+(
+    LIKE BATCH_STEP_EXECUTION_CONTEXT,
+    JOB_EXECUTION_CREATE_TIME TIMESTAMP NOT NULL
+) PARTITION BY RANGE (JOB_EXECUTION_CREATE_TIME);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_ARCHIVE_STEP_EXECUTION_CONTEXT_ID_IDX
+    ON DASHBOARD_ARCHIVE_STEP_EXECUTION_CONTEXT (STEP_EXECUTION_ID);
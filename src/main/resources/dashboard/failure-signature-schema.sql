@@ -0,0 +1,44 @@
+CREATE TABLE IF NOT EXISTS DASHBOARD_ROLLUP_STATE
+(
+    NAME         VARCHAR(100) NOT NULL PRIMARY KEY,
+    LAST_UPDATED TIMESTAMP    NOT NULL,
+    LAST_ID      BIGINT       NOT NULL,
+    -- bumped when rows behind the mark are applied, which moves neither LAST_UPDATED nor LAST_ID
+    REVISION     BIGINT       NOT NULL DEFAULT 0
+);
+
+INSERT INTO DASHBOARD_ROLLUP_STATE (NAME, LAST_UPDATED, LAST_ID)
+VALUES ('failure_signature', TIMESTAMP '1970-01-01 00:00:00', 0)
+ON CONFLICT (NAME) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS DASHBOARD_FAILURE_SIGNATURE
+(
+    SIGNATURE          VARCHAR(16)   NOT NULL PRIMARY KEY,
+    EXIT_CODE          VARCHAR(2500) NOT NULL,
+    NORMALIZED_MESSAGE VARCHAR(2500) NOT NULL,
+    FIRST_SEEN         TIMESTAMP     NOT NULL,
+    LAST_SEEN          TIMESTAMP     NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS DASHBOARD_FAILURE_SIGNATURE_DAILY
+(
+    DAY           DATE         NOT NULL,
+    SIGNATURE     VARCHAR(16)  NOT NULL,
+    JOB_NAME      VARCHAR(100) NOT NULL,
+    FAILURE_COUNT BIGINT       NOT NULL,
+    FIRST_SEEN    TIMESTAMP    NOT NULL,
+    LAST_SEEN     TIMESTAMP    NOT NULL,
+    PRIMARY KEY (DAY, SIGNATURE, JOB_NAME)
+);
+
+-- one row per counted execution, so an execution is counted once however often it is updated
+CREATE TABLE IF NOT EXISTS DASHBOARD_FAILURE_SIGNATURE_MEMBER
+(
+    JOB_EXECUTION_ID BIGINT       NOT NULL PRIMARY KEY,
+    SIGNATURE        VARCHAR(16)  NOT NULL,
+    JOB_NAME         VARCHAR(100) NOT NULL,
+    FAILED_AT        TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_FAILURE_SIGNATURE_MEMBER_SIGNATURE_IDX
+    ON DASHBOARD_FAILURE_SIGNATURE_MEMBER (SIGNATURE, FAILED_AT DESC);
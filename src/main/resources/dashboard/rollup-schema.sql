@@ -0,0 +1,53 @@
+CREATE TABLE IF NOT EXISTS DASHBOARD_ROLLUP_STATE
+(
+    NAME         VARCHAR(100) NOT NULL PRIMARY KEY,
+    LAST_UPDATED TIMESTAMP    NOT NULL,
+    LAST_ID      BIGINT       NOT NULL,
+    -- bumped when rows behind the mark are applied, which moves neither LAST_UPDATED nor LAST_ID
+    REVISION     BIGINT       NOT NULL DEFAULT 0
+);
+
+INSERT INTO DASHBOARD_ROLLUP_STATE (NAME, LAST_UPDATED, LAST_ID)
+VALUES ('job_instance', TIMESTAMP '1970-01-01 00:00:00', 0),
+       ('job_execution', TIMESTAMP '1970-01-01 00:00:00', 0)
+ON CONFLICT (NAME) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS DASHBOARD_JOB_NAME
+(
+    JOB_NAME VARCHAR(100) NOT NULL PRIMARY KEY
+);
+
+CREATE TABLE IF NOT EXISTS DASHBOARD_JOB_EXECUTION_ROLLUP
+(
+    DAY                  DATE             NOT NULL,
+    JOB_NAME             VARCHAR(100)     NOT NULL,
+    STATUS               VARCHAR(10)      NOT NULL,
+    EXECUTION_COUNT      BIGINT           NOT NULL,
+    DURATION_COUNT       BIGINT           NOT NULL,
+    DURATION_SECONDS_SUM DOUBLE PRECISION NOT NULL,
+    LAST_START_TIME      TIMESTAMP,
+    PRIMARY KEY (DAY, JOB_NAME, STATUS)
+);
+
+CREATE INDEX IF NOT EXISTS DASHBOARD_JOB_EXECUTION_ROLLUP_JOB_NAME_IDX ON DASHBOARD_JOB_EXECUTION_ROLLUP (JOB_NAME);
+
+-- What each execution currently contributes to DASHBOARD_JOB_EXECUTION_ROLLUP, so that a
+-- status change can be moved from one rollup row to another
+CREATE TABLE IF NOT EXISTS DASHBOARD_JOB_EXECUTION_ROLLUP_MEMBER
+(
+    JOB_EXECUTION_ID BIGINT       NOT NULL PRIMARY KEY,
+    DAY              DATE         NOT NULL,
+    JOB_NAME         VARCHAR(100) NOT NULL,
+    STATUS           VARCHAR(10)  NOT NULL,
+    DURATION_SECONDS DOUBLE PRECISION,
+    DURATION_BUCKET  INT
+);
+
+-- Number of finished executions per job and log-scale duration bucket (see DurationHistogram)
+CREATE TABLE IF NOT EXISTS DASHBOARD_JOB_DURATION_HISTOGRAM
+(
+    JOB_NAME        VARCHAR(100) NOT NULL,
+    BUCKET          INT          NOT NULL,
+    EXECUTION_COUNT BIGINT       NOT NULL,
+    PRIMARY KEY (JOB_NAME, BUCKET)
+);
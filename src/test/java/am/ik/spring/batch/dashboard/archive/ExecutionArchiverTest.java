@@ -0,0 +1,150 @@
+package am.ik.spring.batch.dashboard.archive;
+
+import am.ik.spring.batch.dashboard.TestcontainersConfiguration;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest(properties = { "dashboard.archive.enabled=true", "spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:batch/schema-postgresql.sql" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ TestcontainersConfiguration.class, ExecutionArchiver.class })
+@EnableConfigurationProperties(ArchiveProperties.class)
+class ExecutionArchiverTest {
+
+	private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+	@Autowired
+	ExecutionArchiver archiver;
+
+	@Autowired
+	JdbcClient jdbcClient;
+
+	@Test
+	void archiveChunkMovesFinishedInstancesWithAllTheirRows() {
+		// completed before the cutoff
+		instance(1);
+		execution(1, 1, "COMPLETED", CUTOFF.minusMonths(2));
+		// failed, then completed before the cutoff, over two months
+		instance(2);
+		execution(2, 2, "FAILED", CUTOFF.minusMonths(3));
+		execution(3, 2, "COMPLETED", CUTOFF.minusMonths(2));
+		// failed only, Spring Batch may still restart it
+		instance(3);
+		execution(4, 3, "FAILED", CUTOFF.minusMonths(2));
+		// completed, but also run after the cutoff
+		instance(4);
+		execution(5, 4, "COMPLETED", CUTOFF.minusMonths(2));
+		execution(6, 4, "COMPLETED", CUTOFF.plusDays(1));
+
+		assertThat(this.archiver.archiveChunk(CUTOFF)).isEqualTo(2);
+
+		assertThat(ids("SELECT JOB_INSTANCE_ID FROM BATCH_JOB_INSTANCE")).containsExactly(3L, 4L);
+		assertThat(ids("SELECT JOB_EXECUTION_ID FROM BATCH_JOB_EXECUTION")).containsExactly(4L, 5L, 6L);
+		assertThat(ids("SELECT JOB_EXECUTION_ID FROM BATCH_JOB_EXECUTION_PARAMS")).containsExactly(4L, 5L, 6L);
+		assertThat(ids("SELECT JOB_EXECUTION_ID FROM BATCH_JOB_EXECUTION_CONTEXT")).containsExactly(4L, 5L, 6L);
+		assertThat(ids("SELECT JOB_EXECUTION_ID FROM BATCH_STEP_EXECUTION")).containsExactly(4L, 5L, 6L);
+		assertThat(ids("SELECT STEP_EXECUTION_ID FROM BATCH_STEP_EXECUTION_CONTEXT")).containsExactly(4L, 5L, 6L);
+
+		assertThat(ids("SELECT JOB_INSTANCE_ID FROM DASHBOARD_ARCHIVE_JOB_INSTANCE")).containsExactly(1L, 2L);
+		assertThat(ids("SELECT JOB_EXECUTION_ID FROM DASHBOARD_ARCHIVE_JOB_EXECUTION")).containsExactly(1L, 2L, 3L);
+		assertThat(ids("SELECT JOB_EXECUTION_ID FROM DASHBOARD_ARCHIVE_JOB_EXECUTION_PARAMS")).containsExactly(1L, 2L,
+				3L);
+		assertThat(ids("SELECT JOB_EXECUTION_ID FROM DASHBOARD_ARCHIVE_JOB_EXECUTION_CONTEXT")).containsExactly(1L, 2L,
+				3L);
+		assertThat(ids("SELECT STEP_EXECUTION_ID FROM DASHBOARD_ARCHIVE_STEP_EXECUTION")).containsExactly(1L, 2L, 3L);
+		assertThat(ids("SELECT STEP_EXECUTION_ID FROM DASHBOARD_ARCHIVE_STEP_EXECUTION_CONTEXT")).containsExactly(1L,
+				2L, 3L);
+		// the children are partitioned by the CREATE_TIME of their job execution
+		assertThat(this.jdbcClient.sql("""
+				SELECT
+				    JOB_EXECUTION_CREATE_TIME
+				FROM
+				    DASHBOARD_ARCHIVE_STEP_EXECUTION
+				WHERE
+				    STEP_EXECUTION_ID = 2
+				""").query(LocalDateTime.class).single()).isEqualTo(CUTOFF.minusMonths(3));
+		assertThat(this.jdbcClient.sql("""
+				SELECT
+				    STATUS
+				FROM
+				    DASHBOARD_ARCHIVE_JOB_EXECUTION
+				WHERE
+				    JOB_EXECUTION_ID = 3
+				""").query(String.class).single()).isEqualTo("COMPLETED");
+
+		assertThat(this.archiver.archiveChunk(CUTOFF)).isZero();
+	}
+
+	private List<Long> ids(String sql) {
+		return this.jdbcClient.sql(sql + " ORDER BY 1").query(Long.class).list();
+	}
+
+	private void instance(long jobInstanceId) {
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_JOB_INSTANCE (JOB_INSTANCE_ID, VERSION, JOB_NAME, JOB_KEY)
+				VALUES (:jobInstanceId, 0, 'job', md5(:jobInstanceId::VARCHAR))
+				""").param("jobInstanceId", jobInstanceId).update();
+	}
+
+	// one parameter, context, step and step context per execution, with the ID of the
+	// execution
+	private void execution(long jobExecutionId, long jobInstanceId, String status, LocalDateTime createTime) {
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_JOB_EXECUTION (JOB_EXECUTION_ID, VERSION, JOB_INSTANCE_ID, CREATE_TIME, START_TIME,
+				    END_TIME, STATUS, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED)
+				VALUES (:id, 2, :jobInstanceId, :createTime, :createTime, :endTime, :status, :status, '', :endTime)
+				""")
+			.param("id", jobExecutionId)
+			.param("jobInstanceId", jobInstanceId)
+			.param("createTime", createTime)
+			.param("endTime", createTime.plusMinutes(1))
+			.param("status", status)
+			.update();
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_JOB_EXECUTION_PARAMS (JOB_EXECUTION_ID, PARAMETER_NAME, PARAMETER_TYPE,
+				    PARAMETER_VALUE, IDENTIFYING)
+				VALUES (:id, 'run', 'java.lang.Long', :id::VARCHAR, 'Y')
+				""").param("id", jobExecutionId).update();
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_JOB_EXECUTION_CONTEXT (JOB_EXECUTION_ID, SHORT_CONTEXT)
+				VALUES (:id, '{}')
+				""").param("id", jobExecutionId).update();
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_STEP_EXECUTION (STEP_EXECUTION_ID, VERSION, STEP_NAME, JOB_EXECUTION_ID, CREATE_TIME,
+				    START_TIME, END_TIME, STATUS, EXIT_CODE, EXIT_MESSAGE, LAST_UPDATED)
+				VALUES (:id, 3, 'step', :id, :createTime, :createTime, :endTime, :status, :status, '', :endTime)
+				""")
+			.param("id", jobExecutionId)
+			.param("createTime", createTime)
+			.param("endTime", createTime.plusMinutes(1))
+			.param("status", status)
+			.update();
+		this.jdbcClient.sql("""
+				INSERT INTO BATCH_STEP_EXECUTION_CONTEXT (STEP_EXECUTION_ID, SHORT_CONTEXT)
+				VALUES (:id, '{}')
+				""").param("id", jobExecutionId).update();
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class ClockConfig {
+
+		@Bean
+		Clock clock() {
+			return Clock.systemDefaultZone();
+		}
+
+	}
+
+}
@@ -0,0 +1,61 @@
+package am.ik.spring.batch.dashboard.job;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionTimelineLoaderTest {
+
+	private static final long MINUTE = 60_000;
+
+	@Test
+	void concurrencyOfNoIntervals() {
+		assertThat(ExecutionTimelineLoader.concurrency(new long[0], new long[0], 0, 3 * MINUTE)).containsExactly(0, 0,
+				0);
+	}
+
+	@Test
+	void concurrencyCountsOverlappingIntervals() {
+		long[] start = { 0, 30_000, MINUTE + 10_000 };
+		long[] end = { 2 * MINUTE, MINUTE + 5_000, 2 * MINUTE + 1 };
+		assertThat(ExecutionTimelineLoader.concurrency(start, end, 3, 4 * MINUTE)).containsExactly(2, 2, 1, 0);
+	}
+
+	@Test
+	void concurrencyOfHalfOpenIntervals() {
+		// the second one starts when the first one ends
+		long[] start = { 0, 30_000 };
+		long[] end = { 30_000, 90_000 };
+		assertThat(ExecutionTimelineLoader.concurrency(start, end, 2, 2 * MINUTE)).containsExactly(1, 1);
+	}
+
+	@Test
+	void concurrencyExcludesIntervalsEndingAsMinuteBegins() {
+		long[] start = { 0 };
+		long[] end = { MINUTE };
+		assertThat(ExecutionTimelineLoader.concurrency(start, end, 1, 2 * MINUTE)).containsExactly(1, 0);
+	}
+
+	@Test
+	void concurrencyCountsShortIntervalsInTheirMinute() {
+		long[] start = { 10_000, 20_000 };
+		long[] end = { 10_000, 20_001 };
+		assertThat(ExecutionTimelineLoader.concurrency(start, end, 2, 2 * MINUTE)).containsExactly(1, 0);
+	}
+
+	@Test
+	void concurrencyClampsIntervalsToWindow() {
+		// started before the window, and still running after it
+		long[] start = { -MINUTE, 90_000 };
+		long[] end = { 3 * MINUTE, 5 * MINUTE };
+		assertThat(ExecutionTimelineLoader.concurrency(start, end, 2, 150_000)).containsExactly(1, 2, 2);
+	}
+
+	@Test
+	void concurrencyIgnoresArrayCapacity() {
+		long[] start = { 0, 0, 0 };
+		long[] end = { MINUTE, 0, 0 };
+		assertThat(ExecutionTimelineLoader.concurrency(start, end, 1, MINUTE)).containsExactly(1);
+	}
+
+}
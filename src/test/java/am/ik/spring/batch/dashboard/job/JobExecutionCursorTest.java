@@ -0,0 +1,47 @@
+package am.ik.spring.batch.dashboard.job;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class JobExecutionCursorTest {
+
+	@Test
+	void encodeAndDecode() {
+		JobExecutionCursor cursor = new JobExecutionCursor(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_000), 42);
+		String encoded = cursor.encode();
+		assertThat(encoded).doesNotContain("=", "+", "/");
+		assertThat(JobExecutionCursor.decode(encoded)).isEqualTo(cursor);
+	}
+
+	@Test
+	void encodeAndDecodeWithoutStartTime() {
+		JobExecutionCursor cursor = new JobExecutionCursor(null, 7);
+		assertThat(JobExecutionCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void decodeRejectsInvalidCursors() {
+		assertThatExceptionOfType(InvalidRequestException.class)
+			.isThrownBy(() -> JobExecutionCursor.decode("not base64!"))
+			.withMessageContaining("Invalid cursor");
+		assertThatExceptionOfType(InvalidRequestException.class)
+			.isThrownBy(() -> JobExecutionCursor.decode(encode("42")))
+			.withMessageContaining("Invalid cursor");
+		assertThatExceptionOfType(InvalidRequestException.class)
+			.isThrownBy(() -> JobExecutionCursor.decode(encode("yesterday|42")))
+			.withMessageContaining("Invalid cursor");
+		assertThatExceptionOfType(InvalidRequestException.class)
+			.isThrownBy(() -> JobExecutionCursor.decode(encode("2024-05-01T10:15:30|abc")))
+			.withMessageContaining("Invalid cursor");
+	}
+
+	private static String encode(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
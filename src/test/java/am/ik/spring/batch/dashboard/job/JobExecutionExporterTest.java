@@ -0,0 +1,34 @@
+package am.ik.spring.batch.dashboard.job;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobExecutionExporterTest {
+
+	@Test
+	void csvKeepsPlainValues() {
+		assertThat(JobExecutionExporter.csv("importJob")).isEqualTo("importJob");
+		assertThat(JobExecutionExporter.csv("it's ok")).isEqualTo("it's ok");
+		assertThat(JobExecutionExporter.csv("")).isEmpty();
+	}
+
+	@Test
+	void csvWritesNullAsEmpty() {
+		assertThat(JobExecutionExporter.csv(null)).isEmpty();
+	}
+
+	@Test
+	void csvQuotesSeparators() {
+		assertThat(JobExecutionExporter.csv("a,b")).isEqualTo("\"a,b\"");
+		assertThat(JobExecutionExporter.csv("first\nsecond")).isEqualTo("\"first\nsecond\"");
+		assertThat(JobExecutionExporter.csv("first\r\nsecond")).isEqualTo("\"first\r\nsecond\"");
+	}
+
+	@Test
+	void csvDoublesQuotes() {
+		assertThat(JobExecutionExporter.csv("file \"a.csv\" not found")).isEqualTo("\"file \"\"a.csv\"\" not found\"");
+		assertThat(JobExecutionExporter.csv("\"")).isEqualTo("\"\"\"\"");
+	}
+
+}
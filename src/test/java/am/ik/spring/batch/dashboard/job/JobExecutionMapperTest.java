@@ -0,0 +1,43 @@
+package am.ik.spring.batch.dashboard.job;
+
+import org.junit.jupiter.api.Test;
+
+import static am.ik.spring.batch.dashboard.job.JobExecutionMapper.MATCH_START;
+import static am.ik.spring.batch.dashboard.job.JobExecutionMapper.MATCH_STOP;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobExecutionMapperTest {
+
+	@Test
+	void snippetRestoresTranslatedCharacters() {
+		String exitMessage = "java.lang.IllegalStateException: file /tmp/a.csv not found";
+		String headline = "java lang " + MATCH_START + "IllegalStateException" + MATCH_STOP
+				+ ": file  tmp a csv not found";
+		assertThat(JobExecutionMapper.snippet(exitMessage, headline))
+			.isEqualTo("java.lang.<mark>IllegalStateException</mark>: file /tmp/a.csv not found");
+	}
+
+	@Test
+	void snippetEscapesMessage() {
+		String exitMessage = "<script>alert('x')</script> & <mark>timeout</mark>";
+		String headline = "<script>alert('x')< script> & <mark>" + MATCH_START + "timeout" + MATCH_STOP + "< mark>";
+		assertThat(JobExecutionMapper.snippet(exitMessage, headline)).isEqualTo(
+				"&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &lt;mark&gt;<mark>timeout</mark>&lt;/mark&gt;");
+	}
+
+	@Test
+	void snippetOfPartOfMessage() {
+		String exitMessage = "first line\nconnection refused by db.example.com\nlast line";
+		String headline = MATCH_START + "connection" + MATCH_STOP + " " + MATCH_START + "refused" + MATCH_STOP
+				+ " by db example com";
+		assertThat(JobExecutionMapper.snippet(exitMessage, headline))
+			.isEqualTo("<mark>connection</mark> <mark>refused</mark> by db.example.com");
+	}
+
+	@Test
+	void snippetEscapesHeadlineNotFoundInMessage() {
+		String headline = "a < b " + MATCH_START + "c" + MATCH_STOP;
+		assertThat(JobExecutionMapper.snippet("unrelated", headline)).isEqualTo("a &lt; b <mark>c</mark>");
+	}
+
+}
@@ -0,0 +1,47 @@
+package am.ik.spring.batch.dashboard.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DurationHistogramTest {
+
+	@Test
+	void bucketOfSubMillisecondDurationIsZero() {
+		assertThat(DurationHistogram.bucket(0)).isZero();
+		assertThat(DurationHistogram.bucket(0.0005)).isZero();
+		assertThat(DurationHistogram.bucket(0.001)).isZero();
+	}
+
+	@Test
+	void bucketBoundsContainDuration() {
+		for (double seconds : new double[] { 0.002, 0.5, 1, 59.9, 3600, 86_400 * 3 }) {
+			int bucket = DurationHistogram.bucket(seconds);
+			double millis = seconds * 1000;
+			assertThat(Math.pow(DurationHistogram.GAMMA, bucket - 1)).isLessThan(millis);
+			assertThat(Math.pow(DurationHistogram.GAMMA, bucket)).isGreaterThanOrEqualTo(millis * (1 - 1e-12));
+		}
+	}
+
+	@Test
+	void bucketIsMonotonic() {
+		int previous = DurationHistogram.bucket(0.001);
+		for (double seconds = 0.001; seconds < 100_000; seconds *= 1.01) {
+			int bucket = DurationHistogram.bucket(seconds);
+			assertThat(bucket).isGreaterThanOrEqualTo(previous);
+			previous = bucket;
+		}
+	}
+
+	@Test
+	void representativeValueIsWithinOnePercent() {
+		for (double seconds : new double[] { 0.01, 1, 42, 3600 }) {
+			int bucket = DurationHistogram.bucket(seconds);
+			double representative = 2 * Math.pow(DurationHistogram.GAMMA, bucket) / (DurationHistogram.GAMMA + 1)
+					/ 1000;
+			assertThat(representative).isCloseTo(seconds, within(seconds * 0.01));
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+package am.ik.spring.batch.dashboard.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailureSignatureTest {
+
+	@Test
+	void normalizeReplacesVaryingParts() {
+		assertThat(FailureSignature.normalize(
+				"Item 42 of chunk 1,000 failed at 2024-05-01T10:15:30.123Z for 123e4567-e89b-12d3-a456-426614174000",
+				10))
+			.isEqualTo("Item <n> of chunk <n> failed at <timestamp> for <uuid>");
+		assertThat(FailureSignature.normalize("Lock held by java.lang.Object@1b6d3586 at 0x7ffe5a3c", 10))
+			.isEqualTo("Lock held by java.lang.Object<hex> at <hex>");
+	}
+
+	@Test
+	void normalizeRemovesLineNumbers() {
+		assertThat(FailureSignature.normalize("""
+				java.lang.IllegalStateException: boom
+				\tat com.example.Foo.bar(Foo.java:123)""", 10))
+			.isEqualTo("java.lang.IllegalStateException: boom\n at com.example.Foo.bar(Foo.java)");
+	}
+
+	@Test
+	void normalizeKeepsErrorCodes() {
+		assertThat(FailureSignature.normalize("ORA-00942: table or view does not exist", 10))
+			.isEqualTo("ORA-00942: table or view does not exist");
+		assertThat(FailureSignature.normalize("Error E1234 in step", 10)).isEqualTo("Error E1234 in step");
+		assertThat(FailureSignature.normalize("HTTP 404 Not Found after 1500 ms", 10))
+			.isEqualTo("HTTP 404 Not Found after <n> ms");
+	}
+
+	@Test
+	void normalizeKeepsMaxLines() {
+		assertThat(FailureSignature.normalize("first\nsecond\nthird", 2)).isEqualTo("first\nsecond");
+	}
+
+	@Test
+	void normalizeDropsTruncatedLastLine() {
+		String message = "first\n" + "x".repeat(FailureSignature.MAX_EXIT_MESSAGE_LENGTH);
+		assertThat(FailureSignature.normalize(message, 10)).isEqualTo("first");
+	}
+
+	@Test
+	void normalizeBlankMessage() {
+		assertThat(FailureSignature.normalize(null, 10)).isEmpty();
+		assertThat(FailureSignature.normalize("  ", 10)).isEmpty();
+	}
+
+	@Test
+	void signatureGroupsSameFailure() {
+		assertThat(FailureSignature.of("FAILED", "Timeout after 30 s on attempt 2", 10))
+			.isEqualTo(FailureSignature.of("FAILED", "Timeout after 45 s on attempt 3", 10));
+	}
+
+	@Test
+	void signatureSeparatesDistinctCodes() {
+		assertThat(FailureSignature.of("FAILED", "ORA-00942: table or view does not exist", 10).signature())
+			.isNotEqualTo(FailureSignature.of("FAILED", "ORA-01017: table or view does not exist", 10).signature());
+		assertThat(FailureSignature.of("FAILED", "Server returned 404", 10).signature())
+			.isNotEqualTo(FailureSignature.of("FAILED", "Server returned 500", 10).signature());
+		assertThat(FailureSignature.of("FAILED", "boom", 10).signature())
+			.isNotEqualTo(FailureSignature.of("UNKNOWN", "boom", 10).signature());
+	}
+
+}
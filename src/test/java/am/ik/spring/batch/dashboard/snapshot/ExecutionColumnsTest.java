@@ -0,0 +1,156 @@
+package am.ik.spring.batch.dashboard.snapshot;
+
+import am.ik.spring.batch.dashboard.job.JobExecution;
+import am.ik.spring.batch.dashboard.job.JobExecutionBuilder;
+import am.ik.spring.batch.dashboard.job.JobExecutionCursor;
+import am.ik.spring.batch.dashboard.job.JobExecutionStats;
+import am.ik.spring.batch.dashboard.job.JobStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ExecutionColumnsTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+	@Test
+	void findReturnsNewestFirstWithUnstartedOnTop() {
+		ExecutionColumns columns = new ExecutionColumns(Long.MAX_VALUE);
+		columns.put(execution(1, "a", T0.plusMinutes(1), JobStatus.COMPLETED));
+		columns.put(execution(2, "b", T0.plusMinutes(3), JobStatus.FAILED));
+		columns.put(execution(3, "a", null, JobStatus.STARTING));
+		columns.put(execution(4, "a", T0.plusMinutes(2), JobStatus.STARTED));
+		columns.commit();
+		ExecutionSlice slice = columns.find(null, null, null, null, null, 0, 10);
+		assertThat(slice).isNotNull();
+		assertThat(ids(slice)).containsExactly(3L, 2L, 4L, 1L);
+		assertThat(slice.count()).isEqualTo(4);
+	}
+
+	@Test
+	void findFiltersByJobNameStatusAndStartDate() {
+		ExecutionColumns columns = new ExecutionColumns(Long.MAX_VALUE);
+		columns.put(execution(1, "a", T0.plusMinutes(1), JobStatus.COMPLETED));
+		columns.put(execution(2, "b", T0.plusMinutes(2), JobStatus.FAILED));
+		columns.put(execution(3, "a", T0.plusMinutes(3), JobStatus.FAILED));
+		columns.put(execution(4, "a", null, JobStatus.STARTING));
+		columns.commit();
+		assertThat(ids(columns.find("a", null, null, null, null, 0, 10))).containsExactly(4L, 3L, 1L);
+		assertThat(ids(columns.find(null, JobStatus.FAILED, null, null, null, 0, 10))).containsExactly(3L, 2L);
+		assertThat(ids(columns.find(null, null, T0.plusMinutes(2), T0.plusMinutes(3), null, 0, 10))).containsExactly(3L,
+				2L);
+		ExecutionSlice unknown = columns.find("unknown", null, null, null, null, 0, 10);
+		assertThat(unknown).isNotNull();
+		assertThat(unknown.content()).isEmpty();
+		assertThat(unknown.count()).isZero();
+	}
+
+	@Test
+	void findPagesByOffsetAndCursor() {
+		ExecutionColumns columns = new ExecutionColumns(Long.MAX_VALUE);
+		for (long id = 1; id <= 5; id++) {
+			columns.put(execution(id, "a", T0.plusMinutes(id), JobStatus.COMPLETED));
+		}
+		columns.commit();
+		assertThat(ids(columns.find(null, null, null, null, null, 2, 2))).containsExactly(3L, 2L);
+		JobExecutionCursor cursor = new JobExecutionCursor(T0.plusMinutes(4), 4);
+		assertThat(ids(columns.find(null, null, null, null, cursor, 0, 2))).containsExactly(3L, 2L);
+	}
+
+	@Test
+	void putUpdatesExistingExecution() {
+		ExecutionColumns columns = new ExecutionColumns(Long.MAX_VALUE);
+		columns.put(execution(1, "a", T0.plusMinutes(1), JobStatus.STARTED));
+		columns.put(execution(2, "a", null, JobStatus.STARTING));
+		columns.commit();
+		columns.put(execution(2, "a", T0.plusMinutes(2), JobStatus.STARTED));
+		columns.put(execution(1, "a", T0.plusMinutes(1), JobStatus.COMPLETED));
+		columns.commit();
+		ExecutionSlice slice = columns.find(null, null, null, null, null, 0, 10);
+		assertThat(columns.size()).isEqualTo(2);
+		assertThat(slice.content()).extracting(JobExecution::jobExecutionId, JobExecution::status)
+			.containsExactly(tuple(2L, JobStatus.STARTED), tuple(1L, JobStatus.COMPLETED));
+	}
+
+	@Test
+	void putFindsExecutionsAfterTheIndexGrows() {
+		ExecutionColumns columns = new ExecutionColumns(Long.MAX_VALUE);
+		for (long id = 1; id <= 5000; id++) {
+			columns.put(execution(id, "a", T0.plusSeconds(id), JobStatus.STARTED));
+		}
+		columns.commit();
+		for (long id = 1; id <= 5000; id++) {
+			columns.put(execution(id, "a", T0.plusSeconds(id), JobStatus.COMPLETED));
+		}
+		columns.commit();
+		assertThat(columns.size()).isEqualTo(5000);
+		assertThat(columns.find(null, JobStatus.COMPLETED, null, null, null, 0, 1).count()).isEqualTo(5000);
+	}
+
+	@Test
+	void truncateMovesHorizon() {
+		ExecutionColumns columns = new ExecutionColumns(Long.MAX_VALUE);
+		for (long id = 1; id <= 5; id++) {
+			columns.put(execution(id, "a", T0.plusMinutes(id), JobStatus.COMPLETED));
+		}
+		columns.commit();
+		columns.truncate(3);
+		assertThat(columns.size()).isEqualTo(3);
+		assertThat(ExecutionColumns.time(columns.horizon())).isEqualTo(T0.plusMinutes(2));
+		// the first page is in memory, but not its count
+		ExecutionSlice firstPage = columns.find(null, null, null, null, null, 0, 2);
+		assertThat(ids(firstPage)).containsExactly(5L, 4L);
+		assertThat(firstPage.count()).isNull();
+		assertThat(columns.find(null, null, null, null, null, 2, 2)).isNull();
+		ExecutionSlice recent = columns.find(null, null, T0.plusMinutes(3), null, null, 0, 10);
+		assertThat(ids(recent)).containsExactly(5L, 4L, 3L);
+		assertThat(recent.count()).isEqualTo(3);
+	}
+
+	@Test
+	void countByJobName() {
+		ExecutionColumns columns = new ExecutionColumns(Long.MAX_VALUE);
+		columns.put(execution(1, "a", T0.plusMinutes(1), JobStatus.COMPLETED));
+		columns.put(execution(2, "b", T0.plusMinutes(2), JobStatus.COMPLETED));
+		columns.put(execution(3, "b", T0.plusMinutes(3), JobStatus.COMPLETED));
+		columns.put(execution(4, "c", null, JobStatus.STARTING));
+		columns.commit();
+		assertThat(columns.countByJobName(T0)).containsExactly(new JobExecutionStats("b", 2),
+				new JobExecutionStats("a", 1));
+		columns.truncate(2);
+		assertThat(columns.countByJobName(T0)).isNull();
+	}
+
+	@Test
+	void microsRoundTrip() {
+		LocalDateTime time = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_000);
+		assertThat(ExecutionColumns.time(ExecutionColumns.micros(time))).isEqualTo(time);
+		assertThat(ExecutionColumns.micros(null)).isEqualTo(ExecutionColumns.NULL_TIME);
+		assertThat(ExecutionColumns.time(ExecutionColumns.NULL_TIME)).isNull();
+	}
+
+	private static List<Long> ids(@Nullable ExecutionSlice slice) {
+		assertThat(slice).isNotNull();
+		return slice.content().stream().map(JobExecution::jobExecutionId).toList();
+	}
+
+	private static JobExecution execution(long id, String jobName, @Nullable LocalDateTime startTime,
+			JobStatus status) {
+		return JobExecutionBuilder.jobExecution()
+			.jobExecutionId(id)
+			.jobInstanceId(id)
+			.jobName(jobName)
+			.createTime(T0)
+			.startTime(startTime)
+			.endTime(null)
+			.status(status)
+			.exitCode(status.name())
+			.exitMessage(null)
+			.build();
+	}
+
+}
@@ -0,0 +1,62 @@
+package am.ik.spring.batch.dashboard.zombie;
+
+import am.ik.spring.batch.dashboard.zombie.ZombieDetector.Heartbeats;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZombieDetectorTest {
+
+	private final ZombieDetectorProperties properties = new ZombieDetectorProperties(true, Duration.ofMinutes(1),
+			Duration.ofDays(30), 3, 3.0, Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofHours(2),
+			Duration.ofSeconds(5));
+
+	@Test
+	void thresholdIsLongestHeartbeatTimesTolerance() {
+		Heartbeats heartbeats = heartbeats(60, 200, 120);
+		assertThat(ZombieDetector.threshold(heartbeats, false, this.properties)).isEqualTo(Duration.ofMinutes(10));
+	}
+
+	@Test
+	void thresholdIsAtLeastMinSilence() {
+		Heartbeats heartbeats = heartbeats(1, 2, 3);
+		assertThat(ZombieDetector.threshold(heartbeats, false, this.properties)).isEqualTo(Duration.ofMinutes(5));
+	}
+
+	@Test
+	void thresholdWithoutHistoryIsDefaultSilence() {
+		assertThat(ZombieDetector.threshold(null, false, this.properties)).isEqualTo(Duration.ofHours(1));
+	}
+
+	@Test
+	void thresholdOfQueuedExecutionIsQueuedSilence() {
+		assertThat(ZombieDetector.threshold(null, true, this.properties)).isEqualTo(Duration.ofHours(2));
+		assertThat(ZombieDetector.threshold(heartbeats(1, 2, 3), true, this.properties)).isEqualTo(Duration.ofHours(2));
+	}
+
+	@Test
+	void heartbeatsKeepTheMostRecentGaps() {
+		Heartbeats heartbeats = new Heartbeats(3);
+		assertThat(heartbeats.size()).isZero();
+		assertThat(heartbeats.max()).isZero();
+		heartbeats.add(500);
+		heartbeats.add(10);
+		assertThat(heartbeats.size()).isEqualTo(2);
+		assertThat(heartbeats.max()).isEqualTo(500);
+		heartbeats.add(20);
+		heartbeats.add(30);
+		// 500 was the oldest and is overwritten
+		assertThat(heartbeats.size()).isEqualTo(3);
+		assertThat(heartbeats.max()).isEqualTo(30);
+	}
+
+	private static Heartbeats heartbeats(double... gaps) {
+		Heartbeats heartbeats = new Heartbeats(gaps.length);
+		for (double gap : gaps) {
+			heartbeats.add(gap);
+		}
+		return heartbeats;
+	}
+
+}
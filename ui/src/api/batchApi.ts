@@ -1,7 +1,8 @@
 // API fetcher utility function
 import { 
   JobInstancesParams, 
-  JobExecutionsParams 
+  JobExecutionsParams,
+  JobStatus
 } from '../types/batch'
 import httpClient from './httpClient'
 
@@ -31,18 +32,65 @@ export const apiEndpoints = {
   // GET job executions with optional filtering
   jobExecutions: (params: JobExecutionsParams = {}) => `/api/job_executions${buildQueryString(params)}`,
   
+  // GET job executions matching the filters as a CSV or NDJSON download
+  jobExecutionsExport: (params: JobExecutionsParams = {}, format: 'csv' | 'ndjson' = 'csv') =>
+    `/api/job_executions/export${buildQueryString({
+      jobName: params.jobName,
+      status: params.status,
+      startDateFrom: params.startDateFrom,
+      startDateTo: params.startDateTo,
+      exitMessage: params.exitMessage,
+      source: params.source,
+      format
+    })}`,
+  
+  // GET Server-Sent Events with job execution changes, or the changes of a single execution and its steps
+  jobExecutionEvents: (jobExecutionId?: number) =>
+    `/api/job_executions/events${buildQueryString({ jobExecutionId })}`,
+  
+  // GET job executions whose exit message matches a full-text query, best matches first
+  exitMessageSearch: (q: string, jobName?: string, status?: JobStatus, limit = 20) =>
+    `/api/job_executions/search${buildQueryString({ q, jobName, status, limit })}`,
+  
+  // GET details of several job executions at once, in the order of the IDs
+  jobExecutionDetails: (jobExecutionIds: number[]) =>
+    `/api/job_executions/details${buildQueryString({ ids: jobExecutionIds.join(',') })}`,
+  
   // GET job execution detail by ID
   jobExecutionDetail: (jobExecutionId: number) => `/api/job_executions/${jobExecutionId}`,
   
+  // GET job execution context, the serialized context only on request
+  jobExecutionContext: (jobExecutionId: number, serialized = false) =>
+    `/api/job_executions/${jobExecutionId}/context${serialized ? buildQueryString({ serialized: 'true' }) : ''}`,
+  
+  // GET step execution context, the serialized context only on request
+  stepExecutionContext: (stepExecutionId: number, serialized = false) =>
+    `/api/step_executions/${stepExecutionId}/context${serialized ? buildQueryString({ serialized: 'true' }) : ''}`,
+  
   // GET step execution detail by ID
   stepExecutionDetail: (stepExecutionId: number) => `/api/step_executions/${stepExecutionId}`,
   
   // GET job statistics
   jobStatistics: () => `/api/statistics/jobs`,
   
+  // GET global statistics, recent executions and optionally the statistics of a job in one request
+  statisticsSummary: (jobName?: string) => `/api/statistics/summary${buildQueryString({ jobName })}`,
+  
   // GET specific job statistics
   jobSpecificStatistics: (jobName: string) => `/api/statistics/jobs/${jobName}`,
   
+  // GET duration percentiles per step of a job
+  stepDurationStatistics: (jobName: string, days?: number) =>
+    `/api/statistics/jobs/${jobName}/steps${days ? buildQueryString({ days }) : ''}`,
+  
+  // GET executions of a job that took longer than its p99 duration
+  durationOutliers: (jobName: string, days?: number) =>
+    `/api/statistics/jobs/${jobName}/outliers${days ? buildQueryString({ days }) : ''}`,
+  
+  // GET failed executions grouped by the signature of their exit message, most failures first
+  failureClusters: (jobName?: string, days?: number) =>
+    `/api/statistics/failures${buildQueryString({ jobName, days })}`,
+  
   // GET recent job executions statistics 
   recentExecutions: (days?: number) => `/api/statistics/recent_executions${days ? buildQueryString({ days }) : ''}`
 }
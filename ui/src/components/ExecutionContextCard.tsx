@@ -0,0 +1,51 @@
+import React, { useState } from 'react'
+import { Card } from './Card'
+import { LoadingSpinner } from './LoadingSpinner'
+import { ErrorMessage } from './ErrorMessage'
+import { useExecutionContext } from '../hooks/useExecutionContext'
+
+interface ExecutionContextCardProps {
+  // Builds the context URL, the serialized context is only fetched on request
+  url: (serialized: boolean) => string
+}
+
+const formatBytes = (bytes: number): string => {
+  if (bytes < 1024) return `${bytes} B`
+  if (bytes < 1024 * 1024) return `${(bytes / 1024).toFixed(1)} KB`
+  return `${(bytes / 1024 / 1024).toFixed(1)} MB`
+}
+
+export const ExecutionContextCard: React.FC<ExecutionContextCardProps> = ({ url }) => {
+  const [serialized, setSerialized] = useState(false)
+  const { executionContext, isLoading, isError, error } = useExecutionContext(url(serialized))
+
+  return (
+    <Card title="Execution Context">
+      {isLoading && <LoadingSpinner />}
+      {isError && <ErrorMessage error={error} />}
+      {executionContext && (
+        <div className="space-y-4">
+          {executionContext.keys.length > 0 && (
+            <div className="flex flex-wrap gap-2">
+              {executionContext.keys.map(key => (
+                <span key={key} className="px-2 py-1 text-xs rounded bg-gray-100 dark:bg-gray-700">{key}</span>
+              ))}
+            </div>
+          )}
+          <pre className="text-xs whitespace-pre-wrap break-all max-h-96 overflow-auto p-3 rounded bg-gray-50 dark:bg-gray-900">
+            {executionContext.serializedContext ?? executionContext.shortContext}
+          </pre>
+          <div className="flex items-center gap-4 text-sm text-gray-500 dark:text-gray-400">
+            <span>Serialized size: {formatBytes(executionContext.serializedContextSize)}</span>
+            {executionContext.serializedContextTruncated && <span>(truncated)</span>}
+            {!serialized && executionContext.serializedContextSize > 0 && (
+              <button type="button" className="btn-outline" onClick={() => setSerialized(true)}>
+                Load serialized context
+              </button>
+            )}
+          </div>
+        </div>
+      )}
+    </Card>
+  )
+}
@@ -6,13 +6,18 @@ interface PaginationProps {
   totalPages: number
   onPageChange: (page: number) => void
   disabled?: boolean
+  // 'cursor' only knows whether a next page exists, so it renders previous/next buttons
+  mode?: 'offset' | 'cursor'
+  hasNext?: boolean
 }
 
 export const Pagination: React.FC<PaginationProps> = ({
   currentPage,
   totalPages,
   onPageChange,
-  disabled = false
+  disabled = false,
+  mode = 'offset',
+  hasNext = false
 }) => {
   // Generate page numbers to display
   const getPageNumbers = (): number[] => {
@@ -37,6 +42,35 @@ export const Pagination: React.FC<PaginationProps> = ({
     return [...new Set(pages)].sort((a, b) => a - b)
   }
 
+  if (mode === 'cursor') {
+    // Skip rendering if there is only one page
+    if (currentPage === 0 && !hasNext) {
+      return null
+    }
+
+    return (
+      <div className="pagination">
+        <button
+          onClick={() => onPageChange(currentPage - 1)}
+          disabled={currentPage === 0 || disabled}
+          className="pagination-button flex items-center justify-center"
+          aria-label="Previous page"
+        >
+          <ChevronLeft size={16} />
+        </button>
+        <span className="px-3 py-1 text-gray-500 dark:text-gray-400">Page {currentPage + 1}</span>
+        <button
+          onClick={() => onPageChange(currentPage + 1)}
+          disabled={!hasNext || disabled}
+          className="pagination-button flex items-center justify-center"
+          aria-label="Next page"
+        >
+          <ChevronRight size={16} />
+        </button>
+      </div>
+    )
+  }
+
   // Skip rendering if no pages
   if (totalPages <= 1) {
     return null
@@ -24,6 +24,7 @@ const defaultState: SearchState = {
     page: 0,
     size: 20, 
     sort: "startTime,desc",
+    cursor: "",
   }
 };
 
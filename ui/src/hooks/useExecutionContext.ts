@@ -0,0 +1,14 @@
+import useSWR from 'swr'
+import { ExecutionContext } from '../types/batch'
+
+export function useExecutionContext(url: string | null) {
+  const { data, error, isLoading, mutate } = useSWR<ExecutionContext>(url)
+
+  return {
+    executionContext: data,
+    isLoading,
+    isError: !!error,
+    error,
+    mutate
+  }
+}
@@ -0,0 +1,47 @@
+import { useEffect, useRef } from 'react'
+import { apiEndpoints } from '../api/batchApi'
+import { JobExecutionEvent, StepExecutionEvent } from '../types/batch'
+
+export interface ExecutionEventHandlers {
+  onJobExecution?: (event: JobExecutionEvent) => void
+  onStepExecution?: (event: StepExecutionEvent) => void
+  // Called when the stream reconnects; changes may have been missed in between
+  onReconnect?: () => void
+}
+
+/**
+ * Subscribes to the server's change stream. Without a jobExecutionId only job execution
+ * changes are received, with one the changes of that execution and its steps.
+ */
+export function useExecutionEvents(
+  jobExecutionId: number | null,
+  handlers: ExecutionEventHandlers,
+  enabled = true
+) {
+  // Keep the latest handlers without reconnecting on every render
+  const handlersRef = useRef(handlers)
+  useEffect(() => {
+    handlersRef.current = handlers
+  })
+
+  useEffect(() => {
+    if (!enabled || typeof EventSource === 'undefined') {
+      return
+    }
+    const source = new EventSource(apiEndpoints.jobExecutionEvents(jobExecutionId ?? undefined))
+    let connected = false
+    source.onopen = () => {
+      if (connected) {
+        handlersRef.current.onReconnect?.()
+      }
+      connected = true
+    }
+    source.addEventListener('job-execution', (e) => {
+      handlersRef.current.onJobExecution?.(JSON.parse((e as MessageEvent).data))
+    })
+    source.addEventListener('step-execution', (e) => {
+      handlersRef.current.onStepExecution?.(JSON.parse((e as MessageEvent).data))
+    })
+    return () => source.close()
+  }, [jobExecutionId, enabled])
+}
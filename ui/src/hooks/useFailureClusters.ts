@@ -0,0 +1,13 @@
+import useSWR from 'swr'
+import { apiEndpoints } from '../api/batchApi'
+import { FailureCluster } from '../types/batch'
+
+export function useFailureClusters(jobName: string | null) {
+  // 404 unless the dashboard maintains failure signatures
+  const { data, isLoading } = useSWR<FailureCluster[]>(apiEndpoints.failureClusters(jobName || undefined))
+
+  return {
+    failureClusters: data,
+    isLoading
+  }
+}
@@ -0,0 +1,19 @@
+import useSWR from 'swr'
+import { apiEndpoints } from '../api/batchApi'
+import { DurationOutliers, StepDurationStatistics } from '../types/batch'
+
+export function useJobDurations(jobName: string | null) {
+  const steps = useSWR<StepDurationStatistics[]>(
+    jobName ? apiEndpoints.stepDurationStatistics(jobName) : null
+  )
+  // 404 when the job has no finished executions yet
+  const outliers = useSWR<DurationOutliers>(
+    jobName ? apiEndpoints.durationOutliers(jobName) : null
+  )
+
+  return {
+    stepDurations: steps.data,
+    durationOutliers: outliers.data,
+    isLoading: steps.isLoading || outliers.isLoading
+  }
+}
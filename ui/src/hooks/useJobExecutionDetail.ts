@@ -1,12 +1,48 @@
 import useSWR from 'swr'
 import { apiEndpoints } from '../api/batchApi'
-import { JobExecutionDetail } from '../types/batch'
+import { JobExecutionDetail, StepExecutionSummary } from '../types/batch'
+import { useExecutionEvents } from './useExecutionEvents'
 
 export function useJobExecutionDetail(jobExecutionId: number | null) {
   const { data, error, isLoading, mutate } = useSWR<JobExecutionDetail>(
     jobExecutionId ? apiEndpoints.jobExecutionDetail(jobExecutionId) : null
   )
 
+  // Apply pushed changes of this execution and its steps
+  useExecutionEvents(jobExecutionId, {
+    onJobExecution: (event) => {
+      mutate(current => current && {
+        ...current,
+        startTime: event.startTime ?? current.startTime,
+        endTime: event.endTime,
+        status: event.status,
+        exitCode: event.exitCode,
+        exitMessage: event.exitMessage,
+        lastUpdated: event.lastUpdated
+      }, { revalidate: false })
+    },
+    onStepExecution: (event) => {
+      const step: StepExecutionSummary = {
+        stepExecutionId: event.stepExecutionId,
+        stepName: event.stepName,
+        status: event.status,
+        readCount: event.readCount,
+        writeCount: event.writeCount,
+        filterCount: event.filterCount,
+        startTime: event.startTime ?? '',
+        endTime: event.endTime
+      }
+      mutate(current => current && {
+        ...current,
+        steps: current.steps.some(s => s.stepExecutionId === step.stepExecutionId)
+          ? current.steps.map(s => s.stepExecutionId === step.stepExecutionId ? step : s)
+          // steps are listed by start time, newest first
+          : [step, ...current.steps]
+      }, { revalidate: false })
+    },
+    onReconnect: () => mutate()
+  }, !!jobExecutionId)
+
   return {
     jobExecutionDetail: data,
     isLoading,
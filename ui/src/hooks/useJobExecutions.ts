@@ -1,12 +1,43 @@
 import useSWR from 'swr'
 import { apiEndpoints } from '../api/batchApi'
 import { JobExecutionsParams, PageResponse, JobExecution } from '../types/batch'
+import { useExecutionEvents } from './useExecutionEvents'
 
 export function useJobExecutions(params: JobExecutionsParams = {}) {
   const { data, error, isLoading, mutate } = useSWR<PageResponse<JobExecution>>(
     apiEndpoints.jobExecutions(params)
   )
 
+  // Apply pushed changes to the rows on this page instead of re-running the list query
+  useExecutionEvents(null, {
+    onJobExecution: (event) => {
+      if (!data) {
+        return
+      }
+      if (data.content.some(e => e.jobExecutionId === event.jobExecutionId)) {
+        mutate(current => current && {
+          ...current,
+          content: current.content.map(e => e.jobExecutionId === event.jobExecutionId ? {
+            ...e,
+            startTime: event.startTime ?? e.startTime,
+            endTime: event.endTime,
+            status: event.status,
+            exitCode: event.exitCode,
+            exitMessage: event.exitMessage
+          } : e)
+        }, { revalidate: false })
+        return
+      }
+      // Only a new execution can appear on the first page, it is placed by the server
+      const firstPage = params.cursor ? false : !params.page
+      const newest = Math.max(0, ...data.content.map(e => e.jobExecutionId))
+      if (firstPage && event.jobExecutionId > newest) {
+        mutate()
+      }
+    },
+    onReconnect: () => mutate()
+  })
+
   return {
     jobExecutions: data,
     isLoading,
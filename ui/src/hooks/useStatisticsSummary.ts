@@ -0,0 +1,17 @@
+import useSWR from 'swr'
+import { apiEndpoints } from '../api/batchApi'
+import { StatisticsSummary } from '../types/batch'
+
+export function useStatisticsSummary(jobName?: string) {
+  const { data, error, isLoading, mutate } = useSWR<StatisticsSummary>(
+    apiEndpoints.statisticsSummary(jobName)
+  )
+
+  return {
+    statisticsSummary: data,
+    isLoading,
+    isError: !!error,
+    error,
+    mutate
+  }
+}
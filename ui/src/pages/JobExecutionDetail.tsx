@@ -6,6 +6,8 @@ import { ErrorMessage } from '../components/ErrorMessage'
 import { StatusBadge } from '../components/StatusBadge'
 import { DateTime } from '../components/DateTime'
 import { useJobExecutionDetail } from '../hooks/useJobExecutionDetail'
+import { ExecutionContextCard } from '../components/ExecutionContextCard'
+import { apiEndpoints } from '../api/batchApi'
 import { parseISO, differenceInSeconds } from 'date-fns'
 
 const JobExecutionDetail = () => {
@@ -245,6 +247,11 @@ const JobExecutionDetail = () => {
         </div>
       </Card>
       
+      {/* Execution Context */}
+      <ExecutionContextCard
+        url={(serialized) => apiEndpoints.jobExecutionContext(jobExecutionDetail.jobExecutionId, serialized)}
+      />
+      
       <div className="flex gap-4">
         <button 
           onClick={() => navigate('/job-executions')} 
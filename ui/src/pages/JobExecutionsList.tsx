@@ -7,8 +7,9 @@ import { Pagination } from '../components/Pagination'
 import { StatusBadge } from '../components/StatusBadge'
 import { DateTime } from '../components/DateTime'
 import { useJobExecutions } from '../hooks/useJobExecutions'
-import { JobExecutionsParams, JobStatus } from '../types/batch'
+import { ExecutionSource, JobExecutionsParams, JobStatus } from '../types/batch'
 import { useSearchState } from "../context/SearchStateContext"
+import { apiEndpoints } from '../api/batchApi'
 
 const JOB_STATUSES: JobStatus[] = [
   'COMPLETED',
@@ -42,6 +43,11 @@ const JobExecutionsList = () => {
   const [statusFilter, setStatusFilter] = useState<JobStatus | ''>(initialParams.status || '');
   const [startDateFrom, setStartDateFrom] = useState(initialParams.startDateFrom || '');
   const [startDateTo, setStartDateTo] = useState(initialParams.startDateTo || '');
+  const [exitMessageFilter, setExitMessageFilter] = useState(initialParams.exitMessage || '');
+  const [sourceFilter, setSourceFilter] = useState<ExecutionSource>(initialParams.source || 'LIVE');
+  
+  // Cursors of the pages before the current one, used to go back in cursor mode
+  const [previousCursors, setPreviousCursors] = useState<string[]>([]);
   
   // Fetch job executions with current params
   const {
@@ -72,7 +78,20 @@ const JobExecutionsList = () => {
   
   // Handle page change
   const handlePageChange = (newPage: number) => {
-    setParams(prev => ({ ...prev, page: newPage }))
+    if (params.cursor === undefined) {
+      setParams(prev => ({ ...prev, page: newPage }))
+      return
+    }
+    const currentPage = params.page || 0
+    if (newPage > currentPage) {
+      setPreviousCursors(prev => [...prev, params.cursor || ''])
+      setParams(prev => ({ ...prev, page: newPage, cursor: jobExecutions?.nextCursor }))
+    } else {
+      // Fall back to the first page when the history is not known (e.g. restored state)
+      const cursor = previousCursors.length > 0 ? previousCursors[previousCursors.length - 1] : ''
+      setPreviousCursors(prev => prev.slice(0, -1))
+      setParams(prev => ({ ...prev, page: previousCursors.length > 0 ? newPage : 0, cursor }))
+    }
   }
   
   // Handle filter submission
@@ -84,8 +103,12 @@ const JobExecutionsList = () => {
       status: statusFilter as JobStatus || undefined,
       startDateFrom: startDateFrom || undefined,
       startDateTo: startDateTo || undefined,
-      page: 0 // Reset to first page when filtering
+      exitMessage: exitMessageFilter || undefined,
+      source: sourceFilter === 'LIVE' ? undefined : sourceFilter,
+      page: 0, // Reset to first page when filtering
+      cursor: prev.cursor === undefined ? undefined : ''
     }))
+    setPreviousCursors([])
   }
   
   // Handle filter reset
@@ -94,11 +117,15 @@ const JobExecutionsList = () => {
     setStatusFilter('')
     setStartDateFrom('')
     setStartDateTo('')
+    setExitMessageFilter('')
+    setSourceFilter('LIVE')
     setParams({
       page: 0,
       size: 20,
-      sort: 'startTime,desc'
+      sort: 'startTime,desc',
+      cursor: ''
     })
+    setPreviousCursors([])
     
     // Clear URL parameters
     setSearchParams(new URLSearchParams())
@@ -176,6 +203,36 @@ const JobExecutionsList = () => {
                   onChange={(e) => setStartDateTo(e.target.value)}
                 />
               </div>
+              
+              <div className="md:col-span-2 lg:col-span-3">
+                <label htmlFor="exitMessage" className="block text-sm font-medium text-gray-700 dark:text-gray-300 mb-1">
+                  Exit Message
+                </label>
+                <input
+                  type="text"
+                  id="exitMessage"
+                  className="input w-full"
+                  value={exitMessageFilter}
+                  onChange={(e) => setExitMessageFilter(e.target.value)}
+                  placeholder='e.g. IllegalStateException "connection refused"'
+                />
+              </div>
+              
+              <div>
+                <label htmlFor="source" className="block text-sm font-medium text-gray-700 dark:text-gray-300 mb-1">
+                  Source
+                </label>
+                <select
+                  id="source"
+                  className="select w-full"
+                  value={sourceFilter}
+                  onChange={(e) => setSourceFilter(e.target.value as ExecutionSource)}
+                >
+                  <option value="LIVE">Live</option>
+                  <option value="ARCHIVE">Archive</option>
+                  <option value="BOTH">Live and Archive</option>
+                </select>
+              </div>
             </div>
             
             <div className="mt-4 flex gap-2">
@@ -189,6 +246,12 @@ const JobExecutionsList = () => {
               >
                 Reset
               </button>
+              <a href={apiEndpoints.jobExecutionsExport(params, 'csv')} className="btn-secondary" download>
+                Export CSV
+              </a>
+              <a href={apiEndpoints.jobExecutionsExport(params, 'ndjson')} className="btn-secondary" download>
+                Export NDJSON
+              </a>
             </div>
           </form>
         </Card>
@@ -275,6 +338,8 @@ const JobExecutionsList = () => {
               currentPage={jobExecutions.page}
               totalPages={jobExecutions.totalPages}
               onPageChange={handlePageChange}
+              mode={params.cursor === undefined ? 'offset' : 'cursor'}
+              hasNext={!!jobExecutions.nextCursor}
             />
           </div>
         )}
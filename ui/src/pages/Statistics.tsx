@@ -3,60 +3,54 @@ import { useParams, Link } from 'react-router-dom'
 import { Card } from '../components/Card'
 import { LoadingSpinner } from '../components/LoadingSpinner'
 import { ErrorMessage } from '../components/ErrorMessage'
-import { useJobStatistics } from '../hooks/useJobStatistics'
-import { useJobSpecificStatistics } from '../hooks/useJobSpecificStatistics'
-import { useRecentJobExecutions } from '../hooks/useRecentJobExecutions'
+import { useStatisticsSummary } from '../hooks/useStatisticsSummary'
+import { useJobDurations } from '../hooks/useJobDurations'
+import { useFailureClusters } from '../hooks/useFailureClusters'
+
+const formatDuration = (seconds: number) =>
+  `${Math.floor(seconds / 60)} min ${Math.floor(seconds % 60)} sec`
 
 const Statistics = () => {
   // Get job name from URL if available (for specific job stats)
   const { jobName } = useParams<{ jobName?: string }>()
   
-  // Fetch global job statistics
+  // Fetch global statistics, recent executions (last 60 days) and job-specific
+  // statistics if jobName is provided, queried concurrently on the server
   const { 
-    jobStatistics, 
-    isLoading: globalStatsLoading, 
-    isError: globalStatsError,
-    error: globalStatsErrorData
-  } = useJobStatistics()
-  
-  // Fetch job-specific statistics if jobName is provided
-  const {
-    jobSpecificStatistics,
-    isLoading: specificStatsLoading,
-    isError: specificStatsError,
-    error: specificStatsErrorData
-  } = useJobSpecificStatistics(jobName || null)
+    statisticsSummary,
+    isLoading,
+    isError,
+    error
+  } = useStatisticsSummary(jobName)
+  const jobStatistics = statisticsSummary?.jobStatistics
+  const jobSpecificStatistics = statisticsSummary?.jobSpecificStatistics
+  const recentJobExecutions = statisticsSummary?.recentExecutions
+  const summaryErrors = Object.entries(statisticsSummary?.errors ?? {})
   
-  // Fetch recent job executions data (last 60 days)
-  const {
-    recentJobExecutions,
-    isLoading: recentExecutionsLoading,
-    isError: recentExecutionsError,
-    error: recentExecutionsErrorData
-  } = useRecentJobExecutions()
+  // Fetch step duration percentiles and p99 outliers if jobName is provided
+  const { stepDurations, durationOutliers } = useJobDurations(jobName || null)
+  const { failureClusters } = useFailureClusters(jobName || null)
   
   // Loading state
-  const isLoading = globalStatsLoading || (jobName && specificStatsLoading) || (!jobName && recentExecutionsLoading)
   if (isLoading) {
     return <LoadingSpinner size="lg" />
   }
   
   // Error state
-  if (globalStatsError) {
-    return <ErrorMessage error={globalStatsErrorData} />
-  }
-  
-  if (jobName && specificStatsError) {
-    return <ErrorMessage error={specificStatsErrorData} />
-  }
-  
-  if (!jobName && recentExecutionsError) {
-    return <ErrorMessage error={recentExecutionsErrorData} />
+  if (isError) {
+    return <ErrorMessage error={error} />
   }
   
   // No data state
-  if (!jobStatistics) {
-    return <div>No statistics data available.</div>
+  if (!jobStatistics && !jobSpecificStatistics) {
+    return (
+      <div className="space-y-6">
+        {summaryErrors.map(([name, message]) => (
+          <ErrorMessage key={name} error={message} />
+        ))}
+        <div>No statistics data available.</div>
+      </div>
+    )
   }
   
   // Function to format date for display
@@ -67,8 +61,13 @@ const Statistics = () => {
   
   return (
     <div className="space-y-6">
+      {/* Parts of the summary that failed or timed out */}
+      {summaryErrors.map(([name, message]) => (
+        <ErrorMessage key={name} error={message} />
+      ))}
+      
       {/* Global statistics */}
-      {!jobName && (
+      {!jobName && jobStatistics && (
         <>
           <Card title="Job Statistics">
             <div className="grid grid-cols-1 md:grid-cols-3 gap-4">
@@ -160,7 +159,7 @@ const Statistics = () => {
               <div className="bg-white dark:bg-gray-800 p-4 rounded-lg shadow border border-gray-200 dark:border-gray-700">
                 <h3 className="text-xl font-bold">Avg. Duration</h3>
                 <p className="text-3xl font-bold text-primary-600 dark:text-primary-400">
-                  {Math.floor(jobSpecificStatistics.averageDuration / 60)} min {Math.floor(jobSpecificStatistics.averageDuration % 60)} sec
+                  {formatDuration(jobSpecificStatistics.averageDuration)}
                 </p>
               </div>
               
@@ -173,6 +172,91 @@ const Statistics = () => {
             </div>
           </Card>
           
+          <Card title="Duration Percentiles">
+            <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-4 gap-4">
+              {([
+                ['p50', jobSpecificStatistics.durationP50],
+                ['p90', jobSpecificStatistics.durationP90],
+                ['p99', jobSpecificStatistics.durationP99],
+                ['Max', jobSpecificStatistics.maxDuration]
+              ] as const).map(([label, seconds]) => (
+                <div key={label} className="bg-white dark:bg-gray-800 p-4 rounded-lg shadow border border-gray-200 dark:border-gray-700">
+                  <h3 className="text-xl font-bold">{label}</h3>
+                  <p className="text-3xl font-bold text-primary-600 dark:text-primary-400">
+                    {formatDuration(seconds)}
+                  </p>
+                </div>
+              ))}
+            </div>
+          </Card>
+          
+          {stepDurations && stepDurations.length > 0 && (
+            <Card title="Step Durations (30 days)">
+              <div className="table-container">
+                <table className="table">
+                  <thead className="table-header">
+                    <tr>
+                      <th className="table-header-cell">Step Name</th>
+                      <th className="table-header-cell">Executions</th>
+                      <th className="table-header-cell">Average</th>
+                      <th className="table-header-cell">p50</th>
+                      <th className="table-header-cell">p90</th>
+                      <th className="table-header-cell">p99</th>
+                      <th className="table-header-cell">Max</th>
+                    </tr>
+                  </thead>
+                  <tbody className="table-body">
+                    {stepDurations.map((step) => (
+                      <tr key={step.stepName} className="table-row">
+                        <td className="table-cell">{step.stepName}</td>
+                        <td className="table-cell">{step.executions}</td>
+                        <td className="table-cell">{formatDuration(step.averageDuration)}</td>
+                        <td className="table-cell">{formatDuration(step.durationP50)}</td>
+                        <td className="table-cell">{formatDuration(step.durationP90)}</td>
+                        <td className="table-cell">{formatDuration(step.durationP99)}</td>
+                        <td className="table-cell">{formatDuration(step.maxDuration)}</td>
+                      </tr>
+                    ))}
+                  </tbody>
+                </table>
+              </div>
+            </Card>
+          )}
+          
+          {durationOutliers && durationOutliers.executions.length > 0 && (
+            <Card title={`Executions slower than p99 (${formatDuration(durationOutliers.durationP99)}, 30 days)`}>
+              <div className="table-container">
+                <table className="table">
+                  <thead className="table-header">
+                    <tr>
+                      <th className="table-header-cell">Execution ID</th>
+                      <th className="table-header-cell">Start Time</th>
+                      <th className="table-header-cell">Status</th>
+                      <th className="table-header-cell">Duration</th>
+                    </tr>
+                  </thead>
+                  <tbody className="table-body">
+                    {durationOutliers.executions.map((execution) => (
+                      <tr key={execution.jobExecutionId} className="table-row">
+                        <td className="table-cell">
+                          <Link 
+                            to={`/job-executions/${execution.jobExecutionId}`}
+                            className="text-primary-600 hover:text-primary-800 dark:text-primary-400 dark:hover:text-primary-300"
+                          >
+                            {execution.jobExecutionId}
+                          </Link>
+                        </td>
+                        <td className="table-cell">{new Date(execution.startTime).toLocaleString()}</td>
+                        <td className="table-cell">{execution.status}</td>
+                        <td className="table-cell">{formatDuration(execution.durationSeconds)}</td>
+                      </tr>
+                    ))}
+                  </tbody>
+                </table>
+              </div>
+            </Card>
+          )}
+          
           <Card title="Execution Status Distribution">
             <div className="table-container">
               <table className="table">
@@ -224,6 +308,52 @@ const Statistics = () => {
         </>
       )}
       
+      {failureClusters && failureClusters.length > 0 && (
+        <Card title="Failure Clusters (7 days)">
+          <div className="table-container">
+            <table className="table">
+              <thead className="table-header">
+                <tr>
+                  <th className="table-header-cell">Failure</th>
+                  <th className="table-header-cell">Count</th>
+                  <th className="table-header-cell">Jobs</th>
+                  <th className="table-header-cell">First Seen</th>
+                  <th className="table-header-cell">Last Seen</th>
+                  <th className="table-header-cell">Samples</th>
+                </tr>
+              </thead>
+              <tbody className="table-body">
+                {failureClusters.map((cluster) => (
+                  <tr key={cluster.signature} className="table-row">
+                    <td className="table-cell">
+                      <div className="font-medium">{cluster.exitCode}</div>
+                      <pre className="text-xs whitespace-pre-wrap max-w-xl">{cluster.normalizedMessage.split('\n')[0]}</pre>
+                    </td>
+                    <td className="table-cell">{cluster.failures}</td>
+                    <td className="table-cell">{cluster.jobNames.join(', ')}</td>
+                    <td className="table-cell">{new Date(cluster.firstSeen).toLocaleString()}</td>
+                    <td className="table-cell">{new Date(cluster.lastSeen).toLocaleString()}</td>
+                    <td className="table-cell">
+                      {cluster.sampleJobExecutionIds.map((jobExecutionId, index) => (
+                        <span key={jobExecutionId}>
+                          {index > 0 && ', '}
+                          <Link 
+                            to={`/job-executions/${jobExecutionId}`}
+                            className="text-primary-600 hover:text-primary-800 dark:text-primary-400 dark:hover:text-primary-300"
+                          >
+                            {jobExecutionId}
+                          </Link>
+                        </span>
+                      ))}
+                    </td>
+                  </tr>
+                ))}
+              </tbody>
+            </table>
+          </div>
+        </Card>
+      )}
+      
       {/* Job list table (only on global stats page) */}
       {!jobName && jobStatistics && recentJobExecutions && (
         <Card title="Jobs">
@@ -6,6 +6,8 @@ import { ErrorMessage } from '../components/ErrorMessage'
 import { StatusBadge } from '../components/StatusBadge'
 import { DateTime } from '../components/DateTime'
 import { useStepExecutionDetail } from '../hooks/useStepExecutionDetail'
+import { ExecutionContextCard } from '../components/ExecutionContextCard'
+import { apiEndpoints } from '../api/batchApi'
 import { parseISO, differenceInSeconds } from 'date-fns'
 
 const StepExecutionDetail = () => {
@@ -197,7 +199,10 @@ const StepExecutionDetail = () => {
         </div>
       </Card>
       
-      {/* No Step Execution Context section anymore as it's no longer included in the API response */}
+      {/* Step Execution Context, loaded separately because it can be large */}
+      <ExecutionContextCard
+        url={(serialized) => apiEndpoints.stepExecutionContext(stepExecutionDetail.stepExecutionId, serialized)}
+      />
       
       <div className="flex gap-4">
         <Link to={`/job-executions/${stepExecutionDetail.jobExecutionId}`} className="btn-outline">
@@ -33,6 +33,19 @@ export interface JobExecution {
   parameters: JobParameter[]
 }
 
+// Exit message search result, matched words are wrapped in <mark></mark>
+export interface ExitMessageMatch {
+  jobExecutionId: number
+  jobInstanceId: number
+  jobName: string
+  startTime?: string
+  endTime?: string
+  status: JobStatus
+  exitCode: string
+  rank: number
+  snippet: string
+}
+
 export interface JobExecutionDetail extends JobExecution {
   steps: StepExecutionSummary[]
 }
@@ -70,6 +83,44 @@ export interface StepExecutionDetail extends StepExecutionSummary {
   lastUpdated: string
 }
 
+// Execution context types
+export interface ExecutionContext {
+  shortContext: string
+  serializedContext?: string // only when requested, cut after the requested length
+  serializedContextSize: number // bytes of the complete serialized context
+  serializedContextTruncated: boolean
+  keys: string[]
+}
+
+// Live update types pushed by /api/job_executions/events
+export interface JobExecutionEvent {
+  jobExecutionId: number
+  version: number
+  jobInstanceId: number
+  jobName: string
+  createTime: string
+  startTime?: string
+  endTime?: string
+  status: JobStatus
+  exitCode: string
+  exitMessage?: string
+  lastUpdated: string
+}
+
+export interface StepExecutionEvent {
+  stepExecutionId: number
+  version: number
+  jobExecutionId: number
+  stepName: string
+  status: StepStatus
+  readCount: number
+  writeCount: number
+  filterCount: number
+  startTime?: string
+  endTime?: string
+  lastUpdated: string
+}
+
 // Statistics types
 export interface JobStatistics {
   totalJobs: number
@@ -89,22 +140,71 @@ export interface JobSpecificStatistics {
   totalExecutions: number
   executionsByStatus: Record<JobStatus, number>
   averageDuration: number // in seconds
+  durationP50: number // in seconds
+  durationP90: number // in seconds
+  durationP99: number // in seconds
+  maxDuration: number // in seconds
   lastExecutionTime: string
   successRate: number // percentage
 }
 
+export interface StepDurationStatistics {
+  stepName: string
+  executions: number
+  averageDuration: number // in seconds
+  durationP50: number // in seconds
+  durationP90: number // in seconds
+  durationP99: number // in seconds
+  maxDuration: number // in seconds
+}
+
+export interface DurationOutliers {
+  jobName: string
+  durationP99: number // in seconds
+  executions: DurationOutlier[]
+}
+
+export interface DurationOutlier {
+  jobExecutionId: number
+  startTime: string
+  endTime: string
+  status: JobStatus
+  exitCode: string
+  durationSeconds: number
+}
+
+export interface FailureCluster {
+  signature: string
+  exitCode: string
+  normalizedMessage: string
+  failures: number
+  jobNames: string[]
+  firstSeen: string
+  lastSeen: string
+  sampleJobExecutionIds: number[]
+}
+
 export interface RecentJobExecution {
   jobName: string
   executions: number
 }
 
+export interface StatisticsSummary {
+  jobStatistics?: JobStatistics
+  recentExecutions?: RecentJobExecution[]
+  jobSpecificStatistics?: JobSpecificStatistics
+  errors: Record<string, string> // failed or timed out parts by name
+}
+
 // Pagination types
 export interface PageResponse<T> {
   content: T[]
   page: number
   size: number
   totalElements: number
+  totalElementsExact: boolean // false when totalElements is an estimate
   totalPages: number
+  nextCursor?: string // only set in cursor mode when there is a next page
 }
 
 // Common types
@@ -128,12 +228,16 @@ export type StepStatus =
   | 'ABANDONED' 
   | 'UNKNOWN'
 
+// Where job executions are read from; the archive is only available when enabled
+export type ExecutionSource = 'LIVE' | 'ARCHIVE' | 'BOTH'
+
 // Request params
 export interface JobInstancesParams {
   jobName?: string
   page?: number
   size?: number
   sort?: string
+  exactCount?: string // 'true' runs an exact count instead of an estimate
   [key: string]: string | number | undefined
 }
 
@@ -142,9 +246,13 @@ export interface JobExecutionsParams {
   status?: JobStatus
   startDateFrom?: string
   startDateTo?: string
+  exitMessage?: string // full-text query on the exit message
+  source?: ExecutionSource // LIVE by default
   page?: number
   size?: number
   sort?: string
+  cursor?: string // '' requests the first page in cursor mode
+  exactCount?: string // 'true' runs an exact count instead of an estimate
   [key: string]: string | number | undefined
 }
 